@@ -0,0 +1,147 @@
+package br.com.jobinder.authservice.client;
+
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceException;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/*
+  Non-blocking counterpart of IdentityServiceClient for the asynchronous login path.
+  Requests are multiplexed by the JDK HttpClient, so waiting on identity-service does not
+  hold a thread per login.
+
+  Calls go through the circuit breaker and bulkhead of the Feign lookup, so both login paths
+  see one outage and share one concurrency limit. Like the Feign fallback, an open circuit, a
+  full bulkhead, an I/O error, a timeout or a 5xx becomes IdentityServiceUnavailableException;
+  other answers from identity-service (such as a 404 for an unknown phone) are reported as
+  IdentityServiceException with their status and do not count against the circuit.
+*/
+@Component
+public class IdentityServiceAsyncClient {
+
+    // Resilience instance of IdentityServiceClient#getUserAuthDetails, named as Spring Cloud names it
+    static final String RESILIENCE_INSTANCE = "IdentityServiceClientgetUserAuthDetailsString";
+
+    @Value("${identity-service.url}")
+    private String identityServiceUrl;
+
+    @Value("${service.api-key.header:X-API-KEY}")
+    private String apiKeyHeader;
+
+    @Value("${service.api-key.value}")
+    private String apiKeyValue;
+
+    @Value("${identity-service.async.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${identity-service.async.request-timeout-ms:1000}")
+    private long requestTimeoutMs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HttpClient httpClient;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+
+    @PostConstruct
+    void init() {
+        // The JDK client keeps idle HTTP/1.1 connections alive and reuses them; the bulkhead bounds how many are open
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+    }
+
+    public CompletableFuture<InternalUserAuthDTO> getUserAuthDetails(String phone) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(identityServiceUrl + "/internal/users/" + URLEncoder.encode(phone, StandardCharsets.UTF_8)))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header(apiKeyHeader, apiKeyValue)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        // Only transport errors and 5xx fail the guarded stage, so a 404 is a successful call for the circuit
+        Supplier<CompletionStage<HttpResponse<byte[]>>> call = () -> httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(IdentityServiceAsyncClient::rejectServerError);
+        // A full bulkhead rejects before the circuit sees the call, so local overload does not open it
+        Supplier<CompletionStage<HttpResponse<byte[]>>> guarded =
+                Bulkhead.decorateCompletionStage(bulkhead, CircuitBreaker.decorateCompletionStage(circuitBreaker, call));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return guarded.get()
+                .toCompletableFuture()
+                .handle((response, error) -> {
+                    sample.stop(meterRegistry.timer("identity-service.async.requests",
+                            "outcome", error != null ? "UNAVAILABLE" : response.statusCode() == 200 ? "SUCCESS" : "CLIENT_ERROR"));
+                    if (error != null) {
+                        throw unavailable(error);
+                    }
+                    return toUserAuthDetails(response);
+                });
+    }
+
+    private static HttpResponse<byte[]> rejectServerError(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 500) {
+            throw new IdentityServiceUnavailableException(
+                    "Identity service responded with status " + response.statusCode(), null);
+        }
+        return response;
+    }
+
+    // Open circuit, full bulkhead, connect or read failure, timeout, or a 5xx raised above
+    private static IdentityServiceUnavailableException unavailable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IdentityServiceUnavailableException unavailable) {
+            return unavailable;
+        }
+        return new IdentityServiceUnavailableException("Identity service is unavailable, please try again later.", cause);
+    }
+
+    private InternalUserAuthDTO toUserAuthDetails(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new IdentityServiceException(response.statusCode(), "Identity service responded with status " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), InternalUserAuthDTO.class);
+        } catch (IOException e) {
+            throw new IdentityServiceException(response.statusCode(), "Invalid response from identity service: " + e.getMessage());
+        }
+    }
+}
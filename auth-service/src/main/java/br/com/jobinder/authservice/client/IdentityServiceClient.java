@@ -1,13 +1,21 @@
 package br.com.jobinder.authservice.client;
 
+import br.com.jobinder.authservice.dto.InternalPasswordHashUpdateDTO;
 import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "identity-service", url = "${identity-service.url}")
+import java.util.UUID;
+
+@FeignClient(name = "identity-service", url = "${identity-service.url}", fallbackFactory = IdentityServiceClientFallbackFactory.class)
 public interface IdentityServiceClient {
 
     @GetMapping("/internal/users/{phone}")
     InternalUserAuthDTO getUserAuthDetails(@PathVariable("phone") String phone);
+
+    @PutMapping("/internal/users/{userId}/password-hash")
+    void updatePasswordHash(@PathVariable("userId") UUID userId, @RequestBody InternalPasswordHashUpdateDTO passwordHashUpdate);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package br.com.jobinder.authservice.client;
+
+import br.com.jobinder.authservice.dto.InternalPasswordHashUpdateDTO;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
+import feign.FeignException;
+import feign.RetryableException;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/*
+  Invoked by the circuit breaker whenever a call to identity-service fails. Answers from
+  identity-service (such as a 404 for an unknown phone) are rethrown unchanged; an open circuit,
+  a full bulkhead, a timeout or an I/O error becomes IdentityServiceUnavailableException.
+*/
+@Component
+public class IdentityServiceClientFallbackFactory implements FallbackFactory<IdentityServiceClient> {
+
+    @Override
+    public IdentityServiceClient create(Throwable cause) {
+        return new IdentityServiceClient() {
+            @Override
+            public InternalUserAuthDTO getUserAuthDetails(String phone) {
+                throw propagate(cause);
+            }
+
+            @Override
+            public void updatePasswordHash(UUID userId, InternalPasswordHashUpdateDTO passwordHashUpdate) {
+                throw propagate(cause);
+            }
+        };
+    }
+
+    static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof FeignException feignException && !(cause instanceof RetryableException)) {
+            return feignException;
+        }
+        return new IdentityServiceUnavailableException("Identity service is unavailable, please try again later.", cause);
+    }
+}
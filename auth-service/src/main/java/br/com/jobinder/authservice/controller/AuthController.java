@@ -2,19 +2,27 @@ package br.com.jobinder.authservice.controller;
 
 import br.com.jobinder.authservice.dto.LoginRequestDTO;
 import br.com.jobinder.authservice.dto.LoginResponseDTO;
+import br.com.jobinder.authservice.dto.RefreshTokenRequestDTO;
+import br.com.jobinder.authservice.infra.security.ClientIpResolver;
 import br.com.jobinder.authservice.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthController {
@@ -22,6 +30,13 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
+    // When enabled, the servlet thread is released while identity-service and BCrypt do their work
+    @Value("${auth.login.async-enabled:false}")
+    private boolean asyncLoginEnabled;
+
     @Operation(
             summary = "User Authentication Endpoint",
             description = "This endpoint accepts user credentials (phone and password), validates them against the identity"
@@ -36,12 +51,55 @@ public class AuthController {
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this phone or address",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> authenticateUser(@RequestBody LoginRequestDTO loginRequest) {
-        LoginResponseDTO loginResponse = authService.login(loginRequest);
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> authenticateUser(@RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
+        // Behind nginx the connection comes from the gateway, so the client is read from X-Forwarded-For
+        String clientIp = clientIpResolver.resolve(request);
+
+        if (asyncLoginEnabled) {
+            return authService.loginAsync(loginRequest, clientIp).thenApply(ResponseEntity::ok);
+        }
+
+        LoginResponseDTO loginResponse = authService.login(loginRequest, clientIp);
+        return CompletableFuture.completedFuture(ResponseEntity.ok(loginResponse));
+    }
+
+    @Operation(
+            summary = "Refresh Access Token",
+            description = "Exchanges a valid refresh token for a new access token and a new refresh token. " +
+                    "The submitted refresh token is consumed and cannot be used again."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "New token pair issued",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid, reused or expired refresh token)",
+                    content = @Content)
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refreshToken(@RequestBody RefreshTokenRequestDTO refreshRequest) {
+        LoginResponseDTO loginResponse = authService.refresh(refreshRequest);
         return ResponseEntity.ok(loginResponse);
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the given refresh token and, when sent in the Authorization header, the current access token."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh token revoked",
+                    content = @Content)
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequestDTO logoutRequest,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(logoutRequest, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+}
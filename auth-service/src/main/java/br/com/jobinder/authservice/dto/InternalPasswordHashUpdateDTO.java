@@ -0,0 +1,6 @@
+package br.com.jobinder.authservice.dto;
+
+public record InternalPasswordHashUpdateDTO(
+        String currentHashedPassword,
+        String newHashedPassword
+) {}
@@ -1,3 +1,4 @@
 package br.com.jobinder.authservice.dto;
 
-public record LoginResponseDTO(String token, String type) {}
+// expiresIn is the lifetime of the access token, in seconds
+public record LoginResponseDTO(String token, String type, String refreshToken, long expiresIn) {}
@@ -0,0 +1,3 @@
+package br.com.jobinder.authservice.dto;
+
+public record RefreshTokenRequestDTO(String refreshToken) {}
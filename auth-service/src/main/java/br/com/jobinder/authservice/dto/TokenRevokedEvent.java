@@ -0,0 +1,8 @@
+package br.com.jobinder.authservice.dto;
+
+import java.io.Serializable;
+
+public record TokenRevokedEvent(
+        String jti,
+        long expiresAtMillis
+) implements Serializable {}
@@ -0,0 +1,21 @@
+package br.com.jobinder.authservice.dto;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record UserCredentialsChangedEvent(
+        UUID userId,
+        Reason reason
+) implements Serializable {
+
+    public enum Reason {
+        PASSWORD_CHANGED,
+        USER_DELETED,
+        HASH_UPGRADED
+    }
+
+    // Events from publishers that predate the reason carry none and are treated as a real change
+    public boolean revokesSessions() {
+        return reason != Reason.HASH_UPGRADED;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.jobinder.authservice.infra.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignClientConfig {
+
+    // Leased, available and pending connections of the pool shared by the Feign clients
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(HttpClientConnectionManager connectionManager) {
+        return registry -> {
+            if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
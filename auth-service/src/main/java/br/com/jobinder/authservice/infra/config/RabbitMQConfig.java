@@ -0,0 +1,47 @@
+package br.com.jobinder.authservice.infra.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    @Value("${rabbitmq.exchanges.user-credentials-changed}")
+    private String userCredentialsChangedExchange;
+
+    @Value("${rabbitmq.exchanges.token-revoked}")
+    private String tokenRevokedExchange;
+
+    @Bean
+    public FanoutExchange userCredentialsChangedExchange() {
+        return new FanoutExchange(userCredentialsChangedExchange, true, false);
+    }
+
+    @Bean
+    public FanoutExchange tokenRevokedExchange() {
+        return new FanoutExchange(tokenRevokedExchange, true, false);
+    }
+
+    // Each instance gets its own auto-delete queue, so every local cache receives every invalidation
+    @Bean
+    public Queue userCredentialsChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userCredentialsChangedBinding(Queue userCredentialsChangedQueue, FanoutExchange userCredentialsChangedExchange) {
+        return BindingBuilder.bind(userCredentialsChangedQueue).to(userCredentialsChangedExchange);
+    }
+
+    @Bean
+    public Jackson2JsonMessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
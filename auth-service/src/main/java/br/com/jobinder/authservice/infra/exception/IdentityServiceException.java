@@ -0,0 +1,15 @@
+package br.com.jobinder.authservice.infra.exception;
+
+public class IdentityServiceException extends RuntimeException {
+
+    private final int status;
+
+    public IdentityServiceException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
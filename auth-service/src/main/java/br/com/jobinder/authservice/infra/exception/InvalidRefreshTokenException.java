@@ -0,0 +1,7 @@
+package br.com.jobinder.authservice.infra.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.jobinder.authservice.infra.exception;
+
+public class PasswordVerificationUnavailableException extends RuntimeException {
+    public PasswordVerificationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.jobinder.authservice.infra.phone;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+  Canonical form of a login phone, following the same rules as identity-service's lookup: E.164
+  input is kept, anything else is parsed for the default region, and numbers that do not parse
+  to a valid one are passed through. Login throttling and the credentials cache key on this form,
+  so "+55 11 9...", "(11) 9..." and "11 9..." share one failure budget and one cache entry.
+*/
+@Component
+public class PhoneNumberNormalizer {
+
+    // E.164 allows at most 15 digits; 7 is the shortest number in use anywhere
+    private static final int E164_MIN_DIGITS = 7;
+    private static final int E164_MAX_DIGITS = 15;
+
+    @Value("${auth.phone.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${auth.phone.default-region:BR}")
+    private String defaultRegion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Thread-safe singleton instance of PhoneNumberUtil
+    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+    private Cache<String, String> canonicalNumbers;
+
+    @PostConstruct
+    void init() {
+        this.canonicalNumbers = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, canonicalNumbers, "auth.phone-canonicalization");
+    }
+
+    public String canonicalize(String phone) {
+        if (phone == null || isE164(phone)) {
+            return phone;
+        }
+        return canonicalNumbers.get(phone, this::parseToE164);
+    }
+
+    // Structural check only: '+', a non-zero leading digit and 7 to 15 digits in total
+    static boolean isE164(String phone) {
+        int length = phone.length();
+        if (length < E164_MIN_DIGITS + 1 || length > E164_MAX_DIGITS + 1 || phone.charAt(0) != '+') {
+            return false;
+        }
+        if (phone.charAt(1) == '0') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String parseToE164(String phone) {
+        try {
+            PhoneNumber phoneNumber = phoneUtil.parse(phone, defaultRegion);
+            if (phoneUtil.isValidNumber(phoneNumber)) {
+                return phoneUtil.format(phoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
+            }
+        } catch (NumberParseException e) {
+            // Falls through: identity-service looks such input up unchanged too
+        }
+        return phone;
+    }
+}
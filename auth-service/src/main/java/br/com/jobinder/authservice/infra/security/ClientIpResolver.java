@@ -0,0 +1,52 @@
+package br.com.jobinder.authservice.infra.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/*
+  Finds the address a request really came from, for the per-IP login throttle. Behind nginx the
+  connection always comes from the gateway, so the client is taken from X-Forwarded-For, but only
+  when the connection comes from a trusted proxy. The header is read from the right: nginx
+  appends the address it saw, while anything to its left was sent by the client and can be forged.
+*/
+@Component
+public class ClientIpResolver {
+
+    static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    @Value("${auth.login.trusted-proxies}")
+    private String trustedProxies;
+
+    private Pattern trustedProxyPattern;
+
+    @PostConstruct
+    void init() {
+        this.trustedProxyPattern = Pattern.compile(trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (!isTrustedProxy(remoteAddress) || forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddress;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        // Every hop is a proxy of ours, so the request started inside the network
+        return hops[0].trim();
+    }
+
+    private boolean isTrustedProxy(String address) {
+        return trustedProxyPattern.matcher(address).matches();
+    }
+}
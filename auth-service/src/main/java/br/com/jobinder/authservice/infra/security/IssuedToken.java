@@ -0,0 +1,14 @@
+package br.com.jobinder.authservice.infra.security;
+
+import java.util.UUID;
+
+// Identifying claims of an access token issued by this service
+public record IssuedToken(
+        UUID userId,
+        String jti,
+        long expiresAtMillis
+) {
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.jobinder.authservice.infra.security;
 
 import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +13,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -31,6 +35,8 @@ public class JwtTokenProvider {
         claims.put("phone", userDetails.phone());
 
         return Jwts.builder()
+                // The jti lets other services revoke this token before it expires
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.id().toString())
                 .claims(claims)
                 .issuedAt(now)
@@ -38,4 +44,25 @@ public class JwtTokenProvider {
                 .signWith(key)
                 .compact();
     }
+
+    public Optional<IssuedToken> readIssuedToken(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        try {
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+            if (claims.getId() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new IssuedToken(
+                    UUID.fromString(claims.getSubject()),
+                    claims.getId(),
+                    claims.getExpiration().getTime()
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getExpirationSeconds() {
+        return jwtExpirationInMs / 1000;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.com.jobinder.authservice.infra.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,9 +14,13 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -34,7 +39,9 @@ public class SecurityConfig {
                         // Allow access to actuator endpoints without authentication
                         .requestMatchers("/actuator/**").permitAll()
                         // Allow access to the login endpoint without authentication
-                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()                        
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
+                        // Refresh and logout are authenticated by the refresh token in the body
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh", "/api/v1/auth/logout").permitAll()
                         // Need authentication for any other request
                         .anyRequest().authenticated()
                 )
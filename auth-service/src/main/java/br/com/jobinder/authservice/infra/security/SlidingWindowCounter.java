@@ -0,0 +1,106 @@
+package br.com.jobinder.authservice.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/*
+  Approximate per-key event counter over a sliding time window, with fixed memory.
+
+  Keys are hashed into a small count-min sketch: "depth" rows of "width" slots, each row using
+  its own hash seed. A key's estimate is the minimum over its slots, so collisions can only make
+  a count look higher, never lower. Every slot keeps two buckets (current and previous window),
+  packed as [window number | count] into a single long and updated with CAS, so there are no
+  locks and no per-key allocation. The sliding estimate weights the previous bucket by how much
+  of it still overlaps the window.
+*/
+public class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int depth;
+    private final int columnMask;
+    private final long windowMs;
+    private final LongSupplier clock;
+    private final AtomicLongArray slots;
+
+    public SlidingWindowCounter(int width, int depth, long windowMs) {
+        this(width, depth, windowMs, System::currentTimeMillis);
+    }
+
+    SlidingWindowCounter(int width, int depth, long windowMs, LongSupplier clock) {
+        if (width <= 0 || depth <= 0 || windowMs <= 0) {
+            throw new IllegalArgumentException("Width, depth and window must be positive");
+        }
+        // Round the width up to a power of two so the column is a simple mask
+        int columns = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.columnMask = columns - 1;
+        this.windowMs = windowMs;
+        this.clock = clock;
+        this.slots = new AtomicLongArray(depth * columns * 2);
+    }
+
+    public void increment(String key) {
+        long window = clock.getAsLong() / windowMs;
+        for (int row = 0; row < depth; row++) {
+            int index = bucketIndex(row, key, window);
+            long current;
+            long updated;
+            do {
+                current = slots.get(index);
+                long count = windowOf(current) == window ? countOf(current) : 0;
+                updated = pack(window, Math.min(count + 1, COUNT_MASK));
+            } while (!slots.compareAndSet(index, current, updated));
+        }
+    }
+
+    public double estimate(String key) {
+        long now = clock.getAsLong();
+        long window = now / windowMs;
+        double previousWeight = 1.0 - (double) (now % windowMs) / windowMs;
+
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long current = slots.get(bucketIndex(row, key, window));
+            long previous = slots.get(bucketIndex(row, key, window - 1));
+            double rowEstimate = (windowOf(current) == window ? countOf(current) : 0)
+                    + (windowOf(previous) == window - 1 ? countOf(previous) : 0) * previousWeight;
+            estimate = Math.min(estimate, rowEstimate);
+        }
+        return estimate;
+    }
+
+    private int bucketIndex(int row, String key, long window) {
+        int column = (int) hash(key, row) & columnMask;
+        return ((row * (columnMask + 1) + column) << 1) | (int) (window & 1);
+    }
+
+    // FNV-1a over the UTF-8 bytes, seeded per row and finished with a murmur3 mix
+    private static long hash(String key, int row) {
+        long h = 0xcbf29ce484222325L ^ (row * 0x9E3779B97F4A7C15L);
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long pack(long window, long count) {
+        return (window << COUNT_BITS) | count;
+    }
+
+    private static long windowOf(long packed) {
+        return packed >>> COUNT_BITS;
+    }
+
+    private static long countOf(long packed) {
+        return packed & COUNT_MASK;
+    }
+}
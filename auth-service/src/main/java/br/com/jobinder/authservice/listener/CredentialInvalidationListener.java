@@ -0,0 +1,34 @@
+package br.com.jobinder.authservice.listener;
+
+import br.com.jobinder.authservice.dto.UserCredentialsChangedEvent;
+import br.com.jobinder.authservice.service.RefreshTokenService;
+import br.com.jobinder.authservice.service.TokenRevocationService;
+import br.com.jobinder.authservice.service.UserCredentialService;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CredentialInvalidationListener {
+
+    @Autowired
+    private UserCredentialService userCredentialService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @RabbitListener(queues = "#{userCredentialsChangedQueue.name}")
+    public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+        // Password changed, hash upgraded or user deleted in identity-service, drop whatever we cached for them
+        userCredentialService.evictUser(event.userId());
+        // A rehash on login keeps the password, so the session it just opened must survive
+        if (event.revokesSessions()) {
+            // Sessions opened with the old password must log in again
+            refreshTokenService.revokeAllForUser(event.userId());
+            tokenRevocationService.revokeAllForUser(event.userId());
+        }
+    }
+}
@@ -1,49 +1,144 @@
 package br.com.jobinder.authservice.service;
 
-import br.com.jobinder.authservice.client.IdentityServiceClient;
 import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
 import br.com.jobinder.authservice.dto.LoginRequestDTO;
 import br.com.jobinder.authservice.dto.LoginResponseDTO;
+import br.com.jobinder.authservice.dto.RefreshTokenRequestDTO;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceException;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
 import br.com.jobinder.authservice.infra.exception.UserNotFoundException;
+import br.com.jobinder.authservice.infra.phone.PhoneNumberNormalizer;
 import br.com.jobinder.authservice.infra.security.JwtTokenProvider;
 import br.com.jobinder.authservice.infra.exception.InvalidCredentialsException;
+import feign.FeignException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 public class AuthService {
 
     @Autowired
-    private IdentityServiceClient identityServiceClient;
+    private UserCredentialService userCredentialService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerificationService passwordVerificationService;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    public LoginResponseDTO login(LoginRequestDTO loginRequest) {
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PhoneNumberNormalizer phoneNumberNormalizer;
+
+    public LoginResponseDTO login(LoginRequestDTO loginRequest, String clientIp) {
+        // One key per number however it was typed, so reformatting it neither resets the throttle nor misses the cache
+        String phone = phoneNumberNormalizer.canonicalize(loginRequest.phone());
+
+        // Reject throttled phones and addresses before any remote call or BCrypt work
+        loginThrottleService.checkAllowed(phone, clientIp);
+
         InternalUserAuthDTO userDetails;
 
         try {
-            userDetails = identityServiceClient.getUserAuthDetails(loginRequest.phone());
+            userDetails = userCredentialService.getUserAuthDetails(phone);
+        } catch (IdentityServiceUnavailableException e) {
+            // Fail fast with 503 instead of reporting an outage as an unknown user
+            throw e;
         } catch (Exception e) {
-            throw new UserNotFoundException("User not found with phone: " + loginRequest.phone());
+            if (isUserMissing(e)) {
+                loginThrottleService.recordFailure(phone, clientIp);
+            }
+            throw new UserNotFoundException("User not found with phone: " + phone);
         }
 
         if (userDetails == null) {
-            throw new UserNotFoundException("User not found with phone: " + loginRequest.phone());
+            loginThrottleService.recordFailure(phone, clientIp);
+            throw new UserNotFoundException("User not found with phone: " + phone);
         }
 
         // Validate password
-        if (!passwordEncoder.matches(loginRequest.password(), userDetails.hashedPassword())) {
+        if (!passwordVerificationService.matches(loginRequest.password(), userDetails.hashedPassword())) {
+            loginThrottleService.recordFailure(phone, clientIp);
             throw new InvalidCredentialsException("Invalid phone number or password.");
         }
 
-        // Generate JWT token
+        // Upgrade hashes created with a weaker BCrypt strength, if enabled
+        passwordVerificationService.rehashIfNeeded(userDetails, loginRequest.password());
+
+        return issueTokens(userDetails);
+    }
+
+    /*
+      Same rules as login(), but no thread waits on identity-service or BCrypt: the lookup uses a
+      non-blocking HTTP client and the password check runs on the verification pool.
+    */
+    public CompletableFuture<LoginResponseDTO> loginAsync(LoginRequestDTO loginRequest, String clientIp) {
+        String phone = phoneNumberNormalizer.canonicalize(loginRequest.phone());
+        loginThrottleService.checkAllowed(phone, clientIp);
+
+        return userCredentialService.getUserAuthDetailsAsync(phone)
+                .handle((userDetails, error) -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof IdentityServiceUnavailableException unavailable) {
+                        throw unavailable;
+                    }
+                    if (userDetails == null) {
+                        if (cause == null || isUserMissing(cause)) {
+                            loginThrottleService.recordFailure(phone, clientIp);
+                        }
+                        throw new UserNotFoundException("User not found with phone: " + phone);
+                    }
+                    return userDetails;
+                })
+                .thenCompose(userDetails -> passwordVerificationService
+                        .matchesAsync(loginRequest.password(), userDetails.hashedPassword())
+                        .thenApply(matches -> {
+                            if (!matches) {
+                                loginThrottleService.recordFailure(phone, clientIp);
+                                throw new InvalidCredentialsException("Invalid phone number or password.");
+                            }
+                            passwordVerificationService.rehashIfNeeded(userDetails, loginRequest.password());
+                            return issueTokens(userDetails);
+                        }));
+    }
+
+    public LoginResponseDTO refresh(RefreshTokenRequestDTO refreshRequest) {
+        // The refresh token carries everything needed, so no identity lookup or password check here
+        InternalUserAuthDTO userDetails = refreshTokenService.consume(refreshRequest.refreshToken());
+        return issueTokens(userDetails);
+    }
+
+    public void logout(RefreshTokenRequestDTO logoutRequest, String accessToken) {
+        refreshTokenService.revoke(logoutRequest.refreshToken());
+        // Also revoke the access token the client is logging out with, if it sent one
+        if (accessToken != null) {
+            tokenRevocationService.revoke(accessToken);
+        }
+    }
+
+    private LoginResponseDTO issueTokens(InternalUserAuthDTO userDetails) {
+        // Generate a short-lived JWT and a rotating refresh token
         String token = tokenProvider.generateToken(userDetails);
+        String refreshToken = refreshTokenService.issue(userDetails);
+        tokenRevocationService.track(token);
+
+        return new LoginResponseDTO(token, "Bearer", refreshToken, tokenProvider.getExpirationSeconds());
+    }
 
-        return new LoginResponseDTO(token, "Bearer");
+    // Only a definite "not found" from identity-service counts as a failed attempt, not an outage
+    private static boolean isUserMissing(Throwable error) {
+        return error instanceof FeignException.NotFound
+                || (error instanceof IdentityServiceException identityError && identityError.getStatus() == 404);
     }
-}
\ No newline at end of file
+}
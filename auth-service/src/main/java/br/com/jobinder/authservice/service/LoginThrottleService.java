@@ -0,0 +1,87 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.infra.exception.TooManyLoginAttemptsException;
+import br.com.jobinder.authservice.infra.security.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/*
+  Counts failed logins per phone (brute force on one account) and per client IP (credential
+  stuffing across many accounts). Once either goes over its limit within the window, further
+  attempts are rejected before any identity lookup or BCrypt work is done.
+*/
+@Service
+public class LoginThrottleService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.login-throttle.window-ms:900000}")
+    private long windowMs;
+
+    @Value("${auth.login-throttle.max-failures-per-phone:5}")
+    private int maxFailuresPerPhone;
+
+    @Value("${auth.login-throttle.max-failures-per-ip:50}")
+    private int maxFailuresPerIp;
+
+    @Value("${auth.login-throttle.sketch-width:16384}")
+    private int sketchWidth;
+
+    @Value("${auth.login-throttle.sketch-depth:3}")
+    private int sketchDepth;
+
+    private SlidingWindowCounter phoneFailures;
+    private SlidingWindowCounter ipFailures;
+    private Counter blockedByPhoneCounter;
+    private Counter blockedByIpCounter;
+    private Counter failuresCounter;
+
+    @PostConstruct
+    void init() {
+        this.phoneFailures = new SlidingWindowCounter(sketchWidth, sketchDepth, windowMs);
+        this.ipFailures = new SlidingWindowCounter(sketchWidth, sketchDepth, windowMs);
+
+        this.blockedByPhoneCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the failure throttle")
+                .tag("reason", "phone")
+                .register(meterRegistry);
+        this.blockedByIpCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the failure throttle")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("auth.login.failures")
+                .description("Failed login attempts recorded by the throttle")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String phone, String clientIp) {
+        if (phone != null && phoneFailures.estimate(phone) >= maxFailuresPerPhone) {
+            blockedByPhoneCounter.increment();
+            throw new TooManyLoginAttemptsException("Too many failed login attempts for this phone number. Please try again later.", retryAfterSeconds());
+        }
+        if (clientIp != null && ipFailures.estimate(clientIp) >= maxFailuresPerIp) {
+            blockedByIpCounter.increment();
+            throw new TooManyLoginAttemptsException("Too many failed login attempts from this address. Please try again later.", retryAfterSeconds());
+        }
+    }
+
+    public void recordFailure(String phone, String clientIp) {
+        failuresCounter.increment();
+        if (phone != null) {
+            phoneFailures.increment(phone);
+        }
+        if (clientIp != null) {
+            ipFailures.increment(clientIp);
+        }
+    }
+
+    // The sliding estimate decays gradually, so a full window is the safe upper bound
+    private long retryAfterSeconds() {
+        return Math.max(1, windowMs / 1000);
+    }
+}
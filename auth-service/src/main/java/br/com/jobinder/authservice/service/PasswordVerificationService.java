@@ -0,0 +1,199 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.client.IdentityServiceClient;
+import br.com.jobinder.authservice.dto.InternalPasswordHashUpdateDTO;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.PasswordVerificationUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+  Runs BCrypt work on a dedicated, bounded pool so that a burst of logins cannot take over
+  the servlet threads. When the pool and its queue are full, new verifications are rejected
+  immediately instead of piling up behind the ones already waiting.
+*/
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IdentityServiceClient identityServiceClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 means one thread per available core
+    @Value("${auth.password.verification.pool-size:0}")
+    private int poolSize;
+
+    @Value("${auth.password.verification.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${auth.password.verification.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${auth.password.rehash-on-login:false}")
+    private boolean rehashOnLogin;
+
+    private ThreadPoolExecutor executor;
+    private Timer matchesTimer;
+    private Timer encodeTimer;
+    private Counter rejectedCounter;
+    private Counter rehashedCounter;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory("password-verification-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "auth.password.verification", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("auth.password.verification.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password verifications waiting for a free BCrypt thread")
+                .register(meterRegistry);
+
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent in BCrypt operations")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent in BCrypt operations")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.verification.rejected")
+                .description("Password verifications rejected because the pool was saturated")
+                .register(meterRegistry);
+        this.rehashedCounter = Counter.builder("auth.password.rehashed")
+                .description("Password hashes upgraded to the configured BCrypt strength on login")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean matches(String rawPassword, String hashedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, hashedPassword)));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordVerificationUnavailableException("Too many login attempts in progress. Please try again shortly.");
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new PasswordVerificationUnavailableException("Password verification timed out. Please try again shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordVerificationUnavailableException("Password verification was interrupted.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    // Same as matches(), but the caller is not blocked while BCrypt runs
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String hashedPassword) {
+        CompletableFuture<Boolean> result;
+        try {
+            result = CompletableFuture.supplyAsync(
+                    () -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, hashedPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(
+                    new PasswordVerificationUnavailableException("Too many login attempts in progress. Please try again shortly."));
+        }
+
+        return result
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        throw new PasswordVerificationUnavailableException("Password verification timed out. Please try again shortly.");
+                    }
+                    throw error instanceof CompletionException completionException ? completionException : new CompletionException(error);
+                });
+    }
+
+    /*
+      When enabled, hashes created with a lower BCrypt strength than the configured one are
+      re-encoded in the background after a successful login and sent to identity-service.
+      This is best-effort: if the pool is busy, the upgrade is retried on a later login.
+    */
+    public void rehashIfNeeded(InternalUserAuthDTO userDetails, String rawPassword) {
+        if (!rehashOnLogin || !passwordEncoder.upgradeEncoding(userDetails.hashedPassword())) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String newHash = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                    identityServiceClient.updatePasswordHash(
+                            userDetails.id(),
+                            new InternalPasswordHashUpdateDTO(userDetails.hashedPassword(), newHash)
+                    );
+                    rehashedCounter.increment();
+                } catch (Exception e) {
+                    log.warn("Could not upgrade password hash for user {}: {}", userDetails.id(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping password hash upgrade for user {}: verification pool is saturated", userDetails.id());
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
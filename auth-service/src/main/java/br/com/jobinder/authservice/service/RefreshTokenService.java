@@ -0,0 +1,125 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.InvalidRefreshTokenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Issues opaque, single-use refresh tokens and keeps them in memory. Only the SHA-256 of each
+  token is stored, together with the few claims needed to sign a new access token, so a refresh
+  never needs identity-service or BCrypt. Every use rotates the token; expired ones are swept.
+*/
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-expiration-ms}")
+    private long refreshExpirationMs;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ConcurrentHashMap<String, RefreshTokenEntry> refreshTokens = new ConcurrentHashMap<>();
+
+    private Counter rotatedCounter;
+    private Counter rejectedCounter;
+
+    // MessageDigest is not thread-safe, so each request thread keeps its own instance
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("auth.refresh-tokens.active", refreshTokens, ConcurrentHashMap::size)
+                .description("Refresh tokens currently stored")
+                .register(meterRegistry);
+        this.rotatedCounter = Counter.builder("auth.refresh-tokens.rotated")
+                .description("Refresh tokens exchanged for a new token pair")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.refresh-tokens.rejected")
+                .description("Refresh attempts with an unknown, reused or expired token")
+                .register(meterRegistry);
+    }
+
+    public String issue(InternalUserAuthDTO userDetails) {
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(randomBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        refreshTokens.put(hash(refreshToken), new RefreshTokenEntry(
+                userDetails.id(),
+                userDetails.phone(),
+                userDetails.role(),
+                System.currentTimeMillis() + refreshExpirationMs
+        ));
+        return refreshToken;
+    }
+
+    // Consumes the token; the caller is expected to issue a new pair for the returned user
+    public InternalUserAuthDTO consume(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            rejectedCounter.increment();
+            throw new InvalidRefreshTokenException("Refresh token is missing.");
+        }
+
+        // remove() makes the token single-use even when two requests race with it
+        RefreshTokenEntry entry = refreshTokens.remove(hash(refreshToken));
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            rejectedCounter.increment();
+            throw new InvalidRefreshTokenException("Invalid or expired refresh token.");
+        }
+
+        rotatedCounter.increment();
+        return new InternalUserAuthDTO(entry.userId(), entry.phone(), null, entry.role());
+    }
+
+    public void revoke(String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokens.remove(hash(refreshToken));
+        }
+    }
+
+    public void revokeAllForUser(UUID userId) {
+        refreshTokens.values().removeIf(entry -> entry.userId().equals(userId));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        refreshTokens.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+    }
+
+    private record RefreshTokenEntry(UUID userId, String phone, String role, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.dto.TokenRevokedEvent;
+import br.com.jobinder.authservice.infra.security.IssuedToken;
+import br.com.jobinder.authservice.infra.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+  Remembers the access tokens this instance issued until they expire, so they can be revoked
+  when the user logs out or their credentials change. Revocations are broadcast to every
+  service, which reject the token ID (jti) from then on without calling auth-service.
+*/
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rabbitmq.exchanges.token-revoked}")
+    private String tokenRevokedExchange;
+
+    // userId -> access tokens issued to that user that have not expired yet
+    private final ConcurrentHashMap<UUID, Queue<IssuedToken>> issuedTokens = new ConcurrentHashMap<>();
+    private Counter revokedCounter;
+
+    @PostConstruct
+    void init() {
+        this.revokedCounter = Counter.builder("auth.access-tokens.revoked")
+                .description("Access tokens revoked before their expiration")
+                .register(meterRegistry);
+    }
+
+    public void track(String accessToken) {
+        // Added inside compute() so the sweep can never drop a queue that is just receiving a token
+        tokenProvider.readIssuedToken(accessToken).ifPresent(issued ->
+                issuedTokens.compute(issued.userId(), (id, tokens) -> {
+                    Queue<IssuedToken> queue = tokens != null ? tokens : new ConcurrentLinkedQueue<>();
+                    queue.add(issued);
+                    return queue;
+                }));
+    }
+
+    public void revoke(String accessToken) {
+        tokenProvider.readIssuedToken(accessToken).ifPresent(issued -> {
+            Queue<IssuedToken> tokens = issuedTokens.get(issued.userId());
+            if (tokens != null) {
+                tokens.removeIf(token -> token.jti().equals(issued.jti()));
+            }
+            publish(issued);
+        });
+    }
+
+    public void revokeAllForUser(UUID userId) {
+        Queue<IssuedToken> tokens = issuedTokens.remove(userId);
+        if (tokens == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (IssuedToken token : tokens) {
+            if (!token.isExpired(now)) {
+                publish(token);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        issuedTokens.forEach((userId, tokens) -> {
+            tokens.removeIf(token -> token.isExpired(now));
+            issuedTokens.computeIfPresent(userId, (id, current) -> current.isEmpty() ? null : current);
+        });
+    }
+
+    private void publish(IssuedToken token) {
+        try {
+            rabbitTemplate.convertAndSend(tokenRevokedExchange, "", new TokenRevokedEvent(token.jti(), token.expiresAtMillis()));
+            revokedCounter.increment();
+        } catch (AmqpException e) {
+            log.error("Could not publish revocation of token {}: {}", token.jti(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.client.IdentityServiceAsyncClient;
+import br.com.jobinder.authservice.client.IdentityServiceClient;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  Keeps a bounded, short-lived copy of the auth details returned by identity-service, keyed by
+  phone, so returning users do not cost a remote call on every login. Entries are dropped as
+  soon as identity-service reports a password change or deletion; the TTL only covers lost events.
+  Concurrent misses for the same phone share one identity lookup instead of each firing their own.
+*/
+@Service
+public class UserCredentialService {
+
+    @Autowired
+    private IdentityServiceClient identityServiceClient;
+
+    @Autowired
+    private IdentityServiceAsyncClient identityServiceAsyncClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.credentials-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${auth.credentials-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, InternalUserAuthDTO> credentials;
+    private Counter invalidationCounter;
+    private Counter leaderLookupCounter;
+    private Counter coalescedLookupCounter;
+
+    // Identity lookups currently running, by phone
+    private final ConcurrentHashMap<String, CompletableFuture<InternalUserAuthDTO>> inFlightLookups = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation, so a lookup that raced with one never leaves a stale entry behind
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        this.credentials = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, credentials, "auth.user-credentials");
+
+        this.invalidationCounter = Counter.builder("auth.user-credentials.invalidations")
+                .description("Credential invalidation events received from identity-service")
+                .register(meterRegistry);
+
+        this.leaderLookupCounter = Counter.builder("auth.identity.lookups")
+                .description("Identity lookups by whether they called identity-service or joined one in flight")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedLookupCounter = Counter.builder("auth.identity.lookups")
+                .description("Identity lookups by whether they called identity-service or joined one in flight")
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("auth.identity.lookups.in-flight", inFlightLookups, ConcurrentHashMap::size)
+                .description("Distinct phones with an identity lookup currently running")
+                .register(meterRegistry);
+    }
+
+    public InternalUserAuthDTO getUserAuthDetails(String phone) {
+        InternalUserAuthDTO cached = credentials.getIfPresent(phone);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<InternalUserAuthDTO> lookup = new CompletableFuture<>();
+        CompletableFuture<InternalUserAuthDTO> running = inFlightLookups.putIfAbsent(phone, lookup);
+        if (running != null) {
+            coalescedLookupCounter.increment();
+            return await(running);
+        }
+
+        try {
+            // A previous leader may have filled the cache between our miss and taking the slot
+            InternalUserAuthDTO userDetails = credentials.getIfPresent(phone);
+            if (userDetails == null) {
+                leaderLookupCounter.increment();
+                userDetails = loadAndCache(phone);
+            }
+            lookup.complete(userDetails);
+            return userDetails;
+        } catch (RuntimeException | Error e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(phone, lookup);
+        }
+    }
+
+    // Non-blocking variant; shares the cache and the in-flight lookups with the blocking one
+    public CompletableFuture<InternalUserAuthDTO> getUserAuthDetailsAsync(String phone) {
+        InternalUserAuthDTO cached = credentials.getIfPresent(phone);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<InternalUserAuthDTO> lookup = new CompletableFuture<>();
+        CompletableFuture<InternalUserAuthDTO> running = inFlightLookups.putIfAbsent(phone, lookup);
+        if (running != null) {
+            coalescedLookupCounter.increment();
+            return running;
+        }
+
+        cached = credentials.getIfPresent(phone);
+        if (cached != null) {
+            lookup.complete(cached);
+            inFlightLookups.remove(phone, lookup);
+            return lookup;
+        }
+
+        leaderLookupCounter.increment();
+        long epoch = invalidationEpoch.get();
+        try {
+            identityServiceAsyncClient.getUserAuthDetails(phone).whenComplete((userDetails, error) -> {
+                if (error != null) {
+                    lookup.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else {
+                    cacheIfCurrent(phone, userDetails, epoch);
+                    lookup.complete(userDetails);
+                }
+                inFlightLookups.remove(phone, lookup);
+            });
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            inFlightLookups.remove(phone, lookup);
+        }
+        return lookup;
+    }
+
+    public void evictUser(UUID userId) {
+        invalidationEpoch.incrementAndGet();
+        // Requests arriving from now on must not join a lookup that started before the change
+        inFlightLookups.clear();
+        credentials.asMap().values().removeIf(userDetails -> userId.equals(userDetails.id()));
+        invalidationCounter.increment();
+    }
+
+    private InternalUserAuthDTO loadAndCache(String phone) {
+        long epoch = invalidationEpoch.get();
+        InternalUserAuthDTO userDetails = identityServiceClient.getUserAuthDetails(phone);
+        cacheIfCurrent(phone, userDetails, epoch);
+        return userDetails;
+    }
+
+    private void cacheIfCurrent(String phone, InternalUserAuthDTO userDetails, long epoch) {
+        if (userDetails != null) {
+            credentials.put(phone, userDetails);
+            // An invalidation arrived while we were loading, the value may already be outdated
+            if (epoch != invalidationEpoch.get()) {
+                credentials.asMap().remove(phone, userDetails);
+            }
+        }
+    }
+
+    // Followers get the leader's result, or the same exception the leader got
+    private static InternalUserAuthDTO await(CompletableFuture<InternalUserAuthDTO> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.jobinder.authservice.benchmark;
+
+import br.com.jobinder.authservice.client.IdentityServiceAsyncClient;
+import br.com.jobinder.authservice.client.IdentityServiceClient;
+import br.com.jobinder.authservice.dto.InternalPasswordHashUpdateDTO;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.dto.LoginRequestDTO;
+import br.com.jobinder.authservice.infra.phone.PhoneNumberNormalizer;
+import br.com.jobinder.authservice.infra.security.JwtTokenProvider;
+import br.com.jobinder.authservice.service.AuthService;
+import br.com.jobinder.authservice.service.LoginThrottleService;
+import br.com.jobinder.authservice.service.PasswordVerificationService;
+import br.com.jobinder.authservice.service.RefreshTokenService;
+import br.com.jobinder.authservice.service.TokenRevocationService;
+import br.com.jobinder.authservice.service.UserCredentialService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/*
+  Compares the blocking and the non-blocking login paths against a stub identity-service that
+  answers after a fixed delay. Reports p50/p99 latency and the peak number of live threads.
+  Disabled by default; run with: mvn test -Dtest=LoginPathBenchmark -Dbenchmark=true
+*/
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginPathBenchmark {
+
+    private static final int LOGINS = 2_000;
+    private static final int BLOCKING_WORKERS = 200;
+    private static final long IDENTITY_DELAY_MS = 50;
+    private static final String PASSWORD = "password123";
+    private static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer identityStub;
+    private ScheduledExecutorService responseScheduler;
+    private String identityUrl;
+    private String hashedPassword;
+    private PasswordVerificationService passwordVerificationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        hashedPassword = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        responseScheduler = Executors.newScheduledThreadPool(2);
+
+        // The stub answers from a scheduler so a slow identity-service costs it no threads either
+        identityStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        identityStub.createContext("/internal/users/", exchange -> {
+            String phone = exchange.getRequestURI().getPath().substring("/internal/users/".length());
+            byte[] body = objectMapper.writeValueAsBytes(new InternalUserAuthDTO(UUID.randomUUID(), phone, hashedPassword, "USER"));
+            responseScheduler.schedule(() -> {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    out.write(body);
+                } catch (IOException ignored) {
+                    // Client went away; nothing to report for a benchmark
+                }
+            }, IDENTITY_DELAY_MS, TimeUnit.MILLISECONDS);
+        });
+        identityStub.setExecutor(Executors.newFixedThreadPool(4));
+        identityStub.start();
+        identityUrl = "http://127.0.0.1:" + identityStub.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        identityStub.stop(0);
+        responseScheduler.shutdownNow();
+        if (passwordVerificationService != null) {
+            ReflectionTestUtils.invokeMethod(passwordVerificationService, "shutdown");
+        }
+    }
+
+    @Test
+    @DisplayName("Blocking login: one worker thread per in-flight request")
+    void blockingLogin() throws Exception {
+        AuthService authService = buildAuthService();
+        ExecutorService workers = Executors.newFixedThreadPool(BLOCKING_WORKERS);
+
+        Result result = run("blocking", index -> CompletableFuture.supplyAsync(
+                () -> authService.login(loginRequest(index), clientIp(index)), workers));
+
+        workers.shutdown();
+        assertThat(result.failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("Non-blocking login: identity lookups and BCrypt never park the caller")
+    void asyncLogin() throws Exception {
+        AuthService authService = buildAuthService();
+
+        Result result = run("async", index -> authService.loginAsync(loginRequest(index), clientIp(index)));
+
+        assertThat(result.failures()).isZero();
+    }
+
+    private Result run(String name, Function<Integer, CompletableFuture<?>> login) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long[] latenciesNanos = new long[LOGINS];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(LOGINS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            login.apply(index).whenComplete((response, error) -> {
+                latenciesNanos[index] = System.nanoTime() - submitted;
+                if (error != null) {
+                    failures.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Arrays.sort(latenciesNanos);
+        System.out.printf("[%s] logins=%d elapsed=%dms p50=%dms p99=%dms peakThreads=%d failures=%d%n",
+                name, LOGINS, elapsedMs,
+                TimeUnit.NANOSECONDS.toMillis(latenciesNanos[LOGINS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latenciesNanos[(int) (LOGINS * 0.99)]),
+                threads.getPeakThreadCount(), failures.get());
+        return new Result(failures.get());
+    }
+
+    private AuthService buildAuthService() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+        passwordVerificationService = new PasswordVerificationService();
+        ReflectionTestUtils.setField(passwordVerificationService, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(passwordVerificationService, "identityServiceClient", mock(IdentityServiceClient.class));
+        ReflectionTestUtils.setField(passwordVerificationService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordVerificationService, "poolSize", Runtime.getRuntime().availableProcessors());
+        ReflectionTestUtils.setField(passwordVerificationService, "queueCapacity", LOGINS);
+        ReflectionTestUtils.setField(passwordVerificationService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(passwordVerificationService, "rehashOnLogin", false);
+        ReflectionTestUtils.invokeMethod(passwordVerificationService, "init");
+
+        IdentityServiceAsyncClient asyncClient = new IdentityServiceAsyncClient();
+        ReflectionTestUtils.setField(asyncClient, "identityServiceUrl", identityUrl);
+        ReflectionTestUtils.setField(asyncClient, "apiKeyHeader", "X-API-KEY");
+        ReflectionTestUtils.setField(asyncClient, "apiKeyValue", "benchmark");
+        ReflectionTestUtils.setField(asyncClient, "connectTimeoutMs", 2_000L);
+        ReflectionTestUtils.setField(asyncClient, "requestTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(asyncClient, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(asyncClient, "circuitBreakerRegistry", CircuitBreakerRegistry.ofDefaults());
+        // Every login in flight at once, as on the blocking path, so the comparison measures threads and not the limit
+        ReflectionTestUtils.setField(asyncClient, "bulkheadRegistry", BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(LOGINS)
+                .build()));
+        ReflectionTestUtils.setField(asyncClient, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(asyncClient, "init");
+
+        UserCredentialService userCredentialService = new UserCredentialService();
+        ReflectionTestUtils.setField(userCredentialService, "identityServiceClient", new BlockingIdentityClient());
+        ReflectionTestUtils.setField(userCredentialService, "identityServiceAsyncClient", asyncClient);
+        ReflectionTestUtils.setField(userCredentialService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(userCredentialService, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(userCredentialService, "maxSize", 100L);
+        ReflectionTestUtils.invokeMethod(userCredentialService, "init");
+
+        LoginThrottleService loginThrottleService = new LoginThrottleService();
+        ReflectionTestUtils.setField(loginThrottleService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(loginThrottleService, "windowMs", 900_000L);
+        ReflectionTestUtils.setField(loginThrottleService, "maxFailuresPerPhone", 5);
+        ReflectionTestUtils.setField(loginThrottleService, "maxFailuresPerIp", 50);
+        ReflectionTestUtils.setField(loginThrottleService, "sketchWidth", 16_384);
+        ReflectionTestUtils.setField(loginThrottleService, "sketchDepth", 3);
+        ReflectionTestUtils.invokeMethod(loginThrottleService, "init");
+
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 900_000L);
+
+        RefreshTokenService refreshTokenService = new RefreshTokenService();
+        ReflectionTestUtils.setField(refreshTokenService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 1_209_600_000L);
+        ReflectionTestUtils.invokeMethod(refreshTokenService, "init");
+
+        TokenRevocationService tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(tokenRevocationService, "rabbitTemplate", mock(RabbitTemplate.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(tokenRevocationService, "init");
+
+        PhoneNumberNormalizer phoneNumberNormalizer = new PhoneNumberNormalizer();
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "cacheMaxSize", (long) LOGINS);
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "defaultRegion", "BR");
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(phoneNumberNormalizer, "init");
+
+        AuthService authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userCredentialService", userCredentialService);
+        ReflectionTestUtils.setField(authService, "passwordVerificationService", passwordVerificationService);
+        ReflectionTestUtils.setField(authService, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(authService, "refreshTokenService", refreshTokenService);
+        ReflectionTestUtils.setField(authService, "loginThrottleService", loginThrottleService);
+        ReflectionTestUtils.setField(authService, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(authService, "phoneNumberNormalizer", phoneNumberNormalizer);
+        return authService;
+    }
+
+    // Distinct phones so neither the credentials cache nor lookup coalescing hides the remote call
+    private static LoginRequestDTO loginRequest(int index) {
+        return new LoginRequestDTO(String.format("119%08d", index), PASSWORD);
+    }
+
+    private static String clientIp(int index) {
+        return "10.0." + (index / 256 % 256) + "." + (index % 256);
+    }
+
+    // Thread-per-request client, standing in for the Feign client used by the blocking path
+    private class BlockingIdentityClient implements IdentityServiceClient {
+
+        @Override
+        public InternalUserAuthDTO getUserAuthDetails(String phone) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) URI.create(identityUrl + "/internal/users/" + phone).toURL().openConnection();
+                connection.setRequestProperty("Accept", "application/json");
+                try (InputStream in = connection.getInputStream()) {
+                    return objectMapper.readValue(in, InternalUserAuthDTO.class);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void updatePasswordHash(UUID userId, InternalPasswordHashUpdateDTO passwordHashUpdate) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private record Result(int failures) {
+    }
+}
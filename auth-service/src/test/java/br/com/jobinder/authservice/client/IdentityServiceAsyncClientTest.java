@@ -0,0 +1,142 @@
+package br.com.jobinder.authservice.client;
+
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceException;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdentityServiceAsyncClientTest {
+
+    private final InternalUserAuthDTO userDTO = new InternalUserAuthDTO(
+            UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer identityService;
+    private IdentityServiceAsyncClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        identityService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        identityService.createContext("/api/v1/internal/users/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = status.get() == 200
+                    ? objectMapper.writeValueAsBytes(userDTO)
+                    : "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        identityService.start();
+
+        client = buildClient("http://127.0.0.1:" + identityService.getAddress().getPort() + "/api/v1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        identityService.stop(0);
+    }
+
+    private IdentityServiceAsyncClient buildClient(String url) {
+        var asyncClient = new IdentityServiceAsyncClient();
+        ReflectionTestUtils.setField(asyncClient, "identityServiceUrl", url);
+        ReflectionTestUtils.setField(asyncClient, "apiKeyHeader", "X-API-KEY");
+        ReflectionTestUtils.setField(asyncClient, "apiKeyValue", "test-key");
+        ReflectionTestUtils.setField(asyncClient, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(asyncClient, "requestTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(asyncClient, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(asyncClient, "circuitBreakerRegistry", circuitBreakerRegistry);
+        ReflectionTestUtils.setField(asyncClient, "bulkheadRegistry", BulkheadRegistry.ofDefaults());
+        ReflectionTestUtils.setField(asyncClient, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(asyncClient, "init");
+        return asyncClient;
+    }
+
+    @Test
+    @DisplayName("Should return the user's auth details when identity-service answers 200")
+    void getUserAuthDetails_WhenFound_ShouldReturnDTO() {
+        // When
+        InternalUserAuthDTO result = client.getUserAuthDetails("11999999999").join();
+
+        // Then
+        assertThat(result).isEqualTo(userDTO);
+    }
+
+    @Test
+    @DisplayName("Should report a 404 as a missing user without counting it against the circuit")
+    void getUserAuthDetails_WhenNotFound_ShouldThrowIdentityServiceException() {
+        // Given
+        status.set(404);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getUserAuthDetails("11999999999").join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(IdentityServiceException.class, e -> assertThat(e.getStatus()).isEqualTo(404));
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report a 5xx as identity-service unavailable and count it against the circuit")
+    void getUserAuthDetails_WhenServerError_ShouldThrowUnavailable() {
+        // Given
+        status.set(503);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getUserAuthDetails("11999999999").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IdentityServiceUnavailableException.class);
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a connection failure as identity-service unavailable")
+    void getUserAuthDetails_WhenUnreachable_ShouldThrowUnavailable() {
+        // Given
+        identityService.stop(0);
+
+        // When & Then
+        assertThatThrownBy(() -> client.getUserAuthDetails("11999999999").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IdentityServiceUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling identity-service while the shared circuit is open")
+    void getUserAuthDetails_WhenCircuitOpen_ShouldNotCallIdentityService() {
+        // Given (opened by failures of either login path)
+        circuitBreaker().transitionToOpenState();
+
+        // When & Then
+        assertThatThrownBy(() -> client.getUserAuthDetails("11999999999").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IdentityServiceUnavailableException.class);
+        assertThat(requests.get()).isZero();
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(IdentityServiceAsyncClient.RESILIENCE_INSTANCE);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.jobinder.authservice.client;
+
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdentityServiceClientFallbackFactoryTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "/internal/users/11999999999",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private final IdentityServiceClientFallbackFactory fallbackFactory = new IdentityServiceClientFallbackFactory();
+
+    @Test
+    @DisplayName("Should rethrow answers from identity-service unchanged")
+    void create_WithNotFoundResponse_ShouldRethrowIt() {
+        // Given
+        var notFound = new FeignException.NotFound("User not found", REQUEST, null, Map.of());
+
+        // When & Then
+        assertThatThrownBy(() -> fallbackFactory.create(notFound).getUserAuthDetails("11999999999"))
+                .isSameAs(notFound);
+    }
+
+    @Test
+    @DisplayName("Should report an open circuit as identity-service unavailable")
+    void create_WithOpenCircuit_ShouldThrowUnavailable() {
+        // Given
+        var openCircuit = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("identity"));
+
+        // When & Then
+        assertThatThrownBy(() -> fallbackFactory.create(openCircuit).getUserAuthDetails("11999999999"))
+                .isInstanceOf(IdentityServiceUnavailableException.class)
+                .hasCause(openCircuit);
+    }
+
+    @Test
+    @DisplayName("Should report I/O errors as identity-service unavailable")
+    void create_WithRetryableException_ShouldThrowUnavailable() {
+        // Given
+        var ioError = new RetryableException(-1, "Connection refused", Request.HttpMethod.GET, (Long) null, REQUEST);
+
+        // When & Then
+        assertThatThrownBy(() -> fallbackFactory.create(ioError).getUserAuthDetails("11999999999"))
+                .isInstanceOf(IdentityServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.jobinder.authservice.infra.phone;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhoneNumberNormalizerTest {
+
+    private final PhoneNumberNormalizer normalizer = new PhoneNumberNormalizer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(normalizer, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(normalizer, "defaultRegion", "BR");
+        ReflectionTestUtils.setField(normalizer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(normalizer, "init");
+    }
+
+    @Test
+    @DisplayName("Should give every spelling of the same number one canonical form")
+    void canonicalize_WithDifferentFormats_ShouldReturnSameE164() {
+        // When & Then
+        assertThat(normalizer.canonicalize("+55 11 99999-9999")).isEqualTo("+5511999999999");
+        assertThat(normalizer.canonicalize("(11) 99999-9999")).isEqualTo("+5511999999999");
+        assertThat(normalizer.canonicalize("11999999999")).isEqualTo("+5511999999999");
+    }
+
+    @Test
+    @DisplayName("Should keep E.164 input unchanged")
+    void canonicalize_WithE164_ShouldReturnInput() {
+        // When & Then
+        assertThat(normalizer.canonicalize("+5511999999999")).isEqualTo("+5511999999999");
+    }
+
+    @Test
+    @DisplayName("Should pass through input that is not a valid phone number")
+    void canonicalize_WithInvalidPhone_ShouldReturnInput() {
+        // When & Then
+        assertThat(normalizer.canonicalize("not-a-phone")).isEqualTo("not-a-phone");
+        assertThat(normalizer.canonicalize(null)).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.jobinder.authservice.infra.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientIpResolverTest {
+
+    // Where nginx connects from inside the compose network
+    private static final String GATEWAY_ADDRESS = "172.18.0.5";
+
+    private final ClientIpResolver resolver = new ClientIpResolver();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // The shipped setting, so a broken pattern in application.properties fails here
+        var properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        ReflectionTestUtils.setField(resolver, "trustedProxies", properties.getProperty("auth.login.trusted-proxies"));
+        ReflectionTestUtils.invokeMethod(resolver, "init");
+    }
+
+    @Test
+    @DisplayName("Should tell clients forwarded through the gateway apart by their own address")
+    void resolve_ThroughGateway_ShouldReturnForwardedClient() {
+        // Given
+        var first = forwarded("203.0.113.10");
+        var second = forwarded("198.51.100.7");
+
+        // When & Then
+        assertThat(resolver.resolve(first)).isEqualTo("203.0.113.10");
+        assertThat(resolver.resolve(second)).isEqualTo("198.51.100.7");
+    }
+
+    @Test
+    @DisplayName("Should ignore addresses a client prepends to X-Forwarded-For")
+    void resolve_WithForgedForwardedFor_ShouldReturnAddressSeenByGateway() {
+        // Given (nginx appends the address it saw to whatever the client sent)
+        var request = forwarded("10.0.0.1, 203.0.113.10");
+
+        // When & Then
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.10");
+    }
+
+    @Test
+    @DisplayName("Should not trust X-Forwarded-For on a connection that does not come from a proxy")
+    void resolve_FromUntrustedAddress_ShouldReturnRemoteAddress() {
+        // Given
+        var request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.10");
+        request.addHeader(ClientIpResolver.FORWARDED_FOR_HEADER, "198.51.100.7");
+
+        // When & Then
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.10");
+    }
+
+    private static MockHttpServletRequest forwarded(String forwardedFor) {
+        var request = new MockHttpServletRequest();
+        request.setRemoteAddr(GATEWAY_ADDRESS);
+        request.addHeader(ClientIpResolver.FORWARDED_FOR_HEADER, forwardedFor);
+        return request;
+    }
+}
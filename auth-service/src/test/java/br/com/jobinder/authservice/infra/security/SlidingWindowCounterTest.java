@@ -0,0 +1,83 @@
+package br.com.jobinder.authservice.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(10 * WINDOW_MS);
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(1024, 3, WINDOW_MS, clock::get);
+
+    @Test
+    @DisplayName("Should count events for a key within the current window")
+    void estimate_WithinWindow_ShouldReturnCount() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            counter.increment("+5511999999999");
+        }
+
+        // Then
+        assertThat(counter.estimate("+5511999999999")).isEqualTo(5.0);
+        assertThat(counter.estimate("+5511888888888")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window by how much of it still overlaps")
+    void estimate_AcrossWindows_ShouldDecayPreviousCount() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            counter.increment("203.0.113.10");
+        }
+
+        // When
+        clock.addAndGet(WINDOW_MS + WINDOW_MS / 4);
+
+        // Then
+        assertThat(counter.estimate("203.0.113.10")).isCloseTo(7.5, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should forget events older than two windows")
+    void estimate_AfterTwoWindows_ShouldBeZero() {
+        // Given
+        counter.increment("203.0.113.10");
+
+        // When
+        clock.addAndGet(2 * WINDOW_MS);
+
+        // Then
+        assertThat(counter.estimate("203.0.113.10")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never undercount when concurrent threads increment the same key")
+    void increment_Concurrently_ShouldNotLoseUpdates() throws Exception {
+        // Given
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    counter.increment("+5511999999999");
+                }
+            }));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(counter.estimate("+5511999999999")).isEqualTo(8000.0);
+    }
+}
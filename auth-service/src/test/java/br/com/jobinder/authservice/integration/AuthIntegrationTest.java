@@ -13,13 +13,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -43,12 +46,14 @@ class AuthIntegrationTest {
     void shouldLoginSuccessfully() throws Exception {
         // Given
         String phone = "11999999999";
+        // What auth-service asks identity-service for once the typed phone is canonicalized
+        String canonicalPhone = "+5511999999999";
         String rawPassword = "password123";
         String encodedPassword = passwordEncoder.encode(rawPassword);
 
         InternalUserAuthDTO mockUserFromIdentity = new InternalUserAuthDTO(
                 UUID.randomUUID(),
-                phone,
+                canonicalPhone,
                 encodedPassword,
                 "USER"
         );
@@ -56,16 +61,22 @@ class AuthIntegrationTest {
         LoginRequestDTO loginRequest = new LoginRequestDTO(phone, rawPassword);
 
         // Mocking
-        when(identityServiceClient.getUserAuthDetails(phone))
+        when(identityServiceClient.getUserAuthDetails(canonicalPhone))
                 .thenReturn(mockUserFromIdentity);
 
-        // When & Then
-        mockMvc.perform(post("/api/v1/auth/login")
+        // When
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(loginResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
-                .andExpect(jsonPath("$.type").value("Bearer"));
+                .andExpect(jsonPath("$.type").value("Bearer"))
+                .andExpect(jsonPath("$.refreshToken").exists());
     }
 
     @Test
@@ -73,11 +84,13 @@ class AuthIntegrationTest {
     void shouldFailLoginWithInvalidPassword() throws Exception {
         // Given
         String phone = "11999999999";
+        // What auth-service asks identity-service for once the typed phone is canonicalized
+        String canonicalPhone = "+5511999999999";
         String correctPasswordEncoded = passwordEncoder.encode("correctPassword");
 
         InternalUserAuthDTO mockUserFromIdentity = new InternalUserAuthDTO(
                 UUID.randomUUID(),
-                phone,
+                canonicalPhone,
                 correctPasswordEncoded,
                 "USER"
         );
@@ -85,7 +98,7 @@ class AuthIntegrationTest {
         LoginRequestDTO loginRequest = new LoginRequestDTO(phone, "wrongPassword");
 
         // Mocking
-        when(identityServiceClient.getUserAuthDetails(phone))
+        when(identityServiceClient.getUserAuthDetails(canonicalPhone))
                 .thenReturn(mockUserFromIdentity);
 
         // When & Then
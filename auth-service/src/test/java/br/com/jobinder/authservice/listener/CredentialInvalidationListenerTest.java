@@ -0,0 +1,134 @@
+package br.com.jobinder.authservice.listener;
+
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.dto.UserCredentialsChangedEvent;
+import br.com.jobinder.authservice.dto.TokenRevokedEvent;
+import br.com.jobinder.authservice.infra.exception.InvalidRefreshTokenException;
+import br.com.jobinder.authservice.infra.security.JwtTokenProvider;
+import br.com.jobinder.authservice.service.RefreshTokenService;
+import br.com.jobinder.authservice.service.TokenRevocationService;
+import br.com.jobinder.authservice.service.UserCredentialService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CredentialInvalidationListenerTest {
+
+    private final UserCredentialService userCredentialService = mock(UserCredentialService.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final InternalUserAuthDTO userDTO = new InternalUserAuthDTO(
+            UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+
+    private JwtTokenProvider tokenProvider;
+    private RefreshTokenService refreshTokenService;
+    private TokenRevocationService tokenRevocationService;
+    private CredentialInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService();
+        ReflectionTestUtils.setField(refreshTokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(refreshTokenService, "init");
+
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "a-test-secret-that-is-long-enough-for-hmac-sha-256");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000L);
+
+        tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(tokenRevocationService, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(tokenRevocationService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenRevokedExchange", "x.token-revoked");
+        ReflectionTestUtils.invokeMethod(tokenRevocationService, "init");
+
+        listener = new CredentialInvalidationListener();
+        ReflectionTestUtils.setField(listener, "userCredentialService", userCredentialService);
+        ReflectionTestUtils.setField(listener, "refreshTokenService", refreshTokenService);
+        ReflectionTestUtils.setField(listener, "tokenRevocationService", tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Should only evict cached credentials when the hash was upgraded on login")
+    void onUserCredentialsChanged_WhenHashUpgraded_ShouldKeepRefreshTokens() {
+        // Given
+        String refreshToken = refreshTokenService.issue(userDTO);
+
+        // When
+        listener.onUserCredentialsChanged(new UserCredentialsChangedEvent(
+                userDTO.id(), UserCredentialsChangedEvent.Reason.HASH_UPGRADED));
+
+        // Then
+        assertThat(refreshTokenService.consume(refreshToken).id()).isEqualTo(userDTO.id());
+
+        // Verify
+        verify(userCredentialService).evictUser(userDTO.id());
+    }
+
+    @Test
+    @DisplayName("Should revoke every refresh token of a user whose password changed")
+    void onUserCredentialsChanged_WhenPasswordChanged_ShouldRevokeRefreshTokens() {
+        // Given
+        String refreshToken = refreshTokenService.issue(userDTO);
+
+        // When
+        listener.onUserCredentialsChanged(new UserCredentialsChangedEvent(
+                userDTO.id(), UserCredentialsChangedEvent.Reason.PASSWORD_CHANGED));
+
+        // Then
+        assertThatThrownBy(() -> refreshTokenService.consume(refreshToken))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        // Verify
+        verify(userCredentialService).evictUser(userDTO.id());
+    }
+
+    @Test
+    @DisplayName("Should keep the session of a login that upgraded the hash valid")
+    void onUserCredentialsChanged_WhenHashUpgradedOnLogin_ShouldKeepSessionValid() {
+        // Given (the session login issues before asking identity-service to store the new hash)
+        String accessToken = tokenProvider.generateToken(userDTO);
+        tokenRevocationService.track(accessToken);
+        String refreshToken = refreshTokenService.issue(userDTO);
+
+        // When
+        listener.onUserCredentialsChanged(new UserCredentialsChangedEvent(
+                userDTO.id(), UserCredentialsChangedEvent.Reason.HASH_UPGRADED));
+
+        // Then
+        assertThat(refreshTokenService.consume(refreshToken).id()).isEqualTo(userDTO.id());
+
+        // Verify (no revocation is broadcast for the access token)
+        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should broadcast the revocation of the access tokens of a user whose password changed")
+    void onUserCredentialsChanged_WhenPasswordChanged_ShouldRevokeAccessTokens() {
+        // Given
+        String accessToken = tokenProvider.generateToken(userDTO);
+        tokenRevocationService.track(accessToken);
+        var issued = tokenProvider.readIssuedToken(accessToken).orElseThrow();
+
+        // When
+        listener.onUserCredentialsChanged(new UserCredentialsChangedEvent(
+                userDTO.id(), UserCredentialsChangedEvent.Reason.PASSWORD_CHANGED));
+
+        // Verify
+        verify(rabbitTemplate).convertAndSend(eq("x.token-revoked"), eq(""),
+                eq(new TokenRevokedEvent(issued.jti(), issued.expiresAtMillis())));
+    }
+}
@@ -1,20 +1,28 @@
 package br.com.jobinder.authservice.service;
 
-import br.com.jobinder.authservice.client.IdentityServiceClient;
 import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
 import br.com.jobinder.authservice.dto.LoginRequestDTO;
 import br.com.jobinder.authservice.dto.LoginResponseDTO;
+import br.com.jobinder.authservice.dto.RefreshTokenRequestDTO;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceException;
+import br.com.jobinder.authservice.infra.exception.IdentityServiceUnavailableException;
 import br.com.jobinder.authservice.infra.exception.InvalidCredentialsException;
+import br.com.jobinder.authservice.infra.exception.InvalidRefreshTokenException;
+import br.com.jobinder.authservice.infra.exception.TooManyLoginAttemptsException;
+import br.com.jobinder.authservice.infra.exception.UserNotFoundException;
+import br.com.jobinder.authservice.infra.phone.PhoneNumberNormalizer;
 import br.com.jobinder.authservice.infra.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -23,18 +31,39 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.10";
+
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerificationService passwordVerificationService;
 
     @Mock
-    private IdentityServiceClient identityServiceClient;
+    private UserCredentialService userCredentialService;
 
     @Mock
     private JwtTokenProvider tokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private PhoneNumberNormalizer phoneNumberNormalizer;
+
     @InjectMocks
     private AuthService authService;
 
+    @BeforeEach
+    void setUp() {
+        // Phones in these tests are already canonical unless a test says otherwise
+        lenient().when(phoneNumberNormalizer.canonicalize(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     @DisplayName("Should return LoginResponseDTO when credentials are valid")
     void login_WithValidCredentials_ShouldReturnDTO() {
@@ -52,26 +81,32 @@ class AuthServiceTest {
         var fakeToken = "fake.jwt.token";
 
         // Mocking
-        when(identityServiceClient.getUserAuthDetails("11999999999"))
+        when(userCredentialService.getUserAuthDetails("11999999999"))
                 .thenReturn(userDTO);
-        when(passwordEncoder.matches("password123", "$2a$10$hashedPasswordValue"))
+        when(passwordVerificationService.matches("password123", "$2a$10$hashedPasswordValue"))
                 .thenReturn(true);
         when(tokenProvider.generateToken(userDTO))
                 .thenReturn(fakeToken);
+        when(refreshTokenService.issue(userDTO))
+                .thenReturn("fake-refresh-token");
 
         // When
-        LoginResponseDTO response = authService.login(loginRequest);
+        LoginResponseDTO response = authService.login(loginRequest, CLIENT_IP);
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.token()).isEqualTo(fakeToken);
         assertThat(response.type()).isEqualTo("Bearer");
+        assertThat(response.refreshToken()).isEqualTo("fake-refresh-token");
+        verify(tokenRevocationService).track(fakeToken);
 
         // Verify
-        verify(identityServiceClient, times(1))
+        verify(userCredentialService, times(1))
                 .getUserAuthDetails("11999999999");
-        verify(passwordEncoder, times(1))
+        verify(passwordVerificationService, times(1))
                 .matches("password123", "$2a$10$hashedPasswordValue");
+        verify(passwordVerificationService, times(1))
+                .rehashIfNeeded(userDTO, "password123");
         verify(tokenProvider, times(1))
                 .generateToken(userDTO);
     }
@@ -85,21 +120,52 @@ class AuthServiceTest {
         var userDTO = new InternalUserAuthDTO(userId, "11999999999", "$2a$10$hashedPasswordValue", "USER");
 
         // Mocking
-        when(identityServiceClient.getUserAuthDetails("11999999999"))
+        when(userCredentialService.getUserAuthDetails("11999999999"))
                 .thenReturn(userDTO);
-        when(passwordEncoder.matches("wrongPassword", "$2a$10$hashedPasswordValue"))
+        when(passwordVerificationService.matches("wrongPassword", "$2a$10$hashedPasswordValue"))
                 .thenReturn(false);
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid phone number or password.");
 
         // Verify
+        verify(loginThrottleService, times(1))
+                .recordFailure("11999999999", CLIENT_IP);
         verify(tokenProvider, never())
                 .generateToken(any());
     }
 
+    @Test
+    @DisplayName("Should throttle and look up credentials by the canonical phone however it was typed")
+    void login_WithFormattedPhone_ShouldUseCanonicalPhone() {
+        // Given
+        var userId = UUID.randomUUID();
+        var loginRequest = new LoginRequestDTO("(11) 99999-9999", "wrongPassword");
+        var userDTO = new InternalUserAuthDTO(userId, "+5511999999999", "$2a$10$hashedPasswordValue", "USER");
+
+        // Mocking
+        when(phoneNumberNormalizer.canonicalize("(11) 99999-9999"))
+                .thenReturn("+5511999999999");
+        when(userCredentialService.getUserAuthDetails("+5511999999999"))
+                .thenReturn(userDTO);
+        when(passwordVerificationService.matches("wrongPassword", "$2a$10$hashedPasswordValue"))
+                .thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        // Verify
+        verify(loginThrottleService, times(1))
+                .checkAllowed("+5511999999999", CLIENT_IP);
+        verify(loginThrottleService, times(1))
+                .recordFailure("+5511999999999", CLIENT_IP);
+        verify(userCredentialService, never())
+                .getUserAuthDetails("(11) 99999-9999");
+    }
+
     @Test
     @DisplayName("Should throw exception when the user is not found")
     void login_WithNonExistentUser_ShouldThrowException() {
@@ -109,18 +175,213 @@ class AuthServiceTest {
                 "password123"
         );
 
-        when(identityServiceClient.getUserAuthDetails("nonexistentPhone"))
+        when(userCredentialService.getUserAuthDetails("nonexistentPhone"))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("User not found");
 
         // Verify
-        verify(passwordEncoder, never())
+        verify(passwordVerificationService, never())
                 .matches(any(), any());
         verify(tokenProvider, never())
                 .generateToken(any());
     }
+
+    @Test
+    @DisplayName("Should issue a new token pair from a refresh token without contacting identity-service")
+    void refresh_WithValidRefreshToken_ShouldReturnNewTokens() {
+        // Given
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", null, "USER");
+        var refreshRequest = new RefreshTokenRequestDTO("old-refresh-token");
+
+        // Mocking
+        when(refreshTokenService.consume("old-refresh-token"))
+                .thenReturn(userDTO);
+        when(tokenProvider.generateToken(userDTO))
+                .thenReturn("new.jwt.token");
+        when(refreshTokenService.issue(userDTO))
+                .thenReturn("new-refresh-token");
+
+        // When
+        LoginResponseDTO response = authService.refresh(refreshRequest);
+
+        // Then
+        assertThat(response.token()).isEqualTo("new.jwt.token");
+        assertThat(response.refreshToken()).isEqualTo("new-refresh-token");
+
+        // Verify
+        verifyNoInteractions(userCredentialService, passwordVerificationService);
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidRefreshTokenException when the refresh token is rejected")
+    void refresh_WithInvalidRefreshToken_ShouldThrowException() {
+        // Given
+        var refreshRequest = new RefreshTokenRequestDTO("unknown-refresh-token");
+
+        // Mocking
+        when(refreshTokenService.consume("unknown-refresh-token"))
+                .thenThrow(new InvalidRefreshTokenException("Invalid or expired refresh token."));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh(refreshRequest))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        // Verify
+        verify(tokenProvider, never())
+                .generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a throttled login before looking up the user or checking the password")
+    void login_WhenThrottled_ShouldThrowBeforeAnyWork() {
+        // Given
+        var loginRequest = new LoginRequestDTO("11999999999", "password123");
+
+        // Mocking
+        doThrow(new TooManyLoginAttemptsException("Too many failed login attempts for this phone number. Please try again later.", 900))
+                .when(loginThrottleService).checkAllowed("11999999999", CLIENT_IP);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        // Verify
+        verifyNoInteractions(userCredentialService, passwordVerificationService, tokenProvider);
+    }
+
+    @Test
+    @DisplayName("Should revoke both the refresh token and the current access token on logout")
+    void logout_WithAccessToken_ShouldRevokeBoth() {
+        // Given
+        var logoutRequest = new RefreshTokenRequestDTO("refresh-token");
+
+        // When
+        authService.logout(logoutRequest, "current.jwt.token");
+
+        // Verify
+        verify(refreshTokenService).revoke("refresh-token");
+        verify(tokenRevocationService).revoke("current.jwt.token");
+    }
+
+    @Test
+    @DisplayName("Should complete with LoginResponseDTO when credentials are valid on the async path")
+    void loginAsync_WithValidCredentials_ShouldCompleteWithDTO() {
+        // Given
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+        var loginRequest = new LoginRequestDTO("11999999999", "password123");
+
+        // Mocking
+        when(userCredentialService.getUserAuthDetailsAsync("11999999999"))
+                .thenReturn(CompletableFuture.completedFuture(userDTO));
+        when(passwordVerificationService.matchesAsync("password123", "$2a$10$hashedPasswordValue"))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(tokenProvider.generateToken(userDTO))
+                .thenReturn("fake.jwt.token");
+
+        // When
+        LoginResponseDTO response = authService.loginAsync(loginRequest, CLIENT_IP).join();
+
+        // Then
+        assertThat(response.token()).isEqualTo("fake.jwt.token");
+        assertThat(response.type()).isEqualTo("Bearer");
+
+        // Verify
+        verify(passwordVerificationService, times(1))
+                .rehashIfNeeded(userDTO, "password123");
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally with InvalidCredentialsException on the async path")
+    void loginAsync_WithIncorrectPassword_ShouldFail() {
+        // Given
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+        var loginRequest = new LoginRequestDTO("11999999999", "wrongPassword");
+
+        // Mocking
+        when(userCredentialService.getUserAuthDetailsAsync("11999999999"))
+                .thenReturn(CompletableFuture.completedFuture(userDTO));
+        when(passwordVerificationService.matchesAsync("wrongPassword", "$2a$10$hashedPasswordValue"))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.loginAsync(loginRequest, CLIENT_IP).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidCredentialsException.class);
+
+        // Verify
+        verify(loginThrottleService, times(1))
+                .recordFailure("11999999999", CLIENT_IP);
+        verify(tokenProvider, never())
+                .generateToken(any());
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally with UserNotFoundException when identity-service returns 404 on the async path")
+    void loginAsync_WithNonExistentUser_ShouldFail() {
+        // Given
+        var loginRequest = new LoginRequestDTO("nonexistentPhone", "password123");
+
+        // Mocking
+        when(userCredentialService.getUserAuthDetailsAsync("nonexistentPhone"))
+                .thenReturn(CompletableFuture.failedFuture(new IdentityServiceException(404, "Identity service responded with status 404")));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.loginAsync(loginRequest, CLIENT_IP).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UserNotFoundException.class);
+
+        // Verify
+        verify(loginThrottleService, times(1))
+                .recordFailure("nonexistentPhone", CLIENT_IP);
+        verify(passwordVerificationService, never())
+                .matchesAsync(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail fast without counting a failed attempt when identity-service is unavailable")
+    void login_WhenIdentityServiceUnavailable_ShouldThrowUnavailable() {
+        // Given
+        var loginRequest = new LoginRequestDTO("11999999999", "password123");
+
+        // Mocking
+        when(userCredentialService.getUserAuthDetails("11999999999"))
+                .thenThrow(new IdentityServiceUnavailableException("Identity service is unavailable, please try again later.", null));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(IdentityServiceUnavailableException.class);
+
+        // Verify
+        verify(loginThrottleService, never())
+                .recordFailure(any(), any());
+        verify(passwordVerificationService, never())
+                .matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail with unavailable without counting a failed attempt when identity-service is down on the async path")
+    void loginAsync_WhenIdentityServiceUnavailable_ShouldFailUnavailable() {
+        // Given
+        var loginRequest = new LoginRequestDTO("11999999999", "password123");
+
+        // Mocking
+        when(userCredentialService.getUserAuthDetailsAsync("11999999999"))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new IdentityServiceUnavailableException("Identity service is unavailable, please try again later.", null)));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.loginAsync(loginRequest, CLIENT_IP).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IdentityServiceUnavailableException.class);
+
+        // Verify
+        verify(loginThrottleService, never())
+                .recordFailure(any(), any());
+        verify(passwordVerificationService, never())
+                .matchesAsync(any(), any());
+    }
 }
@@ -0,0 +1,147 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.client.IdentityServiceClient;
+import br.com.jobinder.authservice.dto.InternalPasswordHashUpdateDTO;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.PasswordVerificationUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PasswordVerificationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdentityServiceClient identityServiceClient = mock(IdentityServiceClient.class);
+
+    private PasswordVerificationService service;
+
+    private PasswordVerificationService buildService(PasswordEncoder encoder, int poolSize, int queueCapacity, boolean rehashOnLogin) {
+        PasswordVerificationService verificationService = new PasswordVerificationService();
+        ReflectionTestUtils.setField(verificationService, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(verificationService, "identityServiceClient", identityServiceClient);
+        ReflectionTestUtils.setField(verificationService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(verificationService, "poolSize", poolSize);
+        ReflectionTestUtils.setField(verificationService, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(verificationService, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(verificationService, "rehashOnLogin", rehashOnLogin);
+        ReflectionTestUtils.invokeMethod(verificationService, "init");
+        return verificationService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            ReflectionTestUtils.invokeMethod(service, "shutdown");
+        }
+    }
+
+    @Test
+    @DisplayName("Should verify passwords on the dedicated pool")
+    void matches_WithCorrectAndWrongPassword_ShouldReturnResult() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        service = buildService(encoder, 2, 10, false);
+        String hash = encoder.encode("password123");
+
+        // When & Then
+        assertThat(service.matches("password123", hash)).isTrue();
+        assertThat(service.matches("wrongPassword", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject verification when the pool and its queue are full")
+    void matches_WhenPoolIsSaturated_ShouldThrowUnavailable() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        service = buildService(blockingEncoder, 1, 1, false);
+
+        // Occupy the single worker and the single queue slot
+        Thread first = new Thread(() -> service.matches("a", "hash"));
+        Thread second = new Thread(() -> service.matches("b", "hash"));
+        first.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        second.start();
+        while (meterRegistry.get("auth.password.verification.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> service.matches("c", "hash"))
+                .isInstanceOf(PasswordVerificationUnavailableException.class);
+        assertThat(meterRegistry.get("auth.password.verification.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        first.join();
+        second.join();
+    }
+
+    @Test
+    @DisplayName("Should upgrade a weaker hash when rehash on login is enabled")
+    void rehashIfNeeded_WithWeakerHash_ShouldSendNewHashToIdentity() {
+        // Given
+        var userId = UUID.randomUUID();
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        var userDTO = new InternalUserAuthDTO(userId, "11999999999", weakHash, "USER");
+        service = buildService(new BCryptPasswordEncoder(5), 1, 10, true);
+
+        // When
+        service.rehashIfNeeded(userDTO, "password123");
+
+        // Verify
+        verify(identityServiceClient, timeout(5000))
+                .updatePasswordHash(eq(userId), argThat((InternalPasswordHashUpdateDTO update) ->
+                        update.currentHashedPassword().equals(weakHash)
+                                && update.newHashedPassword().startsWith("$2a$05$")));
+    }
+
+    @Test
+    @DisplayName("Should not upgrade hashes when rehash on login is disabled")
+    void rehashIfNeeded_WhenDisabled_ShouldDoNothing() {
+        // Given
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", weakHash, "USER");
+        service = buildService(new BCryptPasswordEncoder(5), 1, 10, false);
+
+        // When
+        service.rehashIfNeeded(userDTO, "password123");
+
+        // Verify
+        verifyNoInteractions(identityServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should verify passwords without blocking the caller")
+    void matchesAsync_WithCorrectPassword_ShouldCompleteTrue() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        service = buildService(encoder, 1, 10, false);
+        String hash = encoder.encode("password123");
+
+        // When & Then
+        assertThat(service.matchesAsync("password123", hash).join()).isTrue();
+        assertThat(service.matchesAsync("wrongPassword", hash).join()).isFalse();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import br.com.jobinder.authservice.infra.exception.InvalidRefreshTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InternalUserAuthDTO userDTO = new InternalUserAuthDTO(
+            UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+
+    private RefreshTokenService refreshTokenService;
+
+    private RefreshTokenService buildService(long refreshExpirationMs) {
+        RefreshTokenService service = new RefreshTokenService();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "refreshExpirationMs", refreshExpirationMs);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = buildService(60_000);
+    }
+
+    @Test
+    @DisplayName("Should return the user's claims without the password hash when consuming a valid token")
+    void consume_WithValidToken_ShouldReturnUser() {
+        // Given
+        String refreshToken = refreshTokenService.issue(userDTO);
+
+        // When
+        InternalUserAuthDTO result = refreshTokenService.consume(refreshToken);
+
+        // Then
+        assertThat(result.id()).isEqualTo(userDTO.id());
+        assertThat(result.phone()).isEqualTo(userDTO.phone());
+        assertThat(result.role()).isEqualTo(userDTO.role());
+        assertThat(result.hashedPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token that was already used")
+    void consume_WithReusedToken_ShouldThrowException() {
+        // Given
+        String refreshToken = refreshTokenService.issue(userDTO);
+        refreshTokenService.consume(refreshToken);
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.consume(refreshToken))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(meterRegistry.get("auth.refresh-tokens.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject and sweep expired refresh tokens")
+    void consume_WithExpiredToken_ShouldThrowException() {
+        // Given
+        RefreshTokenService expiringService = buildService(-1);
+        String refreshToken = expiringService.issue(userDTO);
+        expiringService.issue(userDTO);
+
+        // When & Then
+        assertThatThrownBy(() -> expiringService.consume(refreshToken))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        expiringService.sweepExpired();
+        assertThat(meterRegistry.get("auth.refresh-tokens.active").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should revoke every refresh token of a user when their credentials change")
+    void revokeAllForUser_ShouldInvalidateTokens() {
+        // Given
+        String first = refreshTokenService.issue(userDTO);
+        String second = refreshTokenService.issue(userDTO);
+
+        // When
+        refreshTokenService.revokeAllForUser(userDTO.id());
+
+        // Then
+        assertThatThrownBy(() -> refreshTokenService.consume(first))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.consume(second))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+}
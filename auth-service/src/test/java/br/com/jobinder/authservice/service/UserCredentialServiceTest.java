@@ -0,0 +1,216 @@
+package br.com.jobinder.authservice.service;
+
+import br.com.jobinder.authservice.client.IdentityServiceAsyncClient;
+import br.com.jobinder.authservice.client.IdentityServiceClient;
+import br.com.jobinder.authservice.dto.InternalUserAuthDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class UserCredentialServiceTest {
+
+    private final IdentityServiceClient identityServiceClient = mock(IdentityServiceClient.class);
+    private final IdentityServiceAsyncClient identityServiceAsyncClient = mock(IdentityServiceAsyncClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserCredentialService userCredentialService;
+
+    @BeforeEach
+    void setUp() {
+        userCredentialService = new UserCredentialService();
+        ReflectionTestUtils.setField(userCredentialService, "identityServiceClient", identityServiceClient);
+        ReflectionTestUtils.setField(userCredentialService, "identityServiceAsyncClient", identityServiceAsyncClient);
+        ReflectionTestUtils.setField(userCredentialService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(userCredentialService, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(userCredentialService, "maxSize", 100L);
+        ReflectionTestUtils.invokeMethod(userCredentialService, "init");
+    }
+
+    @Test
+    @DisplayName("Should call identity-service only once for a returning user")
+    void getUserAuthDetails_WhenCalledTwice_ShouldUseCache() {
+        // Given
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+
+        // Mocking
+        when(identityServiceClient.getUserAuthDetails("11999999999"))
+                .thenReturn(userDTO);
+
+        // When
+        var first = userCredentialService.getUserAuthDetails("11999999999");
+        var second = userCredentialService.getUserAuthDetails("11999999999");
+
+        // Then
+        assertThat(first).isEqualTo(userDTO);
+        assertThat(second).isEqualTo(userDTO);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "auth.user-credentials").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+
+        // Verify
+        verify(identityServiceClient, times(1))
+                .getUserAuthDetails("11999999999");
+    }
+
+    @Test
+    @DisplayName("Should reload credentials from identity-service after the user is evicted")
+    void evictUser_ShouldForceReload() {
+        // Given
+        var userId = UUID.randomUUID();
+        var oldDTO = new InternalUserAuthDTO(userId, "11999999999", "$2a$10$oldHash", "USER");
+        var newDTO = new InternalUserAuthDTO(userId, "11999999999", "$2a$10$newHash", "USER");
+
+        // Mocking
+        when(identityServiceClient.getUserAuthDetails("11999999999"))
+                .thenReturn(oldDTO)
+                .thenReturn(newDTO);
+
+        // When
+        userCredentialService.getUserAuthDetails("11999999999");
+        userCredentialService.evictUser(userId);
+        var result = userCredentialService.getUserAuthDetails("11999999999");
+
+        // Then
+        assertThat(result.hashedPassword()).isEqualTo("$2a$10$newHash");
+
+        // Verify
+        verify(identityServiceClient, times(2))
+                .getUserAuthDetails("11999999999");
+    }
+
+    @Test
+    @DisplayName("Should not cache a value loaded while an invalidation was being processed")
+    void getUserAuthDetails_WhenEvictedDuringLoad_ShouldNotCacheStaleValue() {
+        // Given
+        var userId = UUID.randomUUID();
+        var staleDTO = new InternalUserAuthDTO(userId, "11999999999", "$2a$10$oldHash", "USER");
+
+        // Mocking
+        when(identityServiceClient.getUserAuthDetails("11999999999"))
+                .thenAnswer(invocation -> {
+                    userCredentialService.evictUser(userId);
+                    return staleDTO;
+                });
+
+        // When
+        userCredentialService.getUserAuthDetails("11999999999");
+        userCredentialService.getUserAuthDetails("11999999999");
+
+        // Verify
+        verify(identityServiceClient, times(2))
+                .getUserAuthDetails("11999999999");
+    }
+
+    @Test
+    @DisplayName("Should share one identity lookup between concurrent logins for the same phone")
+    void getUserAuthDetails_WithConcurrentMisses_ShouldCoalesceLookups() throws Exception {
+        // Given
+        int concurrentLogins = 8;
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Mocking
+        when(identityServiceClient.getUserAuthDetails("11999999999"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return userDTO;
+                });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(concurrentLogins);
+        List<Future<InternalUserAuthDTO>> results = new ArrayList<>();
+        for (int i = 0; i < concurrentLogins; i++) {
+            results.add(executor.submit(() -> userCredentialService.getUserAuthDetails("11999999999")));
+        }
+        while (meterRegistry.get("auth.identity.lookups").tag("role", "coalesced").counter().count() < concurrentLogins - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        for (Future<InternalUserAuthDTO> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(userDTO);
+        }
+        assertThat(meterRegistry.get("auth.identity.lookups").tag("role", "leader").counter().count()).isEqualTo(1.0);
+        executor.shutdown();
+
+        // Verify
+        verify(identityServiceClient, times(1))
+                .getUserAuthDetails("11999999999");
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's failure to every coalesced caller")
+    void getUserAuthDetails_WhenLookupFails_ShouldFailAllWaiters() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Mocking
+        when(identityServiceClient.getUserAuthDetails("nonexistentPhone"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new RuntimeException("User not found");
+                });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<InternalUserAuthDTO> leader = executor.submit(() -> userCredentialService.getUserAuthDetails("nonexistentPhone"));
+        Future<InternalUserAuthDTO> follower = executor.submit(() -> userCredentialService.getUserAuthDetails("nonexistentPhone"));
+        while (meterRegistry.get("auth.identity.lookups").tag("role", "coalesced").counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("User not found");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("User not found");
+        executor.shutdown();
+
+        // Verify
+        verify(identityServiceClient, times(1))
+                .getUserAuthDetails("nonexistentPhone");
+    }
+
+    @Test
+    @DisplayName("Should share pending lookups and the cache between async callers")
+    void getUserAuthDetailsAsync_WhenCalledConcurrently_ShouldCallIdentityOnce() {
+        // Given
+        var userDTO = new InternalUserAuthDTO(UUID.randomUUID(), "11999999999", "$2a$10$hashedPasswordValue", "USER");
+        CompletableFuture<InternalUserAuthDTO> response = new CompletableFuture<>();
+
+        // Mocking
+        when(identityServiceAsyncClient.getUserAuthDetails("11999999999"))
+                .thenReturn(response);
+
+        // When
+        var first = userCredentialService.getUserAuthDetailsAsync("11999999999");
+        var second = userCredentialService.getUserAuthDetailsAsync("11999999999");
+        response.complete(userDTO);
+        var cached = userCredentialService.getUserAuthDetails("11999999999");
+
+        // Then
+        assertThat(first.join()).isEqualTo(userDTO);
+        assertThat(second.join()).isEqualTo(userDTO);
+        assertThat(cached).isEqualTo(userDTO);
+
+        // Verify
+        verify(identityServiceAsyncClient, times(1))
+                .getUserAuthDetails("11999999999");
+        verifyNoInteractions(identityServiceClient);
+    }
+}
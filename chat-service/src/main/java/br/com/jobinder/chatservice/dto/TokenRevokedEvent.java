@@ -0,0 +1,8 @@
+package br.com.jobinder.chatservice.dto;
+
+import java.io.Serializable;
+
+public record TokenRevokedEvent(
+        String jti,
+        long expiresAtMillis
+) implements Serializable {}
@@ -1,11 +1,37 @@
 package br.com.jobinder.chatservice.infra.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+
+    @Value("${rabbitmq.exchanges.token-revoked}")
+    private String tokenRevokedExchange;
+
+    @Bean
+    public FanoutExchange tokenRevokedExchange() {
+        return new FanoutExchange(tokenRevokedExchange, true, false);
+    }
+
+    // Each instance keeps its own revocation list, so each one needs its own queue
+    @Bean
+    public Queue tokenRevokedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding tokenRevokedBinding(Queue tokenRevokedQueue, FanoutExchange tokenRevokedExchange) {
+        return BindingBuilder.bind(tokenRevokedQueue).to(tokenRevokedExchange);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -1,9 +1,6 @@
 package br.com.jobinder.chatservice.infra.config;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -12,15 +9,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class WebSocketAuthInterceptor implements HandshakeInterceptor {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    @Autowired
+    private JwtVerifier jwtVerifier;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, Map<String, Object> attributes) throws Exception {
@@ -37,22 +33,16 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
             return false;
         }
 
-        try {
-            // Check the token's validity
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
-
-            // Extract user information from the token
-            String userId = claims.getSubject();
-
-            // Store user information in the WebSocket session attributes
-            attributes.put("userId", userId);
-            return true;
-
-        } catch (Exception e) {
+        // Check the token's validity
+        Optional<VerifiedToken> verifiedToken = jwtVerifier.verify(token);
+        if (verifiedToken.isEmpty()) {
             response.setStatusCode(HttpStatus.UNAUTHORIZED);
             return false;
         }
+
+        // Store user information in the WebSocket session attributes
+        attributes.put("userId", verifiedToken.get().subject());
+        return true;
     }
 
     @Override
@@ -1,6 +1,9 @@
 package br.com.jobinder.identityservice.controller;
 
+import br.com.jobinder.identityservice.dto.internal.InternalPasswordHashUpdateDTO;
 import br.com.jobinder.identityservice.dto.internal.InternalUserAuthDTO;
+import br.com.jobinder.identityservice.dto.internal.InternalUserBatchRequestDTO;
+import br.com.jobinder.identityservice.dto.internal.InternalUserBatchResponseDTO;
 import br.com.jobinder.identityservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,13 +12,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/internal/users")
 @Tag(name = "Internal", description = "Endpoints for internal service-to-service communication. NOT FOR PUBLIC USE.")
@@ -44,4 +53,50 @@ public class InternalController {
         var userDetails = userService.findAuthDetailsByPhone(phone);
         return ResponseEntity.ok(userDetails);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Upgrade User Password Hash",
+            description = "Replaces a user's password hash with one re-encoded at a higher BCrypt strength. " +
+                    "The update only applies if the current hash still matches, so a concurrent password change always wins. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Auth-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Hash upgraded, or ignored because it was stale",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid request body",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found with the provided ID",
+                    content = @Content)
+    })
+    @PutMapping("/{userId}/password-hash")
+    public ResponseEntity<Void> updatePasswordHash(@PathVariable UUID userId,
+                                                   @RequestBody @Valid InternalPasswordHashUpdateDTO hashUpdateDTO) {
+        userService.updatePasswordHash(userId, hashUpdateDTO);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Get Users by ID in Batch",
+            description = "Retrieves the public details (ID, phone, first and last name) of up to " + InternalUserBatchRequestDTO.MAX_USER_IDS +
+                    " users in a single query. Users are returned in request order and IDs without a user are listed in missingIds. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Matching-Service, Chat-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed; some IDs may be reported as missing",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = InternalUserBatchResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty list, null ID or more IDs than allowed",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<InternalUserBatchResponseDTO> getUsersByIds(@RequestBody @Valid InternalUserBatchRequestDTO batchRequestDTO) {
+        var users = userService.findUsersByIds(batchRequestDTO.userIds());
+        return ResponseEntity.ok(users);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.jobinder.identityservice.controller;
+
+import br.com.jobinder.identityservice.dto.internal.InternalProfileFeaturesDTO;
+import br.com.jobinder.identityservice.dto.internal.InternalProfileReviewDTO;
+import br.com.jobinder.identityservice.service.ProfileStatsService;
+import br.com.jobinder.identityservice.service.ServiceProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/internal/service-profiles")
+@Tag(name = "Internal", description = "Endpoints for internal service-to-service communication. NOT FOR PUBLIC USE.")
+public class InternalServiceProfileController {
+
+    @Autowired
+    private ProfileStatsService profileStatsService;
+
+    @Autowired
+    private ServiceProfileService serviceProfileService;
+
+    @Operation(summary = "List Professional User IDs",
+            description = "Returns the user IDs of professionals in ascending order, starting after 'afterUserId' " +
+                    "(from the first one when omitted). An empty list means the end was reached. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Matching-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of user IDs retrieved successfully",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content)
+    })
+    @GetMapping("/user-ids")
+    public ResponseEntity<List<UUID>> getProfessionalUserIds(@RequestParam(required = false) UUID afterUserId,
+                                                             @RequestParam(defaultValue = "1000") int size) {
+        var userIds = serviceProfileService.getProfessionalUserIds(afterUserId, size);
+        return ResponseEntity.ok(userIds);
+    }
+
+    @Operation(summary = "List Ranking Features of Changed Profiles",
+            description = "Returns the rating, services performed, specialty and coordinates of profiles changed after " +
+                    "('updatedAfter', 'afterId'), oldest change first; without 'updatedAfter' it starts from the beginning. " +
+                    "Pass the 'updatedAt' and 'profileId' of the last row to get the next page; an empty list means the end was reached. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Matching-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of profile features retrieved successfully",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content)
+    })
+    @GetMapping("/features")
+    public ResponseEntity<List<InternalProfileFeaturesDTO>> getProfileFeatures(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfter,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "1000") int size) {
+        var features = serviceProfileService.getProfileFeatures(updatedAfter, afterId, size);
+        return ResponseEntity.ok(features);
+    }
+
+    @Operation(summary = "Record a Review of a Service Profile",
+            description = "Adds a 1 to 5 star review to the profile's average rating. Reviews are aggregated in the background, " +
+                    "so the rating reflects it within the flush interval; reviews of unknown profiles are discarded. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Matching-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Review accepted for aggregation",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Rating missing or outside 1 to 5",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content)
+    })
+    @PostMapping("/{profileId}/reviews")
+    public ResponseEntity<Void> recordReview(@PathVariable UUID profileId,
+                                             @RequestBody @Valid InternalProfileReviewDTO reviewDTO) {
+        profileStatsService.recordReview(profileId, reviewDTO.rating());
+        return ResponseEntity.accepted().build();
+    }
+
+    @Operation(summary = "Record a Completed Job of a Service Profile",
+            description = "Increments the profile's count of services performed. Completions are aggregated in the background, " +
+                    "so the count reflects it within the flush interval; completions of unknown profiles are discarded. " +
+                    "This endpoint is intended for internal service communication ONLY (e.g., Matching-Service).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Completion accepted for aggregation",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing internal token/key)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content)
+    })
+    @PostMapping("/{profileId}/completions")
+    public ResponseEntity<Void> recordCompletion(@PathVariable UUID profileId) {
+        profileStatsService.recordCompletion(profileId);
+        return ResponseEntity.accepted().build();
+    }
+}
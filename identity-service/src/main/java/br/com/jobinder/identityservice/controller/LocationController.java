@@ -1,5 +1,6 @@
 package br.com.jobinder.identityservice.controller;
 
+import br.com.jobinder.identityservice.dto.location.LocationCoordinatesDTO;
 import br.com.jobinder.identityservice.dto.location.LocationDTO;
 import br.com.jobinder.identityservice.service.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,14 +8,21 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/locations")
@@ -36,4 +44,28 @@ public class LocationController {
         var locations = locationService.findAll();
         return ResponseEntity.ok(locations);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "[Admin] Set the coordinates of a location",
+            description = "Sets the reference point of a city, used to find professionals near a client. (Requires ADMIN role)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Coordinates updated successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LocationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (coordinates out of range)",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Location not found",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/admin/{locationId}/coordinates")
+    public ResponseEntity<LocationDTO> updateCoordinates(@PathVariable UUID locationId,
+                                                         @RequestBody @Valid LocationCoordinatesDTO coordinatesDTO) {
+        var location = locationService.updateCoordinates(locationId, coordinatesDTO);
+        return ResponseEntity.ok(location);
+    }
+}
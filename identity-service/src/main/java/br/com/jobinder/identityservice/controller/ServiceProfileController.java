@@ -1,7 +1,10 @@
 package br.com.jobinder.identityservice.controller;
 
+import br.com.jobinder.identityservice.dto.serviceprofile.NearbyServiceProfileDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileCreateDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfilePageDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.service.NearbyProfileService;
 import br.com.jobinder.identityservice.service.ServiceProfileService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -28,6 +32,9 @@ public class ServiceProfileController {
     @Autowired
     private ServiceProfileService serviceProfileService;
 
+    @Autowired
+    private NearbyProfileService nearbyProfileService;
+
     /*
       Public and Authenticated User Endpoints
       These endpoints are accessible to authenticated users.
@@ -76,6 +83,80 @@ public class ServiceProfileController {
         return ResponseEntity.ok(profileResponse);
     }
 
+    @Operation(summary = "Discover professionals",
+            description = "Lists the service profiles of a specialty in a city, best rated and most experienced first. " +
+                    "Pass the nextCursor of a page to get the following one; it is null on the last page.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of profiles retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ServiceProfilePageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing filter or invalid page cursor",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    @GetMapping("/discover")
+    public ResponseEntity<ServiceProfilePageDTO> discoverServiceProfiles(
+            @RequestParam String specialty,
+            @RequestParam String city,
+            @RequestParam String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ServiceProfileService.DEFAULT_PAGE_SIZE) int size) {
+        var page = serviceProfileService.discoverServiceProfiles(specialty, city, state, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Search professionals",
+            description = "Ranks service profiles by how well their description matches a free-text query, optionally " +
+                    "within a specialty and a city (city and state together). Pass the nextCursor of a page with the " +
+                    "same query to get the following one; it is null on the last page.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matching profiles retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ServiceProfilePageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or too long query, incomplete location or invalid page cursor",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ServiceProfilePageDTO> searchServiceProfiles(
+            @RequestParam String q,
+            @RequestParam(required = false) String specialty,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ServiceProfileService.DEFAULT_PAGE_SIZE) int size) {
+        var page = serviceProfileService.searchServiceProfiles(q, specialty, city, state, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Find professionals nearby",
+            description = "Lists the service profiles closest to a point, nearest first, optionally of one specialty. " +
+                    "With radiusKm only profiles inside that radius are returned; without it, the nearest ones overall.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Nearby profiles retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NearbyServiceProfileDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Coordinates or radius out of range",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyServiceProfileDTO>> findNearbyServiceProfiles(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String specialty,
+            @RequestParam(defaultValue = "" + ServiceProfileService.DEFAULT_PAGE_SIZE) int size) {
+        var profiles = nearbyProfileService.findNearby(lat, lon, radiusKm, specialty, size);
+        return ResponseEntity.ok(profiles);
+    }
+
     @Operation(summary = "Find the User ID associated with a Service Profile ID",
             description = "Retrieves the owner's User ID based on a Service Profile ID. This is a public endpoint.")
     @ApiResponses(value = {
@@ -96,12 +177,15 @@ public class ServiceProfileController {
       These endpoints are intended for administrative use only.
     */
     @Operation(summary = "[Admin] List all Service Profiles",
-            description = "Retrieves a list of all service profiles in the system. (Requires ADMIN role)",
+            description = "Retrieves service profiles one page at a time, newest first. Pass the nextCursor of a page " +
+                    "to get the following one; it is null on the last page. (Requires ADMIN role)",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of profiles retrieved successfully",
+            @ApiResponse(responseCode = "200", description = "Page of profiles retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = ServiceProfileResponseDTO.class))),
+                            schema = @Schema(implementation = ServiceProfilePageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
@@ -109,8 +193,10 @@ public class ServiceProfileController {
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
-    public ResponseEntity<Iterable<ServiceProfileResponseDTO>> getAllServiceProfilesDTO() {
-        var profiles = serviceProfileService.getAllServiceProfilesDTO();
-        return ResponseEntity.ok(profiles);
+    public ResponseEntity<ServiceProfilePageDTO> getAllServiceProfilesDTO(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ServiceProfileService.DEFAULT_PAGE_SIZE) int size) {
+        var page = serviceProfileService.getServiceProfilesPage(cursor, size);
+        return ResponseEntity.ok(page);
     }
 }
\ No newline at end of file
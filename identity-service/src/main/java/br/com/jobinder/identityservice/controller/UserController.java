@@ -3,8 +3,10 @@ package br.com.jobinder.identityservice.controller;
 import br.com.jobinder.identityservice.domain.user.User;
 import br.com.jobinder.identityservice.dto.user.UserChangePasswordDTO;
 import br.com.jobinder.identityservice.dto.user.UserCreateDTO;
+import br.com.jobinder.identityservice.dto.user.UserImportResultDTO;
 import br.com.jobinder.identityservice.dto.user.UserResponseDTO;
 import br.com.jobinder.identityservice.dto.user.UserUpdateDTO;
+import br.com.jobinder.identityservice.service.UserImportService;
 import br.com.jobinder.identityservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +15,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -30,9 +38,17 @@ import java.util.UUID;
 @Tag(name = "Users", description = "Endpoints for managing users in the Identity Service")
 public class UserController {
 
+    private static final String TEXT_CSV = "text/csv";
+
     @Autowired
     private final UserService userService;
 
+    @Autowired
+    private final UserImportService userImportService;
+
+    @Value("${identity.import.timeout-ms:1800000}")
+    private long importTimeoutMillis;
+
     /*
       Public Endpoints
       These endpoints are accessible without authentication.
@@ -177,4 +193,39 @@ public class UserController {
         var user = userService.findUserById(id);
         return ResponseEntity.ok(user);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "[Admin] Import Users in bulk",
+            description = "Register users from an NDJSON or CSV upload. The result of every input line is streamed back as NDJSON.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; each line reports CREATED, DUPLICATE or INVALID",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = UserImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (unreadable CSV header)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Error.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing token)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Error.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Error.class)))
+    })
+    @PostMapping(value = "/admin/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) {
+        var format = MediaType.parseMediaType(TEXT_CSV).isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        // The upload is read while results are written, so neither side is buffered in memory. Only this
+        // task runs for as long as an upload lasts; other async requests keep the default timeout
+        return new WebAsyncTask<>(importTimeoutMillis, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+            return null;
+        });
+    }
+}
@@ -2,6 +2,7 @@ package br.com.jobinder.identityservice.domain.location;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.util.Locale;
 import java.util.UUID;
 
 @Getter
@@ -21,4 +22,28 @@ public class Location {
     private String city;
     @Column(nullable = false)
     private String state;
-}
\ No newline at end of file
+    // Case-folded "city|state"; its unique constraint is the conflict target of the upsert
+    @Column(name = "lookup_key", unique = true)
+    private String lookupKey;
+    // Reference point of the city, used by the nearby search; null until an admin sets it
+    private Double latitude;
+    private Double longitude;
+
+    public Location(UUID id, String city, String state) {
+        this(id, city, state, lookupKeyOf(city, state), null, null);
+    }
+
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
+    public static String lookupKeyOf(String city, String state) {
+        return (city + "|" + state).toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncLookupKey() {
+        this.lookupKey = lookupKeyOf(city, state);
+    }
+}
@@ -1,10 +1,53 @@
 package br.com.jobinder.identityservice.domain.location;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface LocationRepository extends JpaRepository<Location, UUID> {
-    Optional<Location> findByCityIgnoreCaseAndStateIgnoreCase(String city, String state);
+    Optional<Location> findByLookupKey(String lookupKey);
+
+    List<Location> findAllByLookupKeyIsNull();
+
+    /*
+      Find-or-create in one statement: inserts the location unless its lookup key exists and returns
+      whichever row holds the key. Empty only when the conflicting row was committed by another
+      transaction after this statement started; a plain findByLookupKey then sees it.
+    */
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "WITH inserted AS (" +
+            "  INSERT INTO locations (id, city, state, lookup_key) VALUES (:id, :city, :state, :lookupKey) " +
+            "  ON CONFLICT (lookup_key) DO NOTHING " +
+            "  RETURNING id, city, state, lookup_key, latitude, longitude" +
+            ") " +
+            "SELECT id, city, state, lookup_key, latitude, longitude FROM inserted " +
+            "UNION ALL " +
+            "SELECT id, city, state, lookup_key, latitude, longitude FROM locations WHERE lookup_key = :lookupKey " +
+            "LIMIT 1")
+    Optional<Location> insertIfAbsent(@Param("id") UUID id,
+                                      @Param("city") String city,
+                                      @Param("state") String state,
+                                      @Param("lookupKey") String lookupKey);
+
+    // Backfills rows created before the lookup key existed, skipping case-only duplicates
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "UPDATE locations SET lookup_key = :lookupKey " +
+            "WHERE id = :id AND NOT EXISTS (SELECT 1 FROM locations WHERE lookup_key = :lookupKey)")
+    int assignLookupKey(@Param("id") UUID id, @Param("lookupKey") String lookupKey);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Location l SET l.latitude = :latitude, l.longitude = :longitude WHERE l.id = :id")
+    int updateCoordinates(@Param("id") UUID id,
+                          @Param("latitude") double latitude,
+                          @Param("longitude") double longitude);
 }
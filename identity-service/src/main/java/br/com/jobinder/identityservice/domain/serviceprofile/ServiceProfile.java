@@ -5,13 +5,22 @@ import br.com.jobinder.identityservice.domain.specialty.Specialty;
 import br.com.jobinder.identityservice.domain.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity(name = "ServiceProfile")
-@Table(name = "service_profiles")
+@Table(name = "service_profiles", indexes = {
+        // Serves the keyset-paginated listing ordered by (createdAt, id)
+        @Index(name = "idx_service_profiles_created_at_id", columnList = "created_at DESC, id DESC"),
+        // Serves the incremental feed of changed profiles, ordered by (updatedAt, id)
+        @Index(name = "idx_service_profiles_updated_at_id", columnList = "updated_at, id"),
+        // Serves the discovery feed: equality on specialty and location, then its sort order
+        @Index(name = "idx_service_profiles_discovery",
+                columnList = "specialty_id, location_id, rating DESC, services_performed DESC, id DESC")
+})
 @Getter
 @Setter
 @EqualsAndHashCode(of = "id")
@@ -36,8 +45,18 @@ public class ServiceProfile {
 
     private String serviceImageUrl;
 
+    // Running aggregates, changed only by ProfileStatsService with atomic SQL increments; JPA
+    // never writes them after the insert, so saving a stale entity cannot undo an increment
+    @Column(updatable = false)
     private int servicesPerformed;
+    @Column(updatable = false)
     private float rating;
+    @Column(updatable = false, nullable = false)
+    @ColumnDefault("0")
+    private int ratingCount;
+    @Column(updatable = false, nullable = false)
+    @ColumnDefault("0")
+    private long ratingSum;
 
     private String availability;
 
@@ -1,12 +1,107 @@
 package br.com.jobinder.identityservice.domain.serviceprofile;
 
+import br.com.jobinder.identityservice.dto.internal.InternalProfileFeaturesDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.infra.geo.GeoEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface ServiceProfileRepository extends JpaRepository<ServiceProfile, UUID> {
+public interface ServiceProfileRepository extends JpaRepository<ServiceProfile, UUID>, ServiceProfileSearchRepository {
     Optional<ServiceProfile> findByUserId(UUID userId);
 
     boolean existsByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /*
+      Keyset pagination over (createdAt, id), newest first. Both queries build the DTO in a single
+      joined select, so listing a page never touches the lazy associations one row at a time.
+    */
+    String PROFILE_DTO_SELECT = "SELECT new br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO(" +
+            "p.id, p.user.id, s.name, l.city, l.state, p.serviceImageUrl, p.servicesPerformed, p.rating, " +
+            "p.availability, p.description, p.createdAt, p.updatedAt) " +
+            "FROM ServiceProfile p JOIN p.specialty s JOIN p.location l ";
+
+    @Query(PROFILE_DTO_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ServiceProfileResponseDTO> findFirstPage(Limit limit);
+
+    @Query(PROFILE_DTO_SELECT +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ServiceProfileResponseDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") UUID id,
+                                                  Limit limit);
+
+    /*
+      Discovery feed: profiles of one specialty in one location, best rated and most experienced
+      first. Filters and order match idx_service_profiles_discovery, so each page is an index range
+      scan that stops after "limit" rows.
+    */
+    @Query(PROFILE_DTO_SELECT +
+            "WHERE p.specialty.id = :specialtyId AND p.location.id = :locationId " +
+            "ORDER BY p.rating DESC, p.servicesPerformed DESC, p.id DESC")
+    List<ServiceProfileResponseDTO> findDiscoveryFirstPage(@Param("specialtyId") UUID specialtyId,
+                                                           @Param("locationId") UUID locationId,
+                                                           Limit limit);
+
+    @Query(PROFILE_DTO_SELECT +
+            "WHERE p.specialty.id = :specialtyId AND p.location.id = :locationId " +
+            "AND (p.rating < :rating " +
+            "OR (p.rating = :rating AND p.servicesPerformed < :servicesPerformed) " +
+            "OR (p.rating = :rating AND p.servicesPerformed = :servicesPerformed AND p.id < :id)) " +
+            "ORDER BY p.rating DESC, p.servicesPerformed DESC, p.id DESC")
+    List<ServiceProfileResponseDTO> findDiscoveryPageAfter(@Param("specialtyId") UUID specialtyId,
+                                                           @Param("locationId") UUID locationId,
+                                                           @Param("rating") float rating,
+                                                           @Param("servicesPerformed") int servicesPerformed,
+                                                           @Param("id") UUID id,
+                                                           Limit limit);
+
+    // Professional user IDs, keyset-paginated over the unique (so indexed) user_id column
+    @Query("SELECT p.user.id FROM ServiceProfile p ORDER BY p.user.id")
+    List<UUID> findUserIdsFirstPage(Limit limit);
+
+    @Query("SELECT p.user.id FROM ServiceProfile p WHERE p.user.id > :afterUserId ORDER BY p.user.id")
+    List<UUID> findUserIdsAfter(@Param("afterUserId") UUID afterUserId, Limit limit);
+
+    /*
+      Ranking features of profiles changed since a point, keyset-paginated over (updatedAt, id) in
+      ascending order so a caller can resume from the last row it has seen.
+    */
+    String PROFILE_FEATURES_SELECT = "SELECT new br.com.jobinder.identityservice.dto.internal.InternalProfileFeaturesDTO(" +
+            "p.id, p.user.id, p.specialty.id, l.latitude, l.longitude, p.rating, p.servicesPerformed, p.updatedAt) " +
+            "FROM ServiceProfile p JOIN p.location l ";
+
+    @Query(PROFILE_FEATURES_SELECT + "ORDER BY p.updatedAt, p.id")
+    List<InternalProfileFeaturesDTO> findFeaturesFirstPage(Limit limit);
+
+    @Query(PROFILE_FEATURES_SELECT +
+            "WHERE p.updatedAt > :updatedAt OR (p.updatedAt = :updatedAt AND p.id > :id) " +
+            "ORDER BY p.updatedAt, p.id")
+    List<InternalProfileFeaturesDTO> findFeaturesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    // Coordinates come from the location, so moving it changes the features of its profiles. The time is
+    // passed in rather than taken from the database clock, which the JPA-managed updatedAt does not use
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE service_profiles SET updated_at = :updatedAt WHERE location_id = :locationId")
+    int touchByLocationId(@Param("locationId") UUID locationId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(PROFILE_DTO_SELECT + "WHERE p.id IN :ids")
+    List<ServiceProfileResponseDTO> findDtosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Every profile whose location has coordinates, as loaded into the nearby search index
+    @Query("SELECT new br.com.jobinder.identityservice.infra.geo.GeoEntry(p.id, l.id, p.specialty.id, l.latitude, l.longitude) " +
+            "FROM ServiceProfile p JOIN p.location l WHERE l.latitude IS NOT NULL AND l.longitude IS NOT NULL")
+    List<GeoEntry> findGeoEntries();
+}
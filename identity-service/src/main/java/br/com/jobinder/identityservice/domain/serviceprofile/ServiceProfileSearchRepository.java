@@ -0,0 +1,18 @@
+package br.com.jobinder.identityservice.domain.serviceprofile;
+
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchHit;
+
+import java.util.List;
+import java.util.UUID;
+
+// Full-text search, kept in its own fragment because the SQL depends on which filters are present
+public interface ServiceProfileSearchRepository {
+
+    /*
+      Profiles whose description matches the free-text query, most relevant first. specialtyId,
+      locationId and after are optional; after continues from the last hit of the previous page.
+    */
+    List<ServiceProfileSearchHit> search(String query, UUID specialtyId, UUID locationId,
+                                         ServiceProfileSearchCursor after, int limit);
+}
@@ -0,0 +1,91 @@
+package br.com.jobinder.identityservice.domain.serviceprofile;
+
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/*
+  The @@ match is answered by the GIN index on search_vector (see db/schema.sql), so only
+  matching rows are ranked, and the specialty and location names are joined for the returned
+  page alone. Pages continue by keyset on (rank, id), which needs no OFFSET scan.
+*/
+class ServiceProfileSearchRepositoryImpl implements ServiceProfileSearchRepository {
+
+    // Must match the configuration the search_vector column is generated with
+    static final String TEXT_SEARCH_CONFIG = "portuguese";
+
+    // Normalization 1 divides by 1 + log(length), so long descriptions do not win by size alone
+    private static final String MATCHES =
+            "WITH matches AS (" +
+            "SELECT p.id, p.user_id, p.specialty_id, p.location_id, p.service_image_url, p.services_performed, " +
+            "p.rating, p.availability, p.description, p.created_at, p.updated_at, " +
+            "ts_rank_cd(p.search_vector, query, 1) AS rank " +
+            "FROM service_profiles p, websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', :query) query " +
+            "WHERE p.search_vector @@ query";
+
+    private static final String PAGE =
+            "), page AS (" +
+            "SELECT * FROM matches %s ORDER BY rank DESC, id DESC LIMIT :limit" +
+            ") " +
+            "SELECT page.*, s.name AS specialty_name, l.city, l.state " +
+            "FROM page JOIN specialties s ON s.id = page.specialty_id JOIN locations l ON l.id = page.location_id " +
+            "ORDER BY page.rank DESC, page.id DESC";
+
+    private static final RowMapper<ServiceProfileSearchHit> HIT_MAPPER = (rs, rowNum) -> new ServiceProfileSearchHit(
+            new ServiceProfileResponseDTO(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("user_id", UUID.class),
+                    rs.getString("specialty_name"),
+                    rs.getString("city"),
+                    rs.getString("state"),
+                    rs.getString("service_image_url"),
+                    rs.getInt("services_performed"),
+                    rs.getFloat("rating"),
+                    rs.getString("availability"),
+                    rs.getString("description"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class)
+            ),
+            rs.getFloat("rank"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ServiceProfileSearchHit> search(String query, UUID specialtyId, UUID locationId,
+                                                ServiceProfileSearchCursor after, int limit) {
+        var params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder(MATCHES);
+        if (specialtyId != null) {
+            sql.append(" AND p.specialty_id = :specialtyId");
+            params.addValue("specialtyId", specialtyId);
+        }
+        if (locationId != null) {
+            sql.append(" AND p.location_id = :locationId");
+            params.addValue("locationId", locationId);
+        }
+
+        String keyset = "";
+        if (after != null) {
+            // Bound as REAL, the type ts_rank_cd returns, so the comparison is exact
+            keyset = "WHERE rank < :rank OR (rank = :rank AND id < :id)";
+            params.addValue("rank", after.rank(), Types.REAL);
+            params.addValue("id", after.id());
+        }
+        sql.append(PAGE.formatted(keyset));
+
+        return jdbcTemplate.query(sql.toString(), params, HIT_MAPPER);
+    }
+}
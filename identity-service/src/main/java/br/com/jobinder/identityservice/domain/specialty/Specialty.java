@@ -2,6 +2,7 @@ package br.com.jobinder.identityservice.domain.specialty; // Pacote ajustado
 
 import jakarta.persistence.*;
 import lombok.*; // Imports ajustados
+import java.util.Locale;
 import java.util.UUID;
 
 @Getter
@@ -17,4 +18,21 @@ public class Specialty {
     private UUID id;
     @Column(unique = true, nullable = false)
     private String name;
-}
\ No newline at end of file
+    // Case-folded name; its unique constraint is the conflict target of the upsert
+    @Column(name = "lookup_key", unique = true)
+    private String lookupKey;
+
+    public Specialty(UUID id, String name) {
+        this(id, name, lookupKeyOf(name));
+    }
+
+    public static String lookupKeyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncLookupKey() {
+        this.lookupKey = lookupKeyOf(name);
+    }
+}
@@ -1,10 +1,45 @@
 package br.com.jobinder.identityservice.domain.specialty;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SpecialtyRepository extends JpaRepository<Specialty, UUID> {
-    Optional<Specialty> findByNameIgnoreCase(String name);
+    Optional<Specialty> findByLookupKey(String lookupKey);
+
+    List<Specialty> findAllByLookupKeyIsNull();
+
+    /*
+      Find-or-create in one statement: inserts the specialty unless its lookup key exists and returns
+      whichever row holds the key. Empty only when the conflicting row was committed by another
+      transaction after this statement started; a plain findByLookupKey then sees it.
+    */
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "WITH inserted AS (" +
+            "  INSERT INTO specialties (id, name, lookup_key) VALUES (:id, :name, :lookupKey) " +
+            "  ON CONFLICT (lookup_key) DO NOTHING " +
+            "  RETURNING id, name, lookup_key" +
+            ") " +
+            "SELECT id, name, lookup_key FROM inserted " +
+            "UNION ALL " +
+            "SELECT id, name, lookup_key FROM specialties WHERE lookup_key = :lookupKey " +
+            "LIMIT 1")
+    Optional<Specialty> insertIfAbsent(@Param("id") UUID id,
+                                       @Param("name") String name,
+                                       @Param("lookupKey") String lookupKey);
+
+    // Backfills rows created before the lookup key existed, skipping case-only duplicates
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value =
+            "UPDATE specialties SET lookup_key = :lookupKey " +
+            "WHERE id = :id AND NOT EXISTS (SELECT 1 FROM specialties WHERE lookup_key = :lookupKey)")
+    int assignLookupKey(@Param("id") UUID id, @Param("lookupKey") String lookupKey);
 }
@@ -1,12 +1,37 @@
 package br.com.jobinder.identityservice.domain.user;
 
+import br.com.jobinder.identityservice.dto.user.UserResponseDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByPhone(String phone);
 
-    boolean existsByPhone(String phone);
+    // Which of the given phones are already registered, answered by one query on the unique index
+    @Query("SELECT u.phone FROM User u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    // Which of the given IDs exist, for inserts whose batch did not report per-row counts
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Only replaces the hash if it was not changed since the caller read it
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash, u.updatedAt = LOCAL DATETIME " +
+            "WHERE u.id = :userId AND u.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("userId") UUID userId,
+                                  @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
+    // Single IN-list query that selects only the summary columns, without loading entities
+    @Query("SELECT new br.com.jobinder.identityservice.dto.user.UserResponseDTO(u.id, u.phone, u.firstName, u.lastName) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserResponseDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 }
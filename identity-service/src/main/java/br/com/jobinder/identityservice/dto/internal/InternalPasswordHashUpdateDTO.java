@@ -0,0 +1,8 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record InternalPasswordHashUpdateDTO(
+        @NotBlank String currentHashedPassword,
+        @NotBlank String newHashedPassword
+) {}
@@ -0,0 +1,16 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What Matching-Service ranks a professional by; the coordinates are those of the profile's location, when set
+public record InternalProfileFeaturesDTO(
+        UUID profileId,
+        UUID userId,
+        UUID specialtyId,
+        Double latitude,
+        Double longitude,
+        float rating,
+        int servicesPerformed,
+        LocalDateTime updatedAt
+) {}
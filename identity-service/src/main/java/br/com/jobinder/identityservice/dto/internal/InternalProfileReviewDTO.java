@@ -0,0 +1,9 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record InternalProfileReviewDTO(
+        @NotNull @Min(1) @Max(5) Integer rating
+) {}
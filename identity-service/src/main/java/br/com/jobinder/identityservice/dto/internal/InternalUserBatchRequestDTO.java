@@ -0,0 +1,14 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record InternalUserBatchRequestDTO(
+        @NotEmpty @Size(max = InternalUserBatchRequestDTO.MAX_USER_IDS) List<@NotNull UUID> userIds
+) {
+    public static final int MAX_USER_IDS = 500;
+}
@@ -0,0 +1,12 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import br.com.jobinder.identityservice.dto.user.UserResponseDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+// Users in the order they were requested (duplicates removed), plus the IDs that matched no user
+public record InternalUserBatchResponseDTO(
+        List<UserResponseDTO> users,
+        List<UUID> missingIds
+) {}
@@ -0,0 +1,18 @@
+package br.com.jobinder.identityservice.dto.internal;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Published whenever a user's stored credentials change or the user is removed
+public record UserCredentialsChangedEvent(
+        UUID userId,
+        Reason reason
+) implements Serializable {
+
+    // A hash upgrade keeps the same password, so consumers only refresh what they cached
+    public enum Reason {
+        PASSWORD_CHANGED,
+        USER_DELETED,
+        HASH_UPGRADED
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.jobinder.identityservice.dto.location;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+public record LocationCoordinatesDTO(
+        @NotNull(message = "Latitude cannot be null")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double latitude,
+        @NotNull(message = "Longitude cannot be null")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double longitude
+) {}
@@ -7,6 +7,8 @@ import java.util.UUID;
 public record LocationDTO(
         @NotBlank UUID id,
         @NotBlank String city,
-        @NotBlank String state
+        @NotBlank String state,
+        Double latitude,
+        Double longitude
 ) {}
 
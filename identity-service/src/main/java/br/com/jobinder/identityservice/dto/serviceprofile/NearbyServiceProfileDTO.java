@@ -0,0 +1,7 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+// A profile found by the nearby search, with its distance from the searched point
+public record NearbyServiceProfileDTO(
+        ServiceProfileResponseDTO profile,
+        double distanceKm
+) {}
@@ -0,0 +1,35 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last profile of a page; encoded as an opaque token for clients
+public record ServiceProfileCursor(LocalDateTime createdAt, UUID id) {
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ServiceProfileCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ServiceProfileCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor.");
+        }
+    }
+
+    public static ServiceProfileCursor of(ServiceProfileResponseDTO profile) {
+        return new ServiceProfileCursor(profile.createdAt(), profile.serviceProfileId());
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last profile of a discovery page, in (rating, servicesPerformed, id) order
+public record ServiceProfileDiscoveryCursor(float rating, int servicesPerformed, UUID id) {
+
+    public String encode() {
+        String raw = rating + "|" + servicesPerformed + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ServiceProfileDiscoveryCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid page cursor.");
+            }
+            return new ServiceProfileDiscoveryCursor(
+                    Float.parseFloat(parts[0]),
+                    Integer.parseInt(parts[1]),
+                    UUID.fromString(parts[2])
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor.");
+        }
+    }
+
+    public static ServiceProfileDiscoveryCursor of(ServiceProfileResponseDTO profile) {
+        return new ServiceProfileDiscoveryCursor(profile.rating(), profile.servicesPerformed(), profile.serviceProfileId());
+    }
+}
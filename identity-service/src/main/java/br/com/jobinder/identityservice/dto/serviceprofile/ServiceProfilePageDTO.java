@@ -0,0 +1,9 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record ServiceProfilePageDTO(
+        List<ServiceProfileResponseDTO> content,
+        String nextCursor
+) {}
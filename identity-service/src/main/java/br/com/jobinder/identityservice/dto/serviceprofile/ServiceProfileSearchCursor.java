@@ -0,0 +1,32 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last profile of a search page, in (rank, id) order; only valid for the same query
+public record ServiceProfileSearchCursor(float rank, UUID id) {
+
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ServiceProfileSearchCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid page cursor.");
+            }
+            return new ServiceProfileSearchCursor(Float.parseFloat(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor.");
+        }
+    }
+
+    public static ServiceProfileSearchCursor of(ServiceProfileSearchHit hit) {
+        return new ServiceProfileSearchCursor(hit.rank(), hit.profile().serviceProfileId());
+    }
+}
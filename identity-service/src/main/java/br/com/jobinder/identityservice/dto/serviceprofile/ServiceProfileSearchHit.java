@@ -0,0 +1,7 @@
+package br.com.jobinder.identityservice.dto.serviceprofile;
+
+// A profile matching a search, with the relevance it was ranked by
+public record ServiceProfileSearchHit(
+        ServiceProfileResponseDTO profile,
+        float rank
+) {}
@@ -0,0 +1,33 @@
+package br.com.jobinder.identityservice.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+// One line of the bulk import response, pointing back to the input line it describes
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResultDTO(
+        long line,
+        Status status,
+        UUID id,
+        String phone,
+        String error
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static UserImportResultDTO created(long line, UUID id, String phone) {
+        return new UserImportResultDTO(line, Status.CREATED, id, phone, null);
+    }
+
+    public static UserImportResultDTO duplicate(long line, String phone) {
+        return new UserImportResultDTO(line, Status.DUPLICATE, null, phone, "A user with this phone number already exists.");
+    }
+
+    public static UserImportResultDTO invalid(long line, String error) {
+        return new UserImportResultDTO(line, Status.INVALID, null, null, error);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.jobinder.identityservice.infra.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/*
+  In-memory copy of a small, rarely changing table, keyed by its case-folded lookup key.
+  Readers see an immutable snapshot through a single volatile read; writers copy the snapshot,
+  which is cheap for tables of this size and keeps reads lock-free.
+*/
+public class ReferenceDataCache<T> {
+
+    private final Function<T, String> keyFunction;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private volatile Snapshot<T> snapshot = new Snapshot<>(Map.of(), List.of());
+
+    public ReferenceDataCache(String name, Function<T, String> keyFunction, MeterRegistry meterRegistry) {
+        this.keyFunction = keyFunction;
+        this.hitCounter = Counter.builder("identity.reference-data.lookups")
+                .description("Reference data lookups served from memory or sent to the database")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("identity.reference-data.lookups")
+                .description("Reference data lookups served from memory or sent to the database")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("identity.reference-data.size", this, cache -> cache.snapshot.values().size())
+                .description("Entries held in memory")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public Optional<T> get(String key) {
+        T value = snapshot.byKey().get(key);
+        (value != null ? hitCounter : missCounter).increment();
+        return Optional.ofNullable(value);
+    }
+
+    public List<T> values() {
+        return snapshot.values();
+    }
+
+    public synchronized void replaceAll(Collection<T> values) {
+        Map<String, T> byKey = new HashMap<>();
+        List<T> ordered = new ArrayList<>(values.size());
+        for (T value : values) {
+            if (byKey.putIfAbsent(keyFunction.apply(value), value) == null) {
+                ordered.add(value);
+            }
+        }
+        snapshot = new Snapshot<>(Map.copyOf(byKey), List.copyOf(ordered));
+    }
+
+    public synchronized void put(T value) {
+        Snapshot<T> current = snapshot;
+        String key = keyFunction.apply(value);
+        if (current.byKey().containsKey(key)) {
+            return;
+        }
+        Map<String, T> byKey = new HashMap<>(current.byKey());
+        byKey.put(key, value);
+        List<T> ordered = new ArrayList<>(current.values());
+        ordered.add(value);
+        snapshot = new Snapshot<>(Map.copyOf(byKey), List.copyOf(ordered));
+    }
+
+    // Inside a transaction the row only becomes visible once it commits, so a rollback never leaves it cached
+    public T putAfterCommit(T value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(value);
+                }
+            });
+        } else {
+            put(value);
+        }
+        return value;
+    }
+
+    private record Snapshot<T>(Map<String, T> byKey, List<T> values) {
+    }
+}
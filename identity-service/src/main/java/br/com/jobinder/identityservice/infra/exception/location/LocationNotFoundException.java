@@ -0,0 +1,11 @@
+package br.com.jobinder.identityservice.infra.exception.location;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class LocationNotFoundException extends RuntimeException {
+    public LocationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.jobinder.identityservice.infra.exception.user;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
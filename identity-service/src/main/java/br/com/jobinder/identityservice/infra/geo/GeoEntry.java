@@ -0,0 +1,11 @@
+package br.com.jobinder.identityservice.infra.geo;
+
+import java.util.UUID;
+
+// A service profile placed at the coordinates of its location
+public record GeoEntry(UUID profileId, UUID locationId, UUID specialtyId, double latitude, double longitude) {
+
+    public GeoEntry withCoordinates(double newLatitude, double newLongitude) {
+        return new GeoEntry(profileId, locationId, specialtyId, newLatitude, newLongitude);
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.jobinder.identityservice.infra.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/*
+  In-memory uniform grid over latitude and longitude. Each cell holds the entries whose point
+  falls inside it, so a query only visits the cells overlapping the bounding box of its circle
+  and computes the exact great-circle distance for their entries alone.
+
+  Reads are lock-free. Writes are serialized, and a full reload builds a new grid off to the side
+  and swaps it in, replaying the writes that happened while it was being built.
+*/
+public class GeoGridIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private static final Comparator<GeoMatch> BY_DISTANCE = Comparator.comparingDouble(GeoMatch::distanceKm);
+
+    private final double cellSizeDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+
+    private volatile Grid grid;
+    private List<GeoEntry> writesDuringReload;
+
+    public GeoGridIndex(double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.latitudeCells = (int) Math.ceil(180.0 / cellSizeDegrees);
+        this.longitudeCells = (int) Math.ceil(360.0 / cellSizeDegrees);
+        this.grid = new Grid();
+    }
+
+    public int size() {
+        return grid.byId.size();
+    }
+
+    public synchronized void put(GeoEntry entry) {
+        grid.put(entry);
+        if (writesDuringReload != null) {
+            writesDuringReload.add(entry);
+        }
+    }
+
+    // Moves every entry of a location, e.g. after its coordinates were corrected
+    public synchronized void relocate(UUID locationId, double latitude, double longitude) {
+        for (GeoEntry entry : List.copyOf(grid.byId.values())) {
+            if (entry.locationId().equals(locationId)) {
+                put(entry.withCoordinates(latitude, longitude));
+            }
+        }
+    }
+
+    /*
+      Two phases so loading from the database never blocks writers: call beginReload() before
+      reading the rows, then replaceAll() with them. Writes in between are replayed on the new grid.
+    */
+    public synchronized void beginReload() {
+        writesDuringReload = new ArrayList<>();
+    }
+
+    public void replaceAll(Collection<GeoEntry> entries) {
+        Grid fresh = new Grid();
+        for (GeoEntry entry : entries) {
+            fresh.put(entry);
+        }
+        synchronized (this) {
+            if (writesDuringReload != null) {
+                writesDuringReload.forEach(fresh::put);
+                writesDuringReload = null;
+            }
+            grid = fresh;
+        }
+    }
+
+    // Entries within radiusKm that pass the filter, nearest first, at most limit of them
+    public List<GeoMatch> withinRadius(double latitude, double longitude, double radiusKm,
+                                       Predicate<GeoEntry> filter, int limit) {
+        // Max-heap of the best "limit" matches so far, so nothing beyond them is ever sorted
+        PriorityQueue<GeoMatch> best = new PriorityQueue<>(limit + 1, BY_DISTANCE.reversed());
+        Grid current = grid;
+
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        int firstRow = clampRow(latitude - latitudeSpan);
+        int lastRow = clampRow(latitude + latitudeSpan);
+
+        // The circle is widest in longitude at the box edge nearest a pole
+        double widestLatitude = Math.min(90.0, Math.abs(latitude) + latitudeSpan);
+        double cosine = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeSpan = cosine < 1e-9 ? 360.0 : latitudeSpan / cosine;
+        int firstColumn;
+        int columns;
+        if (longitudeSpan >= 180.0) {
+            firstColumn = 0;
+            columns = longitudeCells;
+        } else {
+            firstColumn = (int) Math.floor((longitude - longitudeSpan + 180.0) / cellSizeDegrees);
+            int lastColumn = (int) Math.floor((longitude + longitudeSpan + 180.0) / cellSizeDegrees);
+            columns = Math.min(lastColumn - firstColumn + 1, longitudeCells);
+        }
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int c = 0; c < columns; c++) {
+                // floorMod wraps the columns around the antimeridian
+                int column = Math.floorMod(firstColumn + c, longitudeCells);
+                ConcurrentHashMap<UUID, GeoEntry> cell = current.cells.get(cellKey(row, column));
+                if (cell == null) {
+                    continue;
+                }
+                for (GeoEntry entry : cell.values()) {
+                    if (!filter.test(entry)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance > radiusKm) {
+                        continue;
+                    }
+                    if (best.size() < limit) {
+                        best.add(new GeoMatch(entry, distance));
+                    } else if (distance < best.peek().distanceKm()) {
+                        best.poll();
+                        best.add(new GeoMatch(entry, distance));
+                    }
+                }
+            }
+        }
+
+        List<GeoMatch> matches = new ArrayList<>(best);
+        matches.sort(BY_DISTANCE);
+        return matches;
+    }
+
+    /*
+      The k nearest entries within maxRadiusKm. Searches a circle one cell wide and doubles it
+      until it holds k matches: any entry outside a circle is farther than every entry inside it,
+      so the k nearest of a circle with at least k matches are the k nearest overall.
+    */
+    public List<GeoMatch> nearest(double latitude, double longitude, int k, double maxRadiusKm,
+                                  Predicate<GeoEntry> filter) {
+        double radiusKm = Math.min(cellSizeDegrees * KM_PER_DEGREE, maxRadiusKm);
+        while (true) {
+            List<GeoMatch> matches = withinRadius(latitude, longitude, radiusKm, filter, k);
+            if (matches.size() >= k || radiusKm >= maxRadiusKm) {
+                return matches;
+            }
+            radiusKm = Math.min(radiusKm * 2, maxRadiusKm);
+        }
+    }
+
+    // Haversine formula; accurate to well under 1% for the distances this search deals with
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private int clampRow(double latitude) {
+        int row = (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+        return Math.max(0, Math.min(latitudeCells - 1, row));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * longitudeCells + column;
+    }
+
+    private long cellKeyOf(double latitude, double longitude) {
+        int column = Math.floorMod((int) Math.floor((longitude + 180.0) / cellSizeDegrees), longitudeCells);
+        return cellKey(clampRow(latitude), column);
+    }
+
+    private final class Grid {
+
+        private final ConcurrentHashMap<Long, ConcurrentHashMap<UUID, GeoEntry>> cells = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<UUID, GeoEntry> byId = new ConcurrentHashMap<>();
+
+        // Callers serialize writes, so the move between cells needs no further locking
+        void put(GeoEntry entry) {
+            GeoEntry previous = byId.put(entry.profileId(), entry);
+            if (previous != null) {
+                long previousKey = cellKeyOf(previous.latitude(), previous.longitude());
+                ConcurrentHashMap<UUID, GeoEntry> previousCell = cells.get(previousKey);
+                if (previousCell != null) {
+                    previousCell.remove(previous.profileId());
+                    if (previousCell.isEmpty()) {
+                        cells.remove(previousKey);
+                    }
+                }
+            }
+            cells.computeIfAbsent(cellKeyOf(entry.latitude(), entry.longitude()), key -> new ConcurrentHashMap<>())
+                    .put(entry.profileId(), entry);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.jobinder.identityservice.infra.geo;
+
+public record GeoMatch(GeoEntry entry, double distanceKm) {
+}
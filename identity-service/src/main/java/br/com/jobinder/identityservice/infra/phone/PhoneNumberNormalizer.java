@@ -0,0 +1,112 @@
+package br.com.jobinder.identityservice.infra.phone;
+
+import br.com.jobinder.identityservice.infra.exception.user.PhoneNumberInvalidException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+  Turns phone numbers into the E.164 form stored on users, shared by registration and the
+  internal lookup used during login. Input that is already E.164 is returned as-is without
+  touching libphonenumber, and recent (country code, national number) results are kept in a
+  bounded cache so repeated numbers skip the parse / validate / format pipeline.
+*/
+@Component
+public class PhoneNumberNormalizer {
+
+    // E.164 allows at most 15 digits; 7 is the shortest number in use anywhere
+    private static final int E164_MIN_DIGITS = 7;
+    private static final int E164_MAX_DIGITS = 15;
+
+    @Value("${identity.phone.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${identity.phone.default-region:BR}")
+    private String defaultRegion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Thread-safe singleton instance of PhoneNumberUtil
+    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+    private Cache<PhoneKey, String> normalizedNumbers;
+
+    @PostConstruct
+    void init() {
+        this.normalizedNumbers = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, normalizedNumbers, "identity.phone-normalization");
+    }
+
+    // Validates the number for the given region and returns it in E.164, as registration requires
+    public String normalize(String countryCode, String nationalNumber) {
+        // Invalid numbers throw inside the loader and are never cached
+        return normalizedNumbers.get(new PhoneKey(countryCode, nationalNumber),
+                key -> parseToE164(key.countryCode(), key.nationalNumber()));
+    }
+
+    /*
+      Best-effort canonical form for lookups. Numbers that cannot be parsed are returned
+      unchanged, so they simply miss in the database instead of failing the request.
+    */
+    public String canonicalize(String phone) {
+        if (phone == null || isE164(phone)) {
+            return phone;
+        }
+        try {
+            return normalize(defaultRegion, phone);
+        } catch (PhoneNumberInvalidException e) {
+            return phone;
+        }
+    }
+
+    // Structural check only: '+', a non-zero leading digit and 7 to 15 digits in total
+    static boolean isE164(String phone) {
+        int length = phone.length();
+        if (length < E164_MIN_DIGITS + 1 || length > E164_MAX_DIGITS + 1 || phone.charAt(0) != '+') {
+            return false;
+        }
+        if (phone.charAt(1) == '0') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String parseToE164(String countryCode, String nationalNumber) {
+        PhoneNumber phoneNumber;
+
+        // Try to parse the phone number
+        try {
+            phoneNumber = phoneUtil.parse(nationalNumber, countryCode);
+        } catch (NumberParseException e) {
+            throw new PhoneNumberInvalidException("Invalid phone number format: " + e.getMessage());
+        }
+
+        // Check if the number is valid for the given region
+        if (!phoneUtil.isValidNumber(phoneNumber)) {
+            throw new PhoneNumberInvalidException("Invalid phone number for the region " + countryCode);
+        }
+
+        return phoneUtil.format(phoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
+    }
+
+    private record PhoneKey(String countryCode, String nationalNumber) {
+    }
+}
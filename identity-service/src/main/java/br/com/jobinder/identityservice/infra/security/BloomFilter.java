@@ -0,0 +1,74 @@
+package br.com.jobinder.identityservice.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+  Fixed-size, thread-safe Bloom filter over strings. A negative answer is exact; a positive one
+  only means "maybe", so callers must confirm positives against an exact set.
+  Bit updates are lock-free, which keeps reads on the request path free of contention.
+*/
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(hash, i);
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+      Each probe gets its own 64-bit mix of the hash. Double hashing (h1 + i * h2) is cheaper, but with
+      the few hundred bits of a small filter its probe sequences overlap enough to multiply the
+      false-positive rate.
+    */
+    private long index(long hash, int probe) {
+        return Math.floorMod(mix(hash + probe * 0x9e3779b97f4a7c15L), bitCount);
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with a murmur3 mix
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
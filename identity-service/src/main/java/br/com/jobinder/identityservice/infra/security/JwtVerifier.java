@@ -0,0 +1,154 @@
+package br.com.jobinder.identityservice.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Verifies JWTs with a single pre-built parser and keeps a bounded cache of tokens that
+  already passed verification, keyed by the SHA-256 of the token. Cached entries expire
+  together with the token itself, so an expired token is never served from the cache.
+  Revocation is checked on every call, cached or not.
+*/
+@Component
+public class JwtVerifier {
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+
+    // MessageDigest is not thread-safe, so each request thread keeps its own instance
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+
+        this.validTokenTimer = Timer.builder("jwt.verification")
+                .description("Time spent verifying JWT signatures on a cache miss")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidTokenTimer = Timer.builder("jwt.verification")
+                .description("Time spent verifying JWT signatures on a cache miss")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        String cacheKey = hash(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return isRevoked(cached) ? Optional.empty() : Optional.of(cached);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = toVerifiedToken(claims);
+            if (verified != null) {
+                verifiedTokens.put(cacheKey, verified);
+            }
+            sample.stop(validTokenTimer);
+            if (verified == null || isRevoked(verified)) {
+                return Optional.empty();
+            }
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            sample.stop(invalidTokenTimer);
+            return Optional.empty();
+        }
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Date expiration = claims.getExpiration();
+        // Tokens without an expiration are rejected instead of being cached forever
+        if (expiration == null) {
+            return null;
+        }
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId(),
+                expiration.getTime()
+        );
+    }
+
+    // Tokens issued before jti was introduced cannot be revoked individually
+    private boolean isRevoked(VerifiedToken token) {
+        return token.jti() != null && tokenRevocationList.isRevoked(token.jti());
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+    }
+
+    // Each cached entry lives exactly until the "exp" claim of its token
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
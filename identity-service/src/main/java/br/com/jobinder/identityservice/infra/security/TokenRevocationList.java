@@ -0,0 +1,85 @@
+package br.com.jobinder.identityservice.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Token IDs (jti) revoked before their expiration, as broadcast by auth-service.
+  Lookups go through a Bloom filter first, so the common case (token not revoked) is a handful
+  of bit reads; only filter positives touch the exact map. Entries are purged once the token
+  would have expired anyway, and the filter is rebuilt from what is left.
+*/
+@Component
+public class TokenRevocationList {
+
+    @Value("${jwt.revocation.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // jti -> expiration of the revoked token, in epoch millis
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private Counter falsePositiveCounter;
+
+    @PostConstruct
+    void init() {
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Gauge.builder("jwt.revoked-tokens", revokedTokens, ConcurrentHashMap::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("jwt.revoked-tokens.false-positives")
+                .description("Revocation filter hits that were not in the exact set")
+                .register(meterRegistry);
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        // The map must be written before the filter, see rebuild()
+        revokedTokens.put(jti, expiresAtMillis);
+        filter.add(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        falsePositiveCounter.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (revokedTokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+            rebuild();
+        }
+    }
+
+    /*
+      Swaps in an empty filter first and then copies the map into it. A concurrent revoke() either
+      writes the new filter directly, or wrote the map before the swap and is copied here.
+    */
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revokedTokens.size() * 2L), falsePositiveRate);
+        this.filter = rebuilt;
+        revokedTokens.keySet().forEach(rebuilt::add);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.jobinder.identityservice.infra.security;
+
+// Claims extracted from a JWT whose signature has already been checked
+public record VerifiedToken(
+        String subject,
+        String role,
+        String jti,
+        long expiresAtMillis
+) {
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.jobinder.identityservice.listener;
+
+import br.com.jobinder.identityservice.dto.internal.UserCredentialsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class UserCredentialsEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCredentialsEventPublisher.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Value("${rabbitmq.exchanges.user-credentials-changed}")
+    private String userCredentialsChangedExchange;
+
+    // Only after commit, otherwise auth-service could reload the old hash before the change is visible
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(userCredentialsChangedExchange, "", event);
+        } catch (AmqpException e) {
+            // Auth-service still drops the entry once its cache TTL expires
+            log.error("Could not publish credentials change for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+}
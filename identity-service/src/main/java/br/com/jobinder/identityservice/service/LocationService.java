@@ -2,11 +2,22 @@ package br.com.jobinder.identityservice.service;
 
 import br.com.jobinder.identityservice.domain.location.Location;
 import br.com.jobinder.identityservice.domain.location.LocationRepository;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.dto.location.LocationCoordinatesDTO;
 import br.com.jobinder.identityservice.dto.location.LocationDTO;
+import br.com.jobinder.identityservice.infra.cache.ReferenceDataCache;
+import br.com.jobinder.identityservice.infra.exception.location.LocationNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class LocationService {
@@ -14,18 +25,80 @@ public class LocationService {
     @Autowired
     private LocationRepository locationRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NearbyProfileService nearbyProfileService;
+
+    @Autowired
+    private ServiceProfileRepository profileRepository;
+
+    private ReferenceDataCache<Location> locations;
+
+    @PostConstruct
+    void init() {
+        this.locations = new ReferenceDataCache<>("location",
+                location -> Location.lookupKeyOf(location.getCity(), location.getState()), meterRegistry);
+        backfillLookupKeys();
+        reload();
+    }
+
+    // Also picks up locations created through other instances
+    @Scheduled(fixedDelayString = "${identity.reference-data.reload-interval-ms:300000}",
+            initialDelayString = "${identity.reference-data.reload-interval-ms:300000}")
+    public void reload() {
+        locations.replaceAll(locationRepository.findAll());
+    }
+
     public Location findOrCreateLocation(String city, String state) {
-        return locationRepository.findByCityIgnoreCaseAndStateIgnoreCase(city, state)
-                .orElseGet(() -> {
-                    var newLocation = new Location(null, city, state);
-                    return locationRepository.save(newLocation);
-                });
+        String lookupKey = Location.lookupKeyOf(city, state);
+        return locations.get(lookupKey)
+                .orElseGet(() -> locations.putAfterCommit(locationRepository
+                        .insertIfAbsent(UUID.randomUUID(), city, state, lookupKey)
+                        // The row that won the conflict was committed after our statement began
+                        .or(() -> locationRepository.findByLookupKey(lookupKey))
+                        .orElseThrow()));
+    }
+
+    public Optional<Location> findByCityAndState(String city, String state) {
+        String lookupKey = Location.lookupKeyOf(city, state);
+        return locations.get(lookupKey)
+                .or(() -> locationRepository.findByLookupKey(lookupKey)
+                        .map(locations::putAfterCommit));
     }
 
     public List<LocationDTO> findAll() {
-        return locationRepository.findAll()
+        return locations.values()
                 .stream()
-                .map(l -> new LocationDTO(l.getId(), l.getCity(), l.getState()))
+                .map(l -> new LocationDTO(l.getId(), l.getCity(), l.getState(), l.getLatitude(), l.getLongitude()))
                 .toList();
     }
-}
\ No newline at end of file
+
+    public LocationDTO updateCoordinates(UUID locationId, LocationCoordinatesDTO coordinatesDTO) {
+        if (locationRepository.updateCoordinates(locationId, coordinatesDTO.latitude(), coordinatesDTO.longitude()) == 0) {
+            throw new LocationNotFoundException("Location not found with ID: " + locationId);
+        }
+
+        profileRepository.touchByLocationId(locationId, LocalDateTime.now());
+
+        // The update is already committed; refresh this instance's copies right away
+        reload();
+        nearbyProfileService.relocate(locationId, coordinatesDTO.latitude(), coordinatesDTO.longitude());
+
+        var location = locationRepository.findById(locationId)
+                .orElseThrow(() -> new LocationNotFoundException("Location not found with ID: " + locationId));
+        return new LocationDTO(location.getId(), location.getCity(), location.getState(),
+                location.getLatitude(), location.getLongitude());
+    }
+
+    private void backfillLookupKeys() {
+        for (Location location : locationRepository.findAllByLookupKeyIsNull()) {
+            try {
+                locationRepository.assignLookupKey(location.getId(), Location.lookupKeyOf(location.getCity(), location.getState()));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance assigned the same key concurrently; this row stays a legacy duplicate
+            }
+        }
+    }
+}
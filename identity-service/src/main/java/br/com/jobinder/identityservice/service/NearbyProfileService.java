@@ -0,0 +1,151 @@
+package br.com.jobinder.identityservice.service;
+
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfile;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.dto.serviceprofile.NearbyServiceProfileDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidSearchQueryException;
+import br.com.jobinder.identityservice.infra.geo.GeoEntry;
+import br.com.jobinder.identityservice.infra.geo.GeoGridIndex;
+import br.com.jobinder.identityservice.infra.geo.GeoMatch;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/*
+  Finds professionals near a point. Candidates come from an in-memory grid of profile
+  coordinates (taken from their location), which is updated on profile writes and reloaded
+  periodically to pick up writes made through other instances. Only the profiles that make
+  the result are then read from the database, in one query.
+*/
+@Service
+public class NearbyProfileService {
+
+    @Autowired
+    private ServiceProfileRepository profileRepository;
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${identity.geo.cell-size-degrees:0.1}")
+    private double cellSizeDegrees;
+
+    @Value("${identity.geo.max-radius-km:200}")
+    private double maxRadiusKm;
+
+    private GeoGridIndex index;
+    private Timer queryTimer;
+
+    @PostConstruct
+    void init() {
+        this.index = new GeoGridIndex(cellSizeDegrees);
+        Gauge.builder("identity.geo.index.size", index, GeoGridIndex::size)
+                .description("Service profiles held in the nearby search index")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("identity.geo.index.query")
+                .description("Time spent selecting nearby candidates from the in-memory index")
+                .register(meterRegistry);
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${identity.geo.reload-interval-ms:300000}",
+            initialDelayString = "${identity.geo.reload-interval-ms:300000}")
+    public void reload() {
+        index.beginReload();
+        index.replaceAll(profileRepository.findGeoEntries());
+    }
+
+    // Profiles in a location without coordinates join the index once an admin sets them
+    public void indexAfterCommit(ServiceProfile profile) {
+        var location = profile.getLocation();
+        if (!location.hasCoordinates()) {
+            return;
+        }
+        GeoEntry entry = new GeoEntry(profile.getId(), location.getId(), profile.getSpecialty().getId(),
+                location.getLatitude(), location.getLongitude());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(entry);
+                }
+            });
+        } else {
+            index.put(entry);
+        }
+    }
+
+    public void relocate(UUID locationId, double latitude, double longitude) {
+        index.relocate(locationId, latitude, longitude);
+    }
+
+    /*
+      With a radius: the nearest profiles inside it. Without one: the nearest profiles overall,
+      up to the configured maximum radius. Nearest first, at most "size" of them.
+    */
+    public List<NearbyServiceProfileDTO> findNearby(double latitude, double longitude, Double radiusKm,
+                                                    String specialtyName, int size) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidSearchQueryException("Latitude must be between -90 and 90 and longitude between -180 and 180.");
+        }
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > maxRadiusKm)) {
+            throw new InvalidSearchQueryException("The radius must be greater than 0 and at most " + maxRadiusKm + " km.");
+        }
+
+        Predicate<GeoEntry> filter = entry -> true;
+        if (specialtyName != null && !specialtyName.isBlank()) {
+            var specialty = specialtyService.findByName(specialtyName);
+            // An unknown specialty has no professionals anywhere
+            if (specialty.isEmpty()) {
+                return List.of();
+            }
+            UUID specialtyId = specialty.get().getId();
+            filter = entry -> specialtyId.equals(entry.specialtyId());
+        }
+
+        int limit = Math.max(1, Math.min(size, ServiceProfileService.MAX_PAGE_SIZE));
+        Predicate<GeoEntry> candidateFilter = filter;
+        List<GeoMatch> matches = queryTimer.record(() -> radiusKm != null
+                ? index.withinRadius(latitude, longitude, radiusKm, candidateFilter, limit)
+                : index.nearest(latitude, longitude, limit, maxRadiusKm, candidateFilter));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = new ArrayList<>(matches.size());
+        for (GeoMatch match : matches) {
+            ids.add(match.entry().profileId());
+        }
+        Map<UUID, ServiceProfileResponseDTO> profilesById = new HashMap<>();
+        for (ServiceProfileResponseDTO profile : profileRepository.findDtosByIdIn(ids)) {
+            profilesById.put(profile.serviceProfileId(), profile);
+        }
+
+        // Keep the distance order; a profile deleted since the last reload is simply skipped
+        List<NearbyServiceProfileDTO> result = new ArrayList<>(matches.size());
+        for (GeoMatch match : matches) {
+            ServiceProfileResponseDTO profile = profilesById.get(match.entry().profileId());
+            if (profile != null) {
+                result.add(new NearbyServiceProfileDTO(profile, match.distanceKm()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.jobinder.identityservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Keeps the rating and services-performed aggregates of service profiles. Reviews and completed
+  jobs are coalesced per profile in memory and written behind in batches, so a burst of events
+  for one profile costs a single UPDATE. Each UPDATE increments the counters and recomputes the
+  average in one statement, so concurrent flushes (from any instance) never lose an event and
+  readers never see a rating that does not match its count.
+*/
+@Service
+public class ProfileStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileStatsService.class);
+
+    // PostgreSQL evaluates every SET expression against the old row, under the row lock; updated_at
+    // moves too, so the incremental feature feed picks up the new rating. It is bound from the JVM
+    // clock, like the @UpdateTimestamp of JPA writes, so the feed's cursor sees a single clock
+    static final String UPDATE_SQL = "UPDATE service_profiles SET " +
+            "updated_at = :updatedAt, " +
+            "services_performed = services_performed + :completions, " +
+            "rating_count = rating_count + :ratingCount, " +
+            "rating_sum = rating_sum + :ratingSum, " +
+            "rating = CASE WHEN rating_count + :ratingCount > 0 " +
+            "  THEN CAST(rating_sum + :ratingSum AS real) / (rating_count + :ratingCount) " +
+            "  ELSE rating END " +
+            "WHERE id = :id";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${identity.profile-stats.batch-size:500}")
+    private int batchSize;
+
+    // Keyed by profile, so memory is bounded by the number of profiles however many events arrive
+    private final ConcurrentHashMap<UUID, Delta> pending = new ConcurrentHashMap<>();
+
+    private Counter reviewCounter;
+    private Counter completionCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void init() {
+        this.reviewCounter = Counter.builder("identity.profile-stats.events")
+                .description("Profile events accepted for aggregation")
+                .tag("type", "review")
+                .register(meterRegistry);
+        this.completionCounter = Counter.builder("identity.profile-stats.events")
+                .description("Profile events accepted for aggregation")
+                .tag("type", "completion")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("identity.profile-stats.dropped")
+                .description("Coalesced updates discarded because their profile no longer exists")
+                .register(meterRegistry);
+        Gauge.builder("identity.profile-stats.pending", pending, Map::size)
+                .description("Profiles with updates waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public void recordReview(UUID profileId, int rating) {
+        pending.merge(profileId, new Delta(0, 1, rating), Delta::plus);
+        reviewCounter.increment();
+    }
+
+    public void recordCompletion(UUID profileId) {
+        pending.merge(profileId, new Delta(1, 0, 0), Delta::plus);
+        completionCounter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${identity.profile-stats.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // remove() hands over each delta atomically; events arriving meanwhile start a new one
+        List<Map.Entry<UUID, Delta>> drained = new ArrayList<>(pending.size());
+        for (UUID profileId : pending.keySet()) {
+            Delta delta = pending.remove(profileId);
+            if (delta != null) {
+                drained.add(Map.entry(profileId, delta));
+            }
+        }
+        // A fixed lock order keeps flushes from different instances from deadlocking
+        drained.sort(Map.Entry.comparingByKey());
+
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<UUID, Delta>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                SqlParameterSource[] parameters = toParameters(batch, LocalDateTime.now());
+                int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, parameters));
+                for (int count : updated) {
+                    if (count == 0) {
+                        droppedCounter.increment();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // The batch rolled back as a whole, so putting it back cannot apply anything twice
+                log.error("Could not flush aggregates of {} service profiles, retrying on the next flush: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Delta::plus));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private static SqlParameterSource[] toParameters(List<Map.Entry<UUID, Delta>> batch, LocalDateTime updatedAt) {
+        SqlParameterSource[] parameters = new SqlParameterSource[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Delta delta = batch.get(i).getValue();
+            parameters[i] = new MapSqlParameterSource()
+                    .addValue("id", batch.get(i).getKey())
+                    .addValue("updatedAt", updatedAt)
+                    .addValue("completions", delta.completions())
+                    .addValue("ratingCount", delta.ratingCount())
+                    .addValue("ratingSum", delta.ratingSum());
+        }
+        return parameters;
+    }
+
+    record Delta(int completions, int ratingCount, long ratingSum) {
+
+        Delta plus(Delta other) {
+            return new Delta(completions + other.completions, ratingCount + other.ratingCount,
+                    ratingSum + other.ratingSum);
+        }
+    }
+}
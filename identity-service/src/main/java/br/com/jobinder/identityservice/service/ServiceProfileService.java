@@ -3,22 +3,37 @@ package br.com.jobinder.identityservice.service;
 import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfile;
 import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
 import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.dto.internal.InternalProfileFeaturesDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileCreateDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileDiscoveryCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfilePageDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchHit;
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidSearchQueryException;
 import br.com.jobinder.identityservice.infra.exception.serviceprofile.ServiceProfileAlreadyExistsException;
 import br.com.jobinder.identityservice.infra.exception.serviceprofile.ServiceProfileNotFoundException;
 import br.com.jobinder.identityservice.infra.exception.user.UserNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class ServiceProfileService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Internal callers page through every professional, so they get much larger pages
+    public static final int MAX_INTERNAL_PAGE_SIZE = 5000;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     @Autowired
     private ServiceProfileRepository profileRepository;
 
@@ -31,6 +46,9 @@ public class ServiceProfileService {
     @Autowired
     private SpecialtyService specialtyService;
 
+    @Autowired
+    private NearbyProfileService nearbyProfileService;
+
     // Map entity to DTO
     private ServiceProfileResponseDTO toResponseDto(ServiceProfile profile) {
         return new ServiceProfileResponseDTO(
@@ -72,6 +90,8 @@ public class ServiceProfileService {
                 dto.serviceImageUrl(),
                 0,
                 0.0f,
+                0,
+                0L,
                 dto.availability(),
                 dto.description(),
                 null,
@@ -79,6 +99,7 @@ public class ServiceProfileService {
         );
 
         var savedProfile = profileRepository.save(newProfile);
+        nearbyProfileService.indexAfterCommit(savedProfile);
 
         return toResponseDto(savedProfile);
     }
@@ -96,8 +117,113 @@ public class ServiceProfileService {
         return profile.getUser().getId();
     }
 
-    public List<ServiceProfileResponseDTO> getAllServiceProfilesDTO() {
-        var profiles = profileRepository.findAll();
-        return profiles.stream().map(this::toResponseDto).toList();
+    // User IDs of professionals in ascending order, after the given one (from the start when null)
+    public List<UUID> getProfessionalUserIds(UUID afterUserId, int size) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_INTERNAL_PAGE_SIZE)));
+        return afterUserId == null
+                ? profileRepository.findUserIdsFirstPage(limit)
+                : profileRepository.findUserIdsAfter(afterUserId, limit);
+    }
+
+    // Features of profiles changed after (updatedAfter, afterId), oldest change first; from the start when updatedAfter is null
+    public List<InternalProfileFeaturesDTO> getProfileFeatures(LocalDateTime updatedAfter, UUID afterId, int size) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_INTERNAL_PAGE_SIZE)));
+        if (updatedAfter == null) {
+            return profileRepository.findFeaturesFirstPage(limit);
+        }
+        // Without an ID, everything changed at that exact instant is included (the nil UUID sorts first in PostgreSQL)
+        return profileRepository.findFeaturesAfter(updatedAfter, afterId == null ? new UUID(0L, 0L) : afterId, limit);
+    }
+
+    public ServiceProfilePageDTO getServiceProfilesPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ServiceProfileResponseDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = profileRepository.findFirstPage(limit);
+        } else {
+            var position = ServiceProfileCursor.decode(cursor);
+            rows = profileRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new ServiceProfilePageDTO(rows, null);
+        }
+        var page = rows.subList(0, pageSize);
+        return new ServiceProfilePageDTO(page, ServiceProfileCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    public ServiceProfilePageDTO discoverServiceProfiles(String specialtyName, String city, String state, String cursor, int size) {
+        var specialty = specialtyService.findByName(specialtyName);
+        var location = locationService.findByCityAndState(city, state);
+        // An unknown specialty or location simply has no professionals yet
+        if (specialty.isEmpty() || location.isEmpty()) {
+            return new ServiceProfilePageDTO(List.of(), null);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        UUID specialtyId = specialty.get().getId();
+        UUID locationId = location.get().getId();
+
+        List<ServiceProfileResponseDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = profileRepository.findDiscoveryFirstPage(specialtyId, locationId, limit);
+        } else {
+            var position = ServiceProfileDiscoveryCursor.decode(cursor);
+            rows = profileRepository.findDiscoveryPageAfter(specialtyId, locationId,
+                    position.rating(), position.servicesPerformed(), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new ServiceProfilePageDTO(rows, null);
+        }
+        var page = rows.subList(0, pageSize);
+        return new ServiceProfilePageDTO(page, ServiceProfileDiscoveryCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    public ServiceProfilePageDTO searchServiceProfiles(String query, String specialtyName, String city, String state,
+                                                       String cursor, int size) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException("The search query must have between 1 and " + MAX_SEARCH_QUERY_LENGTH + " characters.");
+        }
+        boolean hasCity = city != null && !city.isBlank();
+        boolean hasState = state != null && !state.isBlank();
+        if (hasCity != hasState) {
+            throw new InvalidSearchQueryException("City and state must be given together.");
+        }
+
+        // Filters resolve from the in-memory caches; an unknown one cannot match any profile
+        UUID specialtyId = null;
+        if (specialtyName != null && !specialtyName.isBlank()) {
+            var specialty = specialtyService.findByName(specialtyName);
+            if (specialty.isEmpty()) {
+                return new ServiceProfilePageDTO(List.of(), null);
+            }
+            specialtyId = specialty.get().getId();
+        }
+        UUID locationId = null;
+        if (hasCity) {
+            var location = locationService.findByCityAndState(city, state);
+            if (location.isEmpty()) {
+                return new ServiceProfilePageDTO(List.of(), null);
+            }
+            locationId = location.get().getId();
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var after = cursor == null || cursor.isBlank() ? null : ServiceProfileSearchCursor.decode(cursor);
+        List<ServiceProfileSearchHit> hits = profileRepository.search(query, specialtyId, locationId, after, pageSize + 1);
+
+        List<ServiceProfileResponseDTO> profiles = hits.stream()
+                .limit(pageSize)
+                .map(ServiceProfileSearchHit::profile)
+                .toList();
+        if (hits.size() <= pageSize) {
+            return new ServiceProfilePageDTO(profiles, null);
+        }
+        return new ServiceProfilePageDTO(profiles, ServiceProfileSearchCursor.of(hits.get(pageSize - 1)).encode());
     }
-}
\ No newline at end of file
+}
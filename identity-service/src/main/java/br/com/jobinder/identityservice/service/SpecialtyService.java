@@ -3,10 +3,17 @@ package br.com.jobinder.identityservice.service;
 import br.com.jobinder.identityservice.domain.specialty.Specialty;
 import br.com.jobinder.identityservice.domain.specialty.SpecialtyRepository;
 import br.com.jobinder.identityservice.dto.specialty.SpecialtyDTO;
+import br.com.jobinder.identityservice.infra.cache.ReferenceDataCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class SpecialtyService {
@@ -14,18 +21,57 @@ public class SpecialtyService {
     @Autowired
     private SpecialtyRepository specialtyRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ReferenceDataCache<Specialty> specialties;
+
+    @PostConstruct
+    void init() {
+        this.specialties = new ReferenceDataCache<>("specialty",
+                specialty -> Specialty.lookupKeyOf(specialty.getName()), meterRegistry);
+        backfillLookupKeys();
+        reload();
+    }
+
+    // Also picks up specialties created through other instances
+    @Scheduled(fixedDelayString = "${identity.reference-data.reload-interval-ms:300000}",
+            initialDelayString = "${identity.reference-data.reload-interval-ms:300000}")
+    public void reload() {
+        specialties.replaceAll(specialtyRepository.findAll());
+    }
+
     public Specialty findOrCreateSpecialty(String name) {
-        return specialtyRepository.findByNameIgnoreCase(name)
-                .orElseGet(() -> {
-                    var newSpecialty = new Specialty(null, name);
-                    return specialtyRepository.save(newSpecialty);
-                });
+        String lookupKey = Specialty.lookupKeyOf(name);
+        return specialties.get(lookupKey)
+                .orElseGet(() -> specialties.putAfterCommit(specialtyRepository
+                        .insertIfAbsent(UUID.randomUUID(), name, lookupKey)
+                        // The row that won the conflict was committed after our statement began
+                        .or(() -> specialtyRepository.findByLookupKey(lookupKey))
+                        .orElseThrow()));
+    }
+
+    public Optional<Specialty> findByName(String name) {
+        String lookupKey = Specialty.lookupKeyOf(name);
+        return specialties.get(lookupKey)
+                .or(() -> specialtyRepository.findByLookupKey(lookupKey)
+                        .map(specialties::putAfterCommit));
     }
 
     public List<SpecialtyDTO> findAll() {
-        return specialtyRepository.findAll()
+        return specialties.values()
                 .stream()
                 .map(s -> new SpecialtyDTO(s.getId(), s.getName()))
                 .toList();
     }
-}
\ No newline at end of file
+
+    private void backfillLookupKeys() {
+        for (Specialty specialty : specialtyRepository.findAllByLookupKeyIsNull()) {
+            try {
+                specialtyRepository.assignLookupKey(specialty.getId(), Specialty.lookupKeyOf(specialty.getName()));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance assigned the same key concurrently; this row stays a legacy duplicate
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package br.com.jobinder.identityservice.service;
+
+import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.domain.user.UserRole;
+import br.com.jobinder.identityservice.dto.user.UserCreateDTO;
+import br.com.jobinder.identityservice.dto.user.UserImportResultDTO;
+import br.com.jobinder.identityservice.infra.exception.user.InvalidImportFileException;
+import br.com.jobinder.identityservice.infra.exception.user.PhoneNumberInvalidException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/*
+  Registers users in bulk from an NDJSON or CSV upload. Records are read as a stream and
+  handled in chunks: each chunk is validated, its phones normalized and checked against the
+  database with one query, its passwords hashed in parallel on a bounded pool, and its rows
+  written with a single JDBC batch. The result of every input line is written back as NDJSON
+  as soon as its chunk is done, so neither the upload nor the response is held in memory.
+*/
+@Service
+public class UserImportService {
+
+    // A concurrent registration of the same phone makes the row a duplicate instead of failing the batch
+    static final String INSERT_SQL = "INSERT INTO users (id, phone, first_name, last_name, password, role, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (phone) DO NOTHING";
+
+    private static final List<String> CSV_COLUMNS = List.of("countryCode", "nationalNumber", "firstName", "lastName", "password", "role");
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PhoneNumberNormalizer phoneNumberNormalizer;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${identity.import.batch-size:500}")
+    private int batchSize;
+
+    // 0 means one hashing thread per available processor
+    @Value("${identity.import.hash-pool-size:0}")
+    private int hashPoolSize;
+
+    private ThreadPoolExecutor hashPool;
+    private final Map<UserImportResultDTO.Status, Counter> resultCounters = new EnumMap<>(UserImportResultDTO.Status.class);
+
+    @PostConstruct
+    void init() {
+        int threads = hashPoolSize > 0 ? hashPoolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // When several imports run at once and the queue fills up, the importing thread hashes too
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        for (UserImportResultDTO.Status status : UserImportResultDTO.Status.values()) {
+            resultCounters.put(status, Counter.builder("identity.users.import")
+                    .description("Rows processed by the bulk user import")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdown();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importUsers(InputStream input, Format format, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        RecordReader records = format == Format.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader);
+
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+        ImportRow row;
+        while ((row = records.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                writeResults(processChunk(chunk), writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(processChunk(chunk), writer);
+        }
+        writer.flush();
+    }
+
+    List<UserImportResultDTO> processChunk(List<ImportRow> chunk) {
+        UserImportResultDTO[] results = new UserImportResultDTO[chunk.size()];
+        String[] phones = new String[chunk.size()];
+
+        // Validate and normalize; the first row with a phone wins over later rows of the same chunk
+        Map<String, Integer> rowByPhone = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.user());
+            if (error == null) {
+                try {
+                    phones[i] = phoneNumberNormalizer.normalize(row.user().countryCode(), row.user().nationalNumber());
+                } catch (PhoneNumberInvalidException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = UserImportResultDTO.invalid(row.line(), error);
+            } else if (rowByPhone.putIfAbsent(phones[i], i) != null) {
+                results[i] = UserImportResultDTO.duplicate(row.line(), phones[i]);
+            }
+        }
+
+        // Skip the expensive hash for phones that are already registered
+        Set<String> existingPhones = rowByPhone.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingPhones(rowByPhone.keySet()));
+
+        List<Integer> pending = new ArrayList<>(rowByPhone.size());
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rowByPhone.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            if (existingPhones.contains(phones[i])) {
+                results[i] = UserImportResultDTO.duplicate(chunk.get(i).line(), phones[i]);
+                continue;
+            }
+            String password = chunk.get(i).user().password();
+            pending.add(i);
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashPool));
+        }
+
+        if (!pending.isEmpty()) {
+            insertBatch(chunk, phones, pending, hashes, results);
+        }
+
+        List<UserImportResultDTO> ordered = List.of(results);
+        for (UserImportResultDTO result : ordered) {
+            resultCounters.get(result.status()).increment();
+        }
+        return ordered;
+    }
+
+    private void insertBatch(List<ImportRow> chunk, String[] phones, List<Integer> pending,
+                             List<CompletableFuture<String>> hashes, UserImportResultDTO[] results) {
+        LocalDateTime now = LocalDateTime.now();
+        UUID[] ids = new UUID[pending.size()];
+        List<Object[]> batchArgs = new ArrayList<>(pending.size());
+        for (int k = 0; k < pending.size(); k++) {
+            int i = pending.get(k);
+            UserCreateDTO user = chunk.get(i).user();
+            ids[k] = UUID.randomUUID();
+            batchArgs.add(new Object[]{
+                    ids[k], phones[i], user.firstName(), user.lastName(), hashes.get(k).join(), user.role().name(), now, now
+            });
+        }
+
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs));
+
+        // Drivers that rewrite batches report SUCCESS_NO_INFO, which does not say whether ON CONFLICT
+        // skipped the row; the IDs are new, so the committed rows tell exactly which ones were inserted
+        List<UUID> unreported = new ArrayList<>();
+        for (int k = 0; k < pending.size(); k++) {
+            if (counts[k] == Statement.SUCCESS_NO_INFO) {
+                unreported.add(ids[k]);
+            }
+        }
+        Set<UUID> inserted = unreported.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(unreported));
+
+        for (int k = 0; k < pending.size(); k++) {
+            int i = pending.get(k);
+            long line = chunk.get(i).line();
+            boolean created = counts[k] == Statement.SUCCESS_NO_INFO ? inserted.contains(ids[k]) : counts[k] > 0;
+            results[i] = created
+                    ? UserImportResultDTO.created(line, ids[k], phones[i])
+                    : UserImportResultDTO.duplicate(line, phones[i]);
+        }
+    }
+
+    private String validate(UserCreateDTO user) {
+        Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeResults(List<UserImportResultDTO> results, Writer writer) throws IOException {
+        for (UserImportResultDTO result : results) {
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        // Push each finished chunk to the client instead of waiting for the whole upload
+        writer.flush();
+    }
+
+    // A parsed input record, or the reason it could not be parsed
+    record ImportRow(long line, UserCreateDTO user, String error) {
+    }
+
+    private interface RecordReader {
+        ImportRow next() throws IOException;
+    }
+
+    private final class NdjsonRecordReader implements RecordReader {
+
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ImportRow(lineNumber, objectMapper.readValue(line, UserCreateDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ImportRow(lineNumber, null, "Malformed record: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /*
+      Reads CSV with a header row naming the UserCreateDTO fields, in any order. Fields may be
+      quoted to contain commas, but a record must fit on a single line.
+    */
+    private static final class CsvRecordReader implements RecordReader {
+
+        private final BufferedReader reader;
+        private final int[] columnIndexes = new int[CSV_COLUMNS.size()];
+        private long lineNumber;
+
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header;
+            do {
+                header = reader.readLine();
+                lineNumber++;
+            } while (header != null && header.isBlank());
+            if (header == null) {
+                throw new InvalidImportFileException("The CSV file is empty.");
+            }
+
+            List<String> names = splitCsvLine(header);
+            for (int c = 0; c < CSV_COLUMNS.size(); c++) {
+                columnIndexes[c] = indexOfIgnoreCase(names, CSV_COLUMNS.get(c));
+                if (columnIndexes[c] < 0) {
+                    throw new InvalidImportFileException("The CSV header must contain the columns " + CSV_COLUMNS);
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                String role = field(fields, 5);
+                UserRole userRole;
+                try {
+                    userRole = role == null || role.isBlank() ? null : UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return new ImportRow(lineNumber, null, "Unknown role: " + role);
+                }
+                return new ImportRow(lineNumber, new UserCreateDTO(
+                        field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3), field(fields, 4), userRole), null);
+            }
+            return null;
+        }
+
+        private String field(List<String> fields, int column) {
+            int index = columnIndexes[column];
+            return index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static int indexOfIgnoreCase(List<String> names, String column) {
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).trim().equalsIgnoreCase(column)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    // An escaped quote inside a quoted field
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
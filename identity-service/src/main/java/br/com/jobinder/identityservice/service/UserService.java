@@ -2,26 +2,33 @@ package br.com.jobinder.identityservice.service;
 
 import br.com.jobinder.identityservice.domain.user.User;
 import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.dto.internal.InternalPasswordHashUpdateDTO;
+import br.com.jobinder.identityservice.dto.internal.InternalUserBatchResponseDTO;
 import br.com.jobinder.identityservice.dto.internal.InternalUserAuthDTO;
+import br.com.jobinder.identityservice.dto.internal.UserCredentialsChangedEvent;
 import br.com.jobinder.identityservice.dto.user.UserChangePasswordDTO;
 import br.com.jobinder.identityservice.dto.user.UserCreateDTO;
 import br.com.jobinder.identityservice.dto.user.UserResponseDTO;
 import br.com.jobinder.identityservice.dto.user.UserUpdateDTO;
 import br.com.jobinder.identityservice.infra.exception.user.InvalidPasswordException;
-import br.com.jobinder.identityservice.infra.exception.user.PhoneNumberInvalidException;
 import br.com.jobinder.identityservice.infra.exception.user.UserAlreadyExistsException;
 import br.com.jobinder.identityservice.infra.exception.user.UserNotFoundException;
-import com.google.i18n.phonenumbers.NumberParseException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
-import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -33,32 +40,19 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // Thread-safe singleton instance of PhoneNumberUtil
-    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
-
-    @Transactional
-    public UserResponseDTO registerUser(UserCreateDTO createDTO) {
-        PhoneNumber phoneNumber;
-
-        // Try to parse the phone number
-        try {
-            phoneNumber = phoneUtil.parse(createDTO.nationalNumber(), createDTO.countryCode());
-        } catch (NumberParseException e) {
-            throw new PhoneNumberInvalidException("Invalid phone number format: " + e.getMessage());
-        }
-
-        // Check if the number is valid for the given region
-        if (!phoneUtil.isValidNumber(phoneNumber)) {
-            throw new PhoneNumberInvalidException("Invalid phone number for the region " + createDTO.countryCode());
-        }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        // Format the number to E.164 standard
-        String e164FormattedPhone = phoneUtil.format(phoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
+    @Autowired
+    private PhoneNumberNormalizer phoneNumberNormalizer;
 
-        // Check if a user with the same phone number already exists
-        if (userRepository.existsByPhone(e164FormattedPhone)) {
-            throw new UserAlreadyExistsException("A user with this phone number already exists.");
-        }
+    /*
+      Deliberately not transactional: the BCrypt hash is computed before any connection is
+      checked out, and the unique phone constraint decides duplicates in the insert itself.
+    */
+    public UserResponseDTO registerUser(UserCreateDTO createDTO) {
+        // Validate the number and format it to the E.164 standard
+        String e164FormattedPhone = phoneNumberNormalizer.normalize(createDTO.countryCode(), createDTO.nationalNumber());
 
         // Encode the password using BCrypt
         var encodedPassword = passwordEncoder.encode(createDTO.password());
@@ -74,8 +68,16 @@ public class UserService {
                 null
         );
 
-        // Save the user to the database
-        var savedUser = userRepository.save(user);
+        // Insert in a short transaction of its own, flushed so a duplicate phone fails right here
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new UserAlreadyExistsException("A user with this phone number already exists.");
+            }
+            throw e;
+        }
 
         return new UserResponseDTO(
                 savedUser.getId(),
@@ -133,6 +135,9 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(passwordDTO.newPassword()));
         userRepository.save(user);
+
+        // Invalidate cached credentials and open sessions in auth-service once the transaction commits
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.PASSWORD_CHANGED));
     }
 
     @Transactional
@@ -141,10 +146,13 @@ public class UserService {
             throw new UserNotFoundException("User not found with ID: " + userId);
         }
         userRepository.deleteById(userId);
+
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.USER_DELETED));
     }
 
     public InternalUserAuthDTO findAuthDetailsByPhone(String phone) {
-        var user = userRepository.findByPhone(phone)
+        // Look up the same canonical form registration stores
+        var user = userRepository.findByPhone(phoneNumberNormalizer.canonicalize(phone))
                 .orElseThrow(() -> new UserNotFoundException("User not found with phone: " + phone));
 
         return new InternalUserAuthDTO(
@@ -155,6 +163,49 @@ public class UserService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public InternalUserBatchResponseDTO findUsersByIds(List<UUID> userIds) {
+        // Keep the request order but ask the database for each ID only once
+        Set<UUID> requestedIds = new LinkedHashSet<>(userIds);
+
+        Map<UUID, UserResponseDTO> foundById = new HashMap<>();
+        for (UserResponseDTO user : userRepository.findSummariesByIdIn(requestedIds)) {
+            foundById.put(user.id(), user);
+        }
+
+        List<UserResponseDTO> users = new ArrayList<>(foundById.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID userId : requestedIds) {
+            UserResponseDTO user = foundById.get(userId);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(userId);
+            }
+        }
+
+        return new InternalUserBatchResponseDTO(users, missingIds);
+    }
+
+    @Transactional
+    public void updatePasswordHash(UUID userId, InternalPasswordHashUpdateDTO hashUpdateDTO) {
+        int updated = userRepository.updatePasswordIfUnchanged(
+                userId,
+                hashUpdateDTO.currentHashedPassword(),
+                hashUpdateDTO.newHashedPassword()
+        );
+
+        // A stale hash means the password was changed meanwhile, so the upgrade is simply dropped
+        if (updated == 0 && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with ID: " + userId);
+        }
+
+        // Same password under a stronger hash: auth-service only reloads its cached copy, sessions stay open
+        if (updated > 0) {
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.HASH_UPGRADED));
+        }
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -165,4 +216,14 @@ public class UserService {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
     }
+
+    // PostgreSQL reports unique constraint violations with SQLState 23505
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23505".equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,10 @@
+-- Schema objects that JPA cannot describe. Runs after Hibernate updates the tables, on every
+-- start, so each statement must be idempotent.
+
+-- Full-text search over profile descriptions. A generated column is recomputed by PostgreSQL on
+-- every insert and update, so it can never drift from the description it indexes. The text
+-- search configuration must match ServiceProfileSearchRepositoryImpl.TEXT_SEARCH_CONFIG.
+ALTER TABLE service_profiles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_service_profiles_search ON service_profiles USING GIN (search_vector);
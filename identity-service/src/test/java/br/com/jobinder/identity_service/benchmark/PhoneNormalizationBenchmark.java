@@ -0,0 +1,108 @@
+package br.com.jobinder.identity_service.benchmark;
+
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+  Compares the parse / validate / format pipeline registerUser used to run on every call with
+  the cached normalizer and with the E.164 fast path taken by login lookups. The GC profiler
+  reports allocations per operation next to the timings.
+  Disabled by default; run with: mvn test -Dtest=PhoneNormalizationBenchmark -Dbenchmark=true
+*/
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PhoneNormalizationBenchmark {
+
+    @Test
+    @DisplayName("Should benchmark phone normalization against the uncached pipeline")
+    void runBenchmark() throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(PhoneNormalizationBenchmark.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                // Surefire starts the JVM from a manifest-only jar that forked JMH workers cannot reuse
+                .forks(0)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public static class Normalization {
+
+        // A working set that fits in the cache, like the numbers registering and logging in at a time
+        private static final int NUMBERS = 1_000;
+
+        private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        private final String[] nationalNumbers = new String[NUMBERS];
+        private final String[] e164Numbers = new String[NUMBERS];
+        private PhoneNumberNormalizer normalizer;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            normalizer = new PhoneNumberNormalizer();
+            ReflectionTestUtils.setField(normalizer, "cacheMaxSize", 10_000L);
+            ReflectionTestUtils.setField(normalizer, "defaultRegion", "BR");
+            ReflectionTestUtils.setField(normalizer, "meterRegistry", new SimpleMeterRegistry());
+            ReflectionTestUtils.invokeMethod(normalizer, "init");
+
+            for (int i = 0; i < NUMBERS; i++) {
+                nationalNumbers[i] = "1198" + String.format("%07d", i);
+                e164Numbers[i] = "+55" + nationalNumbers[i];
+            }
+        }
+
+        private int nextIndex() {
+            int index = next;
+            next = index + 1 == NUMBERS ? 0 : index + 1;
+            return index;
+        }
+
+        @Benchmark
+        public String uncachedPipeline() throws NumberParseException {
+            // What registerUser did before the normalizer existed
+            PhoneNumber phoneNumber = phoneUtil.parse(nationalNumbers[nextIndex()], "BR");
+            if (!phoneUtil.isValidNumber(phoneNumber)) {
+                throw new IllegalStateException("Benchmark numbers must be valid");
+            }
+            return phoneUtil.format(phoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
+        }
+
+        @Benchmark
+        public String cachedNormalize() {
+            return normalizer.normalize("BR", nationalNumbers[nextIndex()]);
+        }
+
+        @Benchmark
+        public String e164FastPath() {
+            return normalizer.canonicalize(e164Numbers[nextIndex()]);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.jobinder.identity_service.benchmark;
+
+import br.com.jobinder.identityservice.IdentityServiceApplication;
+import br.com.jobinder.identityservice.domain.user.User;
+import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.domain.user.UserRole;
+import br.com.jobinder.identityservice.dto.user.UserCreateDTO;
+import br.com.jobinder.identityservice.infra.exception.user.UserAlreadyExistsException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
+import br.com.jobinder.identityservice.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+  Compares the old registration path (phone lookup, BCrypt and save inside one transaction)
+  with UserService.registerUser against PostgreSQL and a deliberately small connection pool.
+  Reports throughput and how long each connection was held between checkout and return.
+  Disabled by default; run with: mvn test -Dtest=RegistrationPathBenchmark -Dbenchmark=true
+*/
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ContextConfiguration(classes = IdentityServiceApplication.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserService.class, PhoneNumberNormalizer.class, RegistrationPathBenchmark.BenchmarkConfig.class})
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class RegistrationPathBenchmark {
+
+    private static final int REGISTRATIONS = 400;
+    private static final int CALLERS = 32;
+
+    // Connection hold times of the current run, filled in by the DataSource wrapper
+    private static final ConcurrentLinkedQueue<Long> HOLD_NANOS = new ConcurrentLinkedQueue<>();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PhoneNumberNormalizer phoneNumberNormalizer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class BenchmarkConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // The production strength, so the hash costs what it costs on a real registration
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+
+        @Bean
+        static BeanPostProcessor connectionHoldTimer() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                            ? new HoldTimingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Test
+    @DisplayName("Registration: hash outside the transaction and let the unique constraint catch duplicates")
+    void registrationPaths() throws Exception {
+        Result legacy = run("exists+hash+save in one transaction", 0, this::registerLegacy);
+        Result current = run("hash first, single insert", 1, index -> userService.registerUser(createDTO(1, index)));
+
+        assertEquals(0, legacy.failures());
+        assertEquals(0, current.failures());
+        assertTrue(current.meanHoldMicros() < legacy.meanHoldMicros());
+    }
+
+    // What registerUser did before: the connection stays checked out while BCrypt runs
+    private void registerLegacy(int index) {
+        UserCreateDTO createDTO = createDTO(0, index);
+        transactionTemplate.executeWithoutResult(status -> {
+            String phone = phoneNumberNormalizer.normalize(createDTO.countryCode(), createDTO.nationalNumber());
+            if (userRepository.findExistingPhones(List.of(phone)).contains(phone)) {
+                throw new UserAlreadyExistsException("A user with this phone number already exists.");
+            }
+            userRepository.save(new User(null, phone, createDTO.firstName(), createDTO.lastName(),
+                    passwordEncoder.encode(createDTO.password()), createDTO.role(), null, null));
+        });
+    }
+
+    private Result run(String name, int series, IntConsumer register) throws InterruptedException {
+        // Warm up the pool, BCrypt and Hibernate on numbers outside the measured range
+        for (int i = 0; i < 20; i++) {
+            register.accept(REGISTRATIONS + i);
+        }
+        HOLD_NANOS.clear();
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Future<?>> futures = new ArrayList<>(REGISTRATIONS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            int index = i;
+            futures.add(callers.submit(() -> register.accept(index)));
+        }
+        int failures = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(1, TimeUnit.MINUTES));
+
+        long[] holds = HOLD_NANOS.stream().mapToLong(Long::longValue).sorted().toArray();
+        long meanHoldMicros = TimeUnit.NANOSECONDS.toMicros((long) Arrays.stream(holds).average().orElse(0));
+        System.out.printf("[%s] series=%d registrations=%d elapsed=%dms throughput=%.1f/s checkouts=%d " +
+                        "holdMean=%dus holdP99=%dus failures=%d%n",
+                name, series, REGISTRATIONS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                REGISTRATIONS / (elapsedNanos / 1e9), holds.length, meanHoldMicros,
+                TimeUnit.NANOSECONDS.toMicros(holds.length == 0 ? 0 : holds[(int) (holds.length * 0.99)]),
+                failures);
+        return new Result(meanHoldMicros, failures);
+    }
+
+    // Each series uses its own range of valid Brazilian mobile numbers
+    private static UserCreateDTO createDTO(int series, int index) {
+        return new UserCreateDTO("BR", String.format("119%d%07d", 6 + series, index),
+                "Bench", "User", "password123", UserRole.USER);
+    }
+
+    private record Result(long meanHoldMicros, int failures) {
+    }
+
+    // Times every connection from checkout until it is handed back to the pool
+    static class HoldTimingDataSource extends DelegatingDataSource {
+
+        HoldTimingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return timed(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return timed(super.getConnection(username, password));
+        }
+
+        private static Connection timed(Connection connection) {
+            long checkedOut = System.nanoTime();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && !connection.isClosed()) {
+                            HOLD_NANOS.add(System.nanoTime() - checkedOut);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
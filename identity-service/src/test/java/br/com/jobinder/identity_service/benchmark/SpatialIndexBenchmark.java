@@ -0,0 +1,139 @@
+package br.com.jobinder.identity_service.benchmark;
+
+import br.com.jobinder.identityservice.infra.geo.GeoEntry;
+import br.com.jobinder.identityservice.infra.geo.GeoGridIndex;
+import br.com.jobinder.identityservice.infra.geo.GeoMatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Query latency of the nearby search index against the number of indexed profiles, next to the
+  linear scan over every profile it replaces. Profiles are spread uniformly over Brazil's bounding
+  box, which is sparser than real data clustered in cities, so cell hits are if anything low.
+  Disabled by default; run with: mvn test -Dtest=SpatialIndexBenchmark -Dbenchmark=true
+*/
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SpatialIndexBenchmark {
+
+    @Test
+    @DisplayName("Should benchmark radius and nearest queries against profile count")
+    void runBenchmark() throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(SpatialIndexBenchmark.class.getName() + ".*")
+                // Surefire starts the JVM from a manifest-only jar that forked JMH workers cannot reuse
+                .forks(0)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public static class Queries {
+
+        private static final double MIN_LATITUDE = -33.7;
+        private static final double MAX_LATITUDE = 5.3;
+        private static final double MIN_LONGITUDE = -73.9;
+        private static final double MAX_LONGITUDE = -34.8;
+        private static final int QUERY_POINTS = 1_024;
+        private static final int RESULT_SIZE = 20;
+
+        @Param({"10000", "100000", "1000000"})
+        public int profiles;
+
+        private final double[] queryLatitudes = new double[QUERY_POINTS];
+        private final double[] queryLongitudes = new double[QUERY_POINTS];
+        private GeoEntry[] entries;
+        private GeoGridIndex index;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            UUID specialtyId = UUID.randomUUID();
+            entries = new GeoEntry[profiles];
+            List<GeoEntry> loaded = new ArrayList<>(profiles);
+            for (int i = 0; i < profiles; i++) {
+                entries[i] = new GeoEntry(UUID.randomUUID(), UUID.randomUUID(), specialtyId,
+                        randomBetween(random, MIN_LATITUDE, MAX_LATITUDE),
+                        randomBetween(random, MIN_LONGITUDE, MAX_LONGITUDE));
+                loaded.add(entries[i]);
+            }
+            index = new GeoGridIndex(0.1);
+            index.beginReload();
+            index.replaceAll(loaded);
+
+            for (int i = 0; i < QUERY_POINTS; i++) {
+                queryLatitudes[i] = randomBetween(random, MIN_LATITUDE, MAX_LATITUDE);
+                queryLongitudes[i] = randomBetween(random, MIN_LONGITUDE, MAX_LONGITUDE);
+            }
+        }
+
+        private static double randomBetween(Random random, double min, double max) {
+            return min + random.nextDouble() * (max - min);
+        }
+
+        private int nextIndex() {
+            int current = next;
+            next = (current + 1) & (QUERY_POINTS - 1);
+            return current;
+        }
+
+        @Benchmark
+        public List<GeoMatch> indexWithinRadius() {
+            int i = nextIndex();
+            return index.withinRadius(queryLatitudes[i], queryLongitudes[i], 50, entry -> true, RESULT_SIZE);
+        }
+
+        @Benchmark
+        public List<GeoMatch> indexNearest() {
+            int i = nextIndex();
+            return index.nearest(queryLatitudes[i], queryLongitudes[i], RESULT_SIZE, 200, entry -> true);
+        }
+
+        @Benchmark
+        public List<GeoMatch> linearScanNearest() {
+            // What a query without the index costs: a distance for every profile
+            int i = nextIndex();
+            PriorityQueue<GeoMatch> best = new PriorityQueue<>(RESULT_SIZE + 1,
+                    (a, b) -> Double.compare(b.distanceKm(), a.distanceKm()));
+            for (GeoEntry entry : entries) {
+                double distance = GeoGridIndex.distanceKm(queryLatitudes[i], queryLongitudes[i],
+                        entry.latitude(), entry.longitude());
+                if (best.size() < RESULT_SIZE) {
+                    best.add(new GeoMatch(entry, distance));
+                } else if (distance < best.peek().distanceKm()) {
+                    best.poll();
+                    best.add(new GeoMatch(entry, distance));
+                }
+            }
+            return new ArrayList<>(best);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.jobinder.identity_service.infra.geo;
+
+import br.com.jobinder.identityservice.infra.geo.GeoEntry;
+import br.com.jobinder.identityservice.infra.geo.GeoGridIndex;
+import br.com.jobinder.identityservice.infra.geo.GeoMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridIndexTest {
+
+    private static final UUID SPECIALTY_ID = UUID.randomUUID();
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex(0.1);
+    }
+
+    @Test
+    @DisplayName("Should return only entries inside the radius, nearest first")
+    void withinRadius_ShouldReturnEntriesInsideRadiusNearestFirst() {
+        // Given (São Paulo, Campinas about 85 km away and Rio de Janeiro about 360 km away)
+        GeoEntry saoPaulo = entry(UUID.randomUUID(), -23.5505, -46.6333);
+        GeoEntry campinas = entry(UUID.randomUUID(), -22.9056, -47.0608);
+        GeoEntry rio = entry(UUID.randomUUID(), -22.9068, -43.1729);
+        index.put(rio);
+        index.put(campinas);
+        index.put(saoPaulo);
+
+        // When
+        List<GeoMatch> matches = index.withinRadius(-23.5505, -46.6333, 100, entry -> true, 10);
+
+        // Then
+        assertEquals(List.of(saoPaulo, campinas), matches.stream().map(GeoMatch::entry).toList());
+        assertEquals(0.0, matches.get(0).distanceKm(), 1e-9);
+        assertEquals(84.0, matches.get(1).distanceKm(), 5.0);
+    }
+
+    @Test
+    @DisplayName("Should return the same k nearest entries as a linear scan")
+    void nearest_ShouldMatchLinearScan() {
+        // Given
+        Random random = new Random(42);
+        List<GeoEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            GeoEntry entry = entry(UUID.randomUUID(), -30 + random.nextDouble() * 10, -55 + random.nextDouble() * 10);
+            entries.add(entry);
+            index.put(entry);
+        }
+
+        for (int query = 0; query < 20; query++) {
+            double latitude = -30 + random.nextDouble() * 10;
+            double longitude = -55 + random.nextDouble() * 10;
+
+            // When
+            List<GeoMatch> matches = index.nearest(latitude, longitude, 10, 2_000, entry -> true);
+
+            // Then
+            List<GeoEntry> expected = entries.stream()
+                    .sorted(Comparator.comparingDouble(entry ->
+                            GeoGridIndex.distanceKm(latitude, longitude, entry.latitude(), entry.longitude())))
+                    .limit(10)
+                    .toList();
+            assertEquals(expected, matches.stream().map(GeoMatch::entry).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should find entries on the other side of the antimeridian")
+    void withinRadius_AcrossAntimeridian_ShouldFindEntry() {
+        // Given
+        GeoEntry east = entry(UUID.randomUUID(), 0, -179.95);
+        index.put(east);
+
+        // When
+        List<GeoMatch> matches = index.withinRadius(0, 179.95, 50, entry -> true, 10);
+
+        // Then
+        assertEquals(1, matches.size());
+        assertEquals(11.1, matches.get(0).distanceKm(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Should apply the filter and the limit")
+    void withinRadius_WithFilterAndLimit_ShouldKeepNearestMatching() {
+        // Given
+        UUID otherSpecialty = UUID.randomUUID();
+        index.put(new GeoEntry(UUID.randomUUID(), UUID.randomUUID(), otherSpecialty, -23.55, -46.63));
+        GeoEntry near = entry(UUID.randomUUID(), -23.56, -46.64);
+        GeoEntry far = entry(UUID.randomUUID(), -23.70, -46.80);
+        index.put(far);
+        index.put(near);
+
+        // When
+        List<GeoMatch> matches = index.withinRadius(-23.55, -46.63, 100,
+                entry -> SPECIALTY_ID.equals(entry.specialtyId()), 1);
+
+        // Then
+        assertEquals(List.of(near), matches.stream().map(GeoMatch::entry).toList());
+    }
+
+    @Test
+    @DisplayName("Should move every entry of a location when it is relocated")
+    void relocate_ShouldMoveEntriesOfLocation() {
+        // Given
+        UUID locationId = UUID.randomUUID();
+        UUID profileId = UUID.randomUUID();
+        index.put(new GeoEntry(profileId, locationId, SPECIALTY_ID, 0, 0));
+
+        // When
+        index.relocate(locationId, -23.55, -46.63);
+
+        // Then
+        assertTrue(index.withinRadius(0, 0, 10, entry -> true, 10).isEmpty());
+        List<GeoMatch> matches = index.withinRadius(-23.55, -46.63, 10, entry -> true, 10);
+        assertEquals(profileId, matches.get(0).entry().profileId());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a reload was loading its rows")
+    void replaceAll_ShouldReplayWritesDuringReload() {
+        // Given
+        GeoEntry stale = entry(UUID.randomUUID(), 10, 10);
+        index.put(stale);
+        GeoEntry loaded = entry(UUID.randomUUID(), -23.55, -46.63);
+        GeoEntry writtenMeanwhile = entry(UUID.randomUUID(), -23.56, -46.64);
+
+        // When
+        index.beginReload();
+        index.put(writtenMeanwhile);
+        index.replaceAll(List.of(loaded));
+
+        // Then
+        assertEquals(2, index.size());
+        assertTrue(index.withinRadius(10, 10, 10, entry -> true, 10).isEmpty());
+        assertEquals(2, index.withinRadius(-23.55, -46.63, 10, entry -> true, 10).size());
+    }
+
+    private static GeoEntry entry(UUID profileId, double latitude, double longitude) {
+        return new GeoEntry(profileId, UUID.randomUUID(), SPECIALTY_ID, latitude, longitude);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.jobinder.identity_service.infra.phone;
+
+import br.com.jobinder.identityservice.infra.exception.user.PhoneNumberInvalidException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumberNormalizerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PhoneNumberNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        normalizer = new PhoneNumberNormalizer();
+        ReflectionTestUtils.setField(normalizer, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(normalizer, "defaultRegion", "BR");
+        ReflectionTestUtils.setField(normalizer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(normalizer, "init");
+    }
+
+    @Test
+    @DisplayName("Should format valid numbers to E.164 and serve repeats from the cache")
+    void normalize_WithValidNumber_ShouldReturnE164AndCacheIt() {
+        // When
+        String first = normalizer.normalize("BR", "11999999999");
+        String second = normalizer.normalize("BR", "11999999999");
+
+        // Then
+        assertEquals("+5511999999999", first);
+        assertEquals(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "identity.phone-normalization")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid numbers every time without caching them")
+    void normalize_WithInvalidNumber_ShouldThrowException() {
+        // When & Then
+        assertThrows(PhoneNumberInvalidException.class, () -> normalizer.normalize("BR", "123"));
+        assertThrows(PhoneNumberInvalidException.class, () -> normalizer.normalize("BR", "123"));
+        assertEquals(0.0, meterRegistry.get("cache.size").tag("cache", "identity.phone-normalization")
+                .gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should keep E.164 input, convert national numbers and pass unparseable input through")
+    void canonicalize_WithDifferentInputs_ShouldReturnCanonicalForm() {
+        // When & Then
+        assertEquals("+5511999999999", normalizer.canonicalize("+5511999999999"));
+        assertEquals("+5511999999999", normalizer.canonicalize("11999999999"));
+        assertEquals("not-a-phone", normalizer.canonicalize("not-a-phone"));
+    }
+}
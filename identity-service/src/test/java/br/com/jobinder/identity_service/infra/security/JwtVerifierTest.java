@@ -0,0 +1,165 @@
+package br.com.jobinder.identity_service.infra.security;
+
+import br.com.jobinder.identityservice.infra.security.JwtVerifier;
+import br.com.jobinder.identityservice.infra.security.TokenRevocationList;
+import br.com.jobinder.identityservice.infra.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "jwt-secret-token-jwt-secret-token-jwt-secret-token";
+
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtVerifier jwtVerifier;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        tokenRevocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(tokenRevocationList, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(tokenRevocationList, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(tokenRevocationList, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(tokenRevocationList, "init");
+
+        jwtVerifier = new JwtVerifier();
+        ReflectionTestUtils.setField(jwtVerifier, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtVerifier, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtVerifier, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(jwtVerifier, "tokenRevocationList", tokenRevocationList);
+        ReflectionTestUtils.invokeMethod(jwtVerifier, "init");
+    }
+
+    private String buildToken(String subject, long expiresInMs) {
+        return buildToken(subject, null, expiresInMs);
+    }
+
+    private String buildToken(String subject, String jti, long expiresInMs) {
+        Date now = new Date();
+        return Jwts.builder()
+                .id(jti)
+                .subject(subject)
+                .claim("role", "USER")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expiresInMs))
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("Should return subject and role when the token is valid")
+    void verify_WithValidToken_ShouldReturnClaims() {
+        // Given
+        String userId = UUID.randomUUID().toString();
+        String token = buildToken(userId, 60_000);
+
+        // When
+        Optional<VerifiedToken> result = jwtVerifier.verify(token);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(userId, result.get().subject());
+        assertEquals("USER", result.get().role());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the cache without verifying it again")
+    void verify_WithRepeatedToken_ShouldHitCache() {
+        // Given
+        String token = buildToken(UUID.randomUUID().toString(), 60_000);
+
+        // When
+        jwtVerifier.verify(token);
+        jwtVerifier.verify(token);
+        jwtVerifier.verify(token);
+
+        // Then
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "valid").timer().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with a different key")
+    void verify_WithTamperedToken_ShouldReturnEmpty() {
+        // Given
+        SecretKey otherKey = Keys.hmacShaKeyFor("another-secret-another-secret-another-secret".getBytes(StandardCharsets.UTF_8));
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("role", "ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(otherKey)
+                .compact();
+
+        // When
+        Optional<VerifiedToken> result = jwtVerifier.verify(token);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_WithExpiredToken_ShouldReturnEmpty() {
+        // Given
+        String token = buildToken(UUID.randomUUID().toString(), -60_000);
+
+        // When
+        Optional<VerifiedToken> result = jwtVerifier.verify(token);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed input")
+    void verify_WithGarbage_ShouldReturnEmpty() {
+        assertTrue(jwtVerifier.verify("not-a-jwt").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token even when it is already cached")
+    void verify_WithRevokedCachedToken_ShouldReturnEmpty() {
+        // Given
+        String jti = UUID.randomUUID().toString();
+        String token = buildToken(UUID.randomUUID().toString(), jti, 60_000);
+        assertTrue(jwtVerifier.verify(token).isPresent());
+
+        // When
+        tokenRevocationList.revoke(jti, System.currentTimeMillis() + 60_000);
+
+        // Then
+        assertTrue(jwtVerifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accept tokens whose jti was not revoked")
+    void verify_WithOtherTokenRevoked_ShouldReturnClaims() {
+        // Given
+        String token = buildToken(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 60_000);
+
+        // When
+        tokenRevocationList.revoke(UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+
+        // Then
+        assertTrue(jwtVerifier.verify(token).isPresent());
+    }
+}
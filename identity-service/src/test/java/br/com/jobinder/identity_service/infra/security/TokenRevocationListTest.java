@@ -0,0 +1,84 @@
+package br.com.jobinder.identity_service.infra.security;
+
+import br.com.jobinder.identityservice.infra.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(tokenRevocationList, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(tokenRevocationList, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(tokenRevocationList, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(tokenRevocationList, "init");
+    }
+
+    @Test
+    @DisplayName("Should report every revoked jti and no unrevoked one")
+    void isRevoked_ShouldBeExact() {
+        // Given
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            tokenRevocationList.revoke(jti, System.currentTimeMillis() + 60_000);
+        }
+
+        // Then
+        revoked.forEach(jti -> assertTrue(tokenRevocationList.isRevoked(jti)));
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(tokenRevocationList.isRevoked(UUID.randomUUID().toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore revocations of tokens that already expired")
+    void revoke_WithExpiredToken_ShouldIgnore() {
+        // Given
+        String jti = UUID.randomUUID().toString();
+
+        // When
+        tokenRevocationList.revoke(jti, System.currentTimeMillis() - 1);
+
+        // Then
+        assertFalse(tokenRevocationList.isRevoked(jti));
+        assertEquals(0.0, meterRegistry.get("jwt.revoked-tokens").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should keep unexpired revocations after purging expired ones")
+    void purgeExpired_ShouldKeepLiveEntries() {
+        // Given
+        String live = UUID.randomUUID().toString();
+        String expiring = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(live, System.currentTimeMillis() + 60_000);
+        tokenRevocationList.revoke(expiring, System.currentTimeMillis() + 1);
+
+        // When
+        long deadline = System.currentTimeMillis() + 5;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        tokenRevocationList.purgeExpired();
+
+        // Then
+        assertTrue(tokenRevocationList.isRevoked(live));
+        assertFalse(tokenRevocationList.isRevoked(expiring));
+        assertEquals(1.0, meterRegistry.get("jwt.revoked-tokens").gauge().value());
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.jobinder.identity_service.integration;
+
+import br.com.jobinder.identityservice.IdentityServiceApplication;
+import br.com.jobinder.identityservice.domain.location.Location;
+import br.com.jobinder.identityservice.domain.location.LocationRepository;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfile;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.domain.specialty.Specialty;
+import br.com.jobinder.identityservice.domain.specialty.SpecialtyRepository;
+import br.com.jobinder.identityservice.domain.user.User;
+import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.domain.user.UserRole;
+import br.com.jobinder.identityservice.service.ProfileStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against a real PostgreSQL, since correctness rests on its row locks; skipped without Docker
+@DataJpaTest
+@ContextConfiguration(classes = IdentityServiceApplication.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProfileStatsService.class, ProfileStatsConcurrencyTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ProfileStatsConcurrencyTest {
+
+    private static final int RECORDERS = 15;
+    private static final int EVENTS_PER_RECORDER = 500;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private ProfileStatsService profileStatsService;
+
+    @Autowired
+    private ServiceProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply every event while flushes race, and never expose a rating that disagrees with its count")
+    void flush_WithConcurrentRecordersAndFlushes_ShouldLoseNothing() throws Exception {
+        // Given
+        UUID profileId = saveProfile().getId();
+        ExecutorService executor = Executors.newFixedThreadPool(RECORDERS + 3);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+
+        try {
+            // When (recorders, two flushers standing in for two instances, and a reader)
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int i = 0; i < RECORDERS; i++) {
+                int rating = i % 5 + 1;
+                recorders.add(executor.submit(() -> {
+                    start.await();
+                    for (int event = 0; event < EVENTS_PER_RECORDER; event++) {
+                        profileStatsService.recordReview(profileId, rating);
+                        profileStatsService.recordCompletion(profileId);
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> background = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                background.add(executor.submit(() -> {
+                    start.await();
+                    while (recording.get()) {
+                        profileStatsService.flush();
+                    }
+                    return null;
+                }));
+            }
+            background.add(executor.submit(() -> {
+                start.await();
+                while (recording.get()) {
+                    assertConsistent(readStats(profileId));
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+            recording.set(false);
+            for (Future<?> task : background) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        profileStatsService.flush();
+
+        // Then (ratings 1 to 5 spread evenly over the recorders average exactly 3 here)
+        Map<String, Object> stats = readStats(profileId);
+        int events = RECORDERS * EVENTS_PER_RECORDER;
+        assertEquals(events, ((Number) stats.get("services_performed")).intValue());
+        assertEquals(events, ((Number) stats.get("rating_count")).intValue());
+        assertEquals(3.0, ((Number) stats.get("rating")).doubleValue(), 1e-6);
+        assertConsistent(stats);
+    }
+
+    private Map<String, Object> readStats(UUID profileId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT services_performed, rating, rating_count, rating_sum FROM service_profiles WHERE id = ?", profileId);
+    }
+
+    private static void assertConsistent(Map<String, Object> stats) {
+        long count = ((Number) stats.get("rating_count")).longValue();
+        if (count > 0) {
+            double expected = ((Number) stats.get("rating_sum")).doubleValue() / count;
+            assertEquals(expected, ((Number) stats.get("rating")).doubleValue(), 1e-5);
+        }
+    }
+
+    private ServiceProfile saveProfile() {
+        Specialty specialty = specialtyRepository.saveAndFlush(new Specialty(null, "Gardener " + UUID.randomUUID()));
+        Location location = locationRepository.saveAndFlush(new Location(null, "Santos " + UUID.randomUUID(), "SP"));
+        User user = userRepository.saveAndFlush(new User(null, "+55119" + (10_000_000 + (int) (Math.random() * 89_999_999)),
+                "Test", "User", "hash", UserRole.USER, null, null));
+        return profileRepository.saveAndFlush(new ServiceProfile(null, user, specialty, location,
+                null, 0, 0.0f, 0, 0L, "Mon-Fri", "Jardinagem", null, null));
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.jobinder.identity_service.integration;
+
+import br.com.jobinder.identityservice.IdentityServiceApplication;
+import br.com.jobinder.identityservice.domain.location.Location;
+import br.com.jobinder.identityservice.domain.location.LocationRepository;
+import br.com.jobinder.identityservice.domain.specialty.Specialty;
+import br.com.jobinder.identityservice.domain.specialty.SpecialtyRepository;
+import br.com.jobinder.identityservice.service.LocationService;
+import br.com.jobinder.identityservice.service.SpecialtyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against a real PostgreSQL, since the upsert relies on ON CONFLICT; skipped without Docker
+@DataJpaTest
+@ContextConfiguration(classes = IdentityServiceApplication.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LocationService.class, SpecialtyService.class, ReferenceDataUpsertConcurrencyTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ReferenceDataUpsertConcurrencyTest {
+
+    private static final int CREATORS = 300;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    @DisplayName("Should create a single location when hundreds of requests race for a new city")
+    void findOrCreateLocation_WithConcurrentCreators_ShouldNeverFailOrDuplicate() throws Exception {
+        // Given (the same city in different cases)
+        List<Callable<UUID>> creators = new ArrayList<>();
+        for (int i = 0; i < CREATORS; i++) {
+            String city = i % 2 == 0 ? "Campinas" : "CAMPINAS";
+            String state = i % 3 == 0 ? "sp" : "SP";
+            creators.add(() -> locationService.findOrCreateLocation(city, state).getId());
+        }
+
+        // When
+        Set<UUID> ids = runConcurrently(creators);
+
+        // Then
+        assertEquals(1, ids.size());
+        Location stored = locationRepository.findByLookupKey("campinas|sp").orElseThrow();
+        assertEquals(ids.iterator().next(), stored.getId());
+        assertEquals(1, locationRepository.findAll().stream()
+                .filter(location -> location.getCity().equalsIgnoreCase("campinas"))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should create a single specialty when hundreds of requests race for a new name")
+    void findOrCreateSpecialty_WithConcurrentCreators_ShouldNeverFailOrDuplicate() throws Exception {
+        // Given
+        List<Callable<UUID>> creators = new ArrayList<>();
+        for (int i = 0; i < CREATORS; i++) {
+            String name = i % 2 == 0 ? "Roofer" : "roofer";
+            creators.add(() -> specialtyService.findOrCreateSpecialty(name).getId());
+        }
+
+        // When
+        Set<UUID> ids = runConcurrently(creators);
+
+        // Then
+        assertEquals(1, ids.size());
+        Specialty stored = specialtyRepository.findByLookupKey("roofer").orElseThrow();
+        assertEquals(ids.iterator().next(), stored.getId());
+    }
+
+    // Releases every creator at once; any exception fails the test through Future.get()
+    private static Set<UUID> runConcurrently(List<Callable<UUID>> creators) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>();
+            for (Callable<UUID> creator : creators) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return creator.call();
+                }));
+            }
+            start.countDown();
+
+            List<UUID> ids = new ArrayList<>();
+            for (Future<UUID> future : futures) {
+                ids.add(future.get());
+            }
+            return ids.stream().collect(Collectors.toSet());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.jobinder.identity_service.integration;
+
+import br.com.jobinder.identityservice.IdentityServiceApplication;
+import br.com.jobinder.identityservice.domain.location.Location;
+import br.com.jobinder.identityservice.domain.location.LocationRepository;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfile;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.domain.specialty.Specialty;
+import br.com.jobinder.identityservice.domain.specialty.SpecialtyRepository;
+import br.com.jobinder.identityservice.domain.user.User;
+import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.domain.user.UserRole;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against a real PostgreSQL, since search relies on tsvector and a GIN index; skipped without Docker
+@DataJpaTest
+@ContextConfiguration(classes = IdentityServiceApplication.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ServiceProfileSearchTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private ServiceProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Location saoPaulo;
+    private ServiceProfile specialist;
+    private ServiceProfile sideJob;
+
+    @BeforeEach
+    void setUp() {
+        Specialty plumber = specialtyRepository.saveAndFlush(new Specialty(null, "Plumber"));
+        saoPaulo = locationRepository.saveAndFlush(new Location(null, "Sao Paulo", "SP"));
+        Location campinas = locationRepository.saveAndFlush(new Location(null, "Campinas", "SP"));
+
+        specialist = saveProfile("11911111111", plumber, saoPaulo,
+                "Encanador especialista em vazamentos. Encanador de confiança há dez anos.");
+        sideJob = saveProfile("11922222222", plumber, campinas,
+                "Pintor de paredes e, nas horas vagas, encanador.");
+        saveProfile("11933333333", plumber, saoPaulo,
+                "Eletricista residencial e instalação de chuveiros.");
+    }
+
+    private ServiceProfile saveProfile(String nationalNumber, Specialty specialty, Location location, String description) {
+        User user = userRepository.saveAndFlush(new User(null, "+55" + nationalNumber, "Test", "User",
+                "hash", UserRole.USER, null, null));
+        return profileRepository.saveAndFlush(new ServiceProfile(null, user, specialty, location,
+                null, 0, 0.0f, 0, 0L, "Mon-Fri", description, null, null));
+    }
+
+    @Test
+    @DisplayName("Should rank matching profiles by relevance and leave out the ones that do not match")
+    void search_WithQuery_ShouldReturnRankedMatches() {
+        // When
+        List<ServiceProfileSearchHit> hits = profileRepository.search("encanadores", null, null, null, 10);
+
+        // Then (stemming matches the plural against the singular in both descriptions)
+        assertEquals(List.of(specialist.getId(), sideJob.getId()), ids(hits));
+        assertTrue(hits.get(0).rank() > hits.get(1).rank());
+        assertEquals("Plumber", hits.get(0).profile().specialtyName());
+        assertEquals("Sao Paulo", hits.get(0).profile().locationCity());
+    }
+
+    @Test
+    @DisplayName("Should restrict matches to the requested location")
+    void search_WithLocation_ShouldFilterMatches() {
+        // When
+        List<ServiceProfileSearchHit> hits = profileRepository.search("encanador", null, saoPaulo.getId(), null, 10);
+
+        // Then
+        assertEquals(List.of(specialist.getId()), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Should continue from the cursor of the previous page")
+    void search_WithCursor_ShouldReturnFollowingPage() {
+        // Given
+        List<ServiceProfileSearchHit> firstPage = profileRepository.search("encanador", null, null, null, 1);
+
+        // When
+        List<ServiceProfileSearchHit> secondPage = profileRepository.search("encanador", null, null,
+                ServiceProfileSearchCursor.of(firstPage.get(0)), 1);
+        List<ServiceProfileSearchHit> thirdPage = profileRepository.search("encanador", null, null,
+                ServiceProfileSearchCursor.of(secondPage.get(0)), 1);
+
+        // Then
+        assertEquals(List.of(specialist.getId()), ids(firstPage));
+        assertEquals(List.of(sideJob.getId()), ids(secondPage));
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should answer the text match from the GIN index instead of scanning the table")
+    void search_Plan_ShouldUseGinIndex() {
+        // Given (the table is tiny, so make the planner show whether the index can serve the match)
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // When
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM service_profiles WHERE search_vector @@ websearch_to_tsquery('portuguese', 'encanador')",
+                String.class);
+
+        // Then
+        assertTrue(String.join("\n", plan).contains("idx_service_profiles_search"), String.join("\n", plan));
+    }
+
+    private static List<UUID> ids(List<ServiceProfileSearchHit> hits) {
+        return hits.stream().map(hit -> hit.profile().serviceProfileId()).toList();
+    }
+}
@@ -2,15 +2,23 @@ package br.com.jobinder.identity_service.service;
 
 import br.com.jobinder.identityservice.domain.location.Location;
 import br.com.jobinder.identityservice.domain.location.LocationRepository;
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.dto.location.LocationCoordinatesDTO;
 import br.com.jobinder.identityservice.dto.location.LocationDTO;
+import br.com.jobinder.identityservice.infra.exception.location.LocationNotFoundException;
 import br.com.jobinder.identityservice.service.LocationService;
+import br.com.jobinder.identityservice.service.NearbyProfileService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,9 +33,22 @@ class LocationServiceTest {
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private NearbyProfileService nearbyProfileService;
+
+    @Mock
+    private ServiceProfileRepository profileRepository;
+
     @InjectMocks
     private LocationService locationService;
 
+    @BeforeEach
+    void setUp() {
+        // Loads the (empty) table into memory, as on startup
+        ReflectionTestUtils.setField(locationService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(locationService, "init");
+    }
+
     @Test
     @DisplayName("Should return existing location when city and state already exist")
     void findOrCreateLocation_WhenLocationExists_ShouldReturnExisting() {
@@ -36,8 +57,8 @@ class LocationServiceTest {
         String state = "SP";
         Location existingLocation = new Location(UUID.randomUUID(), city, state);
 
-        // Mocking
-        when(locationRepository.findByCityIgnoreCaseAndStateIgnoreCase(city, state))
+        // Mocking (the upsert hits the conflict and returns the stored row)
+        when(locationRepository.insertIfAbsent(any(UUID.class), eq(city), eq(state), eq("são paulo|sp")))
                 .thenReturn(Optional.of(existingLocation));
 
         // When
@@ -62,14 +83,8 @@ class LocationServiceTest {
         String state = "RJ";
 
         // Mocking
-        when(locationRepository.findByCityIgnoreCaseAndStateIgnoreCase(city, state))
-                .thenReturn(Optional.empty());
-
-        when(locationRepository.save(any(Location.class))).thenAnswer(invocation -> {
-            Location loc = invocation.getArgument(0);
-            loc.setId(UUID.randomUUID()); // Simulate ID generation
-            return loc;
-        });
+        when(locationRepository.insertIfAbsent(any(UUID.class), eq(city), eq(state), eq("rio de janeiro|rj")))
+                .thenAnswer(invocation -> Optional.of(new Location(invocation.getArgument(0), city, state)));
 
         // When
         Location result = locationService.findOrCreateLocation(city, state);
@@ -81,7 +96,7 @@ class LocationServiceTest {
         assertEquals(state, result.getState());
 
         // Verify
-        verify(locationRepository)
+        verify(locationRepository, never())
                 .save(any(Location.class));
     }
 
@@ -97,6 +112,7 @@ class LocationServiceTest {
                 .thenReturn(List.of(loc1, loc2));
 
         // When
+        locationService.reload();
         List<LocationDTO> result = locationService.findAll();
 
         // Then
@@ -108,8 +124,80 @@ class LocationServiceTest {
 
         assertEquals(loc2.getCity(), result.get(1).city());
 
-        // Verify
-        verify(locationRepository)
+        // Verify (once on startup and once on reload, never per request)
+        verify(locationRepository, times(2))
                 .findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve known locations from memory regardless of case")
+    void findOrCreateLocation_WhenLocationIsCached_ShouldNotQueryDatabase() {
+        // Given
+        Location existingLocation = new Location(UUID.randomUUID(), "São Paulo", "SP");
+
+        // Mocking
+        when(locationRepository.findAll())
+                .thenReturn(List.of(existingLocation));
+        locationService.reload();
+
+        // When
+        Location result = locationService.findOrCreateLocation("SÃO PAULO", "sp");
+
+        // Then
+        assertEquals(existingLocation.getId(), result.getId());
+
+        // Verify
+        verify(locationRepository, never())
+                .insertIfAbsent(any(), any(), any(), any());
+        verify(locationRepository, never())
+                .findByLookupKey(any());
+    }
+
+    @Test
+    @DisplayName("Should store the coordinates and move the location's profiles in the nearby index")
+    void updateCoordinates_WhenLocationExists_ShouldUpdateAndRelocate() {
+        // Given
+        UUID locationId = UUID.randomUUID();
+        LocationCoordinatesDTO coordinates = new LocationCoordinatesDTO(-23.5505, -46.6333);
+        Location updated = new Location(locationId, "São Paulo", "SP");
+        updated.setLatitude(-23.5505);
+        updated.setLongitude(-46.6333);
+
+        // Mocking
+        when(locationRepository.updateCoordinates(locationId, -23.5505, -46.6333))
+                .thenReturn(1);
+        when(locationRepository.findById(locationId))
+                .thenReturn(Optional.of(updated));
+
+        // When
+        LocationDTO result = locationService.updateCoordinates(locationId, coordinates);
+
+        // Then
+        assertEquals(-23.5505, result.latitude());
+        assertEquals(-46.6333, result.longitude());
+
+        // Verify
+        verify(nearbyProfileService, times(1))
+                .relocate(locationId, -23.5505, -46.6333);
+        verify(profileRepository, times(1))
+                .touchByLocationId(eq(locationId), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should throw LocationNotFoundException when no location has the ID")
+    void updateCoordinates_WhenLocationDoesNotExist_ShouldThrowException() {
+        // Given
+        UUID locationId = UUID.randomUUID();
+
+        // Mocking
+        when(locationRepository.updateCoordinates(locationId, 1.0, 2.0))
+                .thenReturn(0);
+
+        // When & Then
+        assertThrows(LocationNotFoundException.class,
+                () -> locationService.updateCoordinates(locationId, new LocationCoordinatesDTO(1.0, 2.0)));
+
+        // Verify
+        verifyNoInteractions(nearbyProfileService);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.jobinder.identity_service.service;
+
+import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepository;
+import br.com.jobinder.identityservice.domain.specialty.Specialty;
+import br.com.jobinder.identityservice.dto.serviceprofile.NearbyServiceProfileDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidSearchQueryException;
+import br.com.jobinder.identityservice.infra.geo.GeoEntry;
+import br.com.jobinder.identityservice.service.NearbyProfileService;
+import br.com.jobinder.identityservice.service.SpecialtyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearbyProfileServiceTest {
+
+    private static final UUID PLUMBER_ID = UUID.randomUUID();
+    private static final UUID PAINTER_ID = UUID.randomUUID();
+
+    private final UUID nearProfileId = UUID.randomUUID();
+    private final UUID farProfileId = UUID.randomUUID();
+    private final UUID painterProfileId = UUID.randomUUID();
+
+    @Mock
+    private ServiceProfileRepository profileRepository;
+
+    @Mock
+    private SpecialtyService specialtyService;
+
+    @InjectMocks
+    private NearbyProfileService nearbyProfileService;
+
+    @BeforeEach
+    void setUp() {
+        // São Paulo, Campinas and (a painter in) São Paulo, loaded as on startup
+        when(profileRepository.findGeoEntries())
+                .thenReturn(List.of(
+                        new GeoEntry(nearProfileId, UUID.randomUUID(), PLUMBER_ID, -23.5505, -46.6333),
+                        new GeoEntry(farProfileId, UUID.randomUUID(), PLUMBER_ID, -22.9056, -47.0608),
+                        new GeoEntry(painterProfileId, UUID.randomUUID(), PAINTER_ID, -23.5505, -46.6333)));
+
+        ReflectionTestUtils.setField(nearbyProfileService, "cellSizeDegrees", 0.1);
+        ReflectionTestUtils.setField(nearbyProfileService, "maxRadiusKm", 200.0);
+        ReflectionTestUtils.setField(nearbyProfileService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(nearbyProfileService, "init");
+    }
+
+    @Test
+    @DisplayName("Should return the profiles of the specialty nearest first, read in a single query")
+    void findNearby_WithSpecialty_ShouldReturnProfilesNearestFirst() {
+        // Mocking
+        when(specialtyService.findByName("Plumber"))
+                .thenReturn(Optional.of(new Specialty(PLUMBER_ID, "Plumber")));
+        when(profileRepository.findDtosByIdIn(List.of(nearProfileId, farProfileId)))
+                .thenReturn(List.of(profileDto(farProfileId), profileDto(nearProfileId)));
+
+        // When
+        List<NearbyServiceProfileDTO> result = nearbyProfileService.findNearby(-23.5505, -46.6333, null, "Plumber", 10);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(nearProfileId, result.get(0).profile().serviceProfileId());
+        assertEquals(farProfileId, result.get(1).profile().serviceProfileId());
+        assertTrue(result.get(0).distanceKm() < result.get(1).distanceKm());
+
+        // Verify
+        verify(profileRepository, times(1))
+                .findDtosByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should leave out profiles beyond the radius without reading the database")
+    void findNearby_WithRadius_ShouldSkipDatabaseWhenNothingMatches() {
+        // When
+        List<NearbyServiceProfileDTO> result = nearbyProfileService.findNearby(-3.7319, -38.5267, 50.0, null, 10);
+
+        // Then
+        assertTrue(result.isEmpty());
+
+        // Verify
+        verify(profileRepository, never())
+                .findDtosByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidSearchQueryException when the radius exceeds the maximum")
+    void findNearby_WithRadiusTooLarge_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidSearchQueryException.class,
+                () -> nearbyProfileService.findNearby(-23.5505, -46.6333, 5_000.0, null, 10));
+    }
+
+    private static ServiceProfileResponseDTO profileDto(UUID profileId) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return new ServiceProfileResponseDTO(profileId, UUID.randomUUID(), "Plumber", "City", "ST",
+                null, 0, 0.0f, null, null, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.jobinder.identity_service.service;
+
+import br.com.jobinder.identityservice.service.ProfileStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProfileStatsServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private ProfileStatsService profileStatsService;
+
+    @BeforeEach
+    void setUp() {
+        profileStatsService = new ProfileStatsService();
+        ReflectionTestUtils.setField(profileStatsService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(profileStatsService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(profileStatsService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(profileStatsService, "batchSize", 2);
+        ReflectionTestUtils.invokeMethod(profileStatsService, "init");
+
+        // Mocking
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<int[]>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should coalesce the events of each profile into one update per flush")
+    void flush_WithManyEventsPerProfile_ShouldWriteOneUpdatePerProfile() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        profileStatsService.recordReview(first, 5);
+        profileStatsService.recordReview(first, 4);
+        profileStatsService.recordCompletion(first);
+        profileStatsService.recordCompletion(second);
+        profileStatsService.recordCompletion(second);
+
+        // Mocking
+        ArgumentCaptor<SqlParameterSource[]> parameters = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        when(jdbcTemplate.batchUpdate(anyString(), parameters.capture()))
+                .thenReturn(new int[]{1, 1});
+
+        // When
+        profileStatsService.flush();
+        profileStatsService.flush();
+
+        // Then (a single batch, the second flush has nothing to write)
+        verify(jdbcTemplate, times(1))
+                .batchUpdate(anyString(), any(SqlParameterSource[].class));
+        SqlParameterSource[] batch = parameters.getValue();
+        assertEquals(2, batch.length);
+        // Both rows take one timestamp from the JVM clock, not the database's now()
+        assertInstanceOf(LocalDateTime.class, batch[0].getValue("updatedAt"));
+        assertEquals(batch[0].getValue("updatedAt"), batch[1].getValue("updatedAt"));
+        for (SqlParameterSource update : batch) {
+            if (first.equals(update.getValue("id"))) {
+                assertEquals(1, update.getValue("completions"));
+                assertEquals(2, update.getValue("ratingCount"));
+                assertEquals(9L, update.getValue("ratingSum"));
+            } else {
+                assertEquals(second, update.getValue("id"));
+                assertEquals(2, update.getValue("completions"));
+                assertEquals(0, update.getValue("ratingCount"));
+            }
+        }
+        assertEquals(0.0, meterRegistry.get("identity.profile-stats.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should keep a failed batch and merge it with newer events on the next flush")
+    void flush_WhenBatchFails_ShouldRetryWithoutLosingEvents() {
+        // Given
+        UUID profileId = UUID.randomUUID();
+        profileStatsService.recordReview(profileId, 3);
+
+        // Mocking
+        ArgumentCaptor<SqlParameterSource[]> parameters = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        when(jdbcTemplate.batchUpdate(anyString(), parameters.capture()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        // When
+        profileStatsService.flush();
+        profileStatsService.recordReview(profileId, 5);
+        profileStatsService.flush();
+
+        // Then
+        SqlParameterSource retried = parameters.getAllValues().get(1)[0];
+        assertEquals(2, retried.getValue("ratingCount"));
+        assertEquals(8L, retried.getValue("ratingSum"));
+    }
+
+    @Test
+    @DisplayName("Should count updates of profiles that no longer exist as dropped")
+    void flush_WhenProfileIsMissing_ShouldCountDropped() {
+        // Given
+        profileStatsService.recordCompletion(UUID.randomUUID());
+
+        // Mocking
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{0});
+
+        // When
+        profileStatsService.flush();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("identity.profile-stats.dropped").counter().count());
+    }
+}
@@ -6,12 +6,21 @@ import br.com.jobinder.identityservice.domain.serviceprofile.ServiceProfileRepos
 import br.com.jobinder.identityservice.domain.specialty.Specialty;
 import br.com.jobinder.identityservice.domain.user.User;
 import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.dto.internal.InternalProfileFeaturesDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileCreateDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileDiscoveryCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfilePageDTO;
 import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileResponseDTO;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchCursor;
+import br.com.jobinder.identityservice.dto.serviceprofile.ServiceProfileSearchHit;
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidCursorException;
+import br.com.jobinder.identityservice.infra.exception.serviceprofile.InvalidSearchQueryException;
 import br.com.jobinder.identityservice.infra.exception.serviceprofile.ServiceProfileAlreadyExistsException;
 import br.com.jobinder.identityservice.infra.exception.serviceprofile.ServiceProfileNotFoundException;
 import br.com.jobinder.identityservice.infra.exception.user.UserNotFoundException;
 import br.com.jobinder.identityservice.service.LocationService;
+import br.com.jobinder.identityservice.service.NearbyProfileService;
 import br.com.jobinder.identityservice.service.ServiceProfileService;
 import br.com.jobinder.identityservice.service.SpecialtyService;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -45,6 +55,9 @@ class ServiceProfileServiceTest {
     @Mock
     private SpecialtyService specialtyService;
 
+    @Mock
+    private NearbyProfileService nearbyProfileService;
+
     @InjectMocks
     private ServiceProfileService serviceProfileService;
 
@@ -259,39 +272,195 @@ class ServiceProfileServiceTest {
     }
 
     @Test
-    @DisplayName("Should return list of all ServiceProfileDTOs")
-    void getAllServiceProfilesDTO_ShouldReturnList() {
+    @DisplayName("Should page professional user IDs after the given one, capping the page size")
+    void getProfessionalUserIds_ShouldSeekAfterGivenIdWithCappedLimit() {
         // Given
-        User user = new User();
-        user.setId(UUID.randomUUID());
-        Location location = new Location(UUID.randomUUID(), "City", "ST");
-        Specialty specialty = new Specialty(UUID.randomUUID(), "Spec");
+        UUID after = UUID.randomUUID();
+        UUID next = UUID.randomUUID();
 
-        ServiceProfile profile1 = new ServiceProfile();
-        profile1.setId(UUID.randomUUID());
-        profile1.setUser(user);
-        profile1.setLocation(location);
-        profile1.setSpecialty(specialty);
+        // Mocking
+        when(profileRepository.findUserIdsFirstPage(Limit.of(10))).thenReturn(List.of(after));
+        when(profileRepository.findUserIdsAfter(after, Limit.of(ServiceProfileService.MAX_INTERNAL_PAGE_SIZE)))
+                .thenReturn(List.of(next));
 
-        ServiceProfile profile2 = new ServiceProfile();
-        profile2.setId(UUID.randomUUID());
-        profile2.setUser(user);
-        profile2.setLocation(location);
-        profile2.setSpecialty(specialty);
+        // When
+        List<UUID> first = serviceProfileService.getProfessionalUserIds(null, 10);
+        List<UUID> second = serviceProfileService.getProfessionalUserIds(after, 1_000_000);
+
+        // Then
+        assertEquals(List.of(after), first);
+        assertEquals(List.of(next), second);
+    }
+
+    @Test
+    @DisplayName("Should resume the feature feed after the last row, or at the start of an instant without an ID")
+    void getProfileFeatures_ShouldSeekAfterUpdatedAtAndId() {
+        // Given
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        UUID lastId = UUID.randomUUID();
+        var features = new InternalProfileFeaturesDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                -23.5, -46.6, 4.5f, 12, LocalDateTime.now());
 
         // Mocking
-        when(profileRepository.findAll())
-                .thenReturn(List.of(profile1, profile2));
+        when(profileRepository.findFeaturesAfter(updatedAt, lastId, Limit.of(100))).thenReturn(List.of(features));
+        when(profileRepository.findFeaturesAfter(updatedAt, new UUID(0L, 0L), Limit.of(100))).thenReturn(List.of());
 
         // When
-        List<ServiceProfileResponseDTO> result = serviceProfileService.getAllServiceProfilesDTO();
+        List<InternalProfileFeaturesDTO> result = serviceProfileService.getProfileFeatures(updatedAt, lastId, 100);
+        serviceProfileService.getProfileFeatures(updatedAt, null, 100);
+        serviceProfileService.getProfileFeatures(null, null, 100);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(List.of(features), result);
 
         // Verify
-        verify(profileRepository)
+        verify(profileRepository).findFeaturesAfter(updatedAt, new UUID(0L, 0L), Limit.of(100));
+        verify(profileRepository).findFeaturesFirstPage(Limit.of(100));
+    }
+
+    @Test
+    @DisplayName("Should return the first page and a cursor when more profiles exist")
+    void getServiceProfilesPage_WithoutCursor_ShouldReturnFirstPageAndCursor() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        var newest = profileDto(now);
+        var middle = profileDto(now.minusMinutes(1));
+        var oldest = profileDto(now.minusMinutes(2));
+
+        // Mocking (one row more than the page size is fetched)
+        when(profileRepository.findFirstPage(Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+
+        // When
+        ServiceProfilePageDTO result = serviceProfileService.getServiceProfilesPage(null, 2);
+
+        // Then
+        assertEquals(List.of(newest, middle), result.content());
+        assertEquals(ServiceProfileCursor.of(middle), ServiceProfileCursor.decode(result.nextCursor()));
+
+        // Verify
+        verify(profileRepository, never())
                 .findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should continue after the cursor and return no cursor on the last page")
+    void getServiceProfilesPage_WithCursor_ShouldSeekAfterIt() {
+        // Given
+        var last = profileDto(LocalDateTime.now().minusMinutes(2));
+        var cursor = new ServiceProfileCursor(LocalDateTime.now().minusMinutes(1), UUID.randomUUID());
+
+        // Mocking
+        when(profileRepository.findPageAfter(cursor.createdAt(), cursor.id(), Limit.of(3)))
+                .thenReturn(List.of(last));
+
+        // When
+        ServiceProfilePageDTO result = serviceProfileService.getServiceProfilesPage(cursor.encode(), 2);
+
+        // Then
+        assertEquals(List.of(last), result.content());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the listing")
+    void getServiceProfilesPage_WithInvalidCursor_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> {
+            serviceProfileService.getServiceProfilesPage("not-a-cursor", 20);
+        });
+
+        // Verify
+        verifyNoInteractions(profileRepository);
+    }
+
+    @Test
+    @DisplayName("Should list professionals of a specialty and location with a cursor to the next page")
+    void discoverServiceProfiles_WithMoreResults_ShouldReturnPageAndCursor() {
+        // Given
+        Specialty specialty = new Specialty(UUID.randomUUID(), "Plumber");
+        Location location = new Location(UUID.randomUUID(), "Sao Paulo", "SP");
+        var best = profileDto(LocalDateTime.now());
+        var second = profileDto(LocalDateTime.now());
+        var third = profileDto(LocalDateTime.now());
+
+        // Mocking
+        when(specialtyService.findByName("plumber"))
+                .thenReturn(Optional.of(specialty));
+        when(locationService.findByCityAndState("sao paulo", "sp"))
+                .thenReturn(Optional.of(location));
+        when(profileRepository.findDiscoveryFirstPage(specialty.getId(), location.getId(), Limit.of(3)))
+                .thenReturn(List.of(best, second, third));
+
+        // When
+        ServiceProfilePageDTO result = serviceProfileService.discoverServiceProfiles("plumber", "sao paulo", "sp", null, 2);
+
+        // Then
+        assertEquals(List.of(best, second), result.content());
+        assertEquals(ServiceProfileDiscoveryCursor.of(second), ServiceProfileDiscoveryCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should return an empty page without querying profiles when the specialty is unknown")
+    void discoverServiceProfiles_WithUnknownSpecialty_ShouldReturnEmptyPage() {
+        // Mocking
+        when(specialtyService.findByName("astronaut"))
+                .thenReturn(Optional.empty());
+        when(locationService.findByCityAndState("Sao Paulo", "SP"))
+                .thenReturn(Optional.of(new Location(UUID.randomUUID(), "Sao Paulo", "SP")));
+
+        // When
+        ServiceProfilePageDTO result = serviceProfileService.discoverServiceProfiles("astronaut", "Sao Paulo", "SP", null, 20);
+
+        // Then
+        assertTrue(result.content().isEmpty());
+        assertNull(result.nextCursor());
+
+        // Verify
+        verifyNoInteractions(profileRepository);
+    }
+
+    @Test
+    @DisplayName("Should return a ranked search page and a cursor when more matches remain")
+    void searchServiceProfiles_WithMoreResults_ShouldReturnPageAndCursor() {
+        // Given
+        Specialty specialty = new Specialty(UUID.randomUUID(), "Plumber");
+        var best = new ServiceProfileSearchHit(profileDto(LocalDateTime.now()), 0.9f);
+        var second = new ServiceProfileSearchHit(profileDto(LocalDateTime.now()), 0.5f);
+        var third = new ServiceProfileSearchHit(profileDto(LocalDateTime.now()), 0.1f);
+
+        // Mocking
+        when(specialtyService.findByName("plumber"))
+                .thenReturn(Optional.of(specialty));
+        when(profileRepository.search("vazamento", specialty.getId(), null, null, 3))
+                .thenReturn(List.of(best, second, third));
+
+        // When
+        ServiceProfilePageDTO result = serviceProfileService.searchServiceProfiles("vazamento", "plumber", null, null, null, 2);
+
+        // Then
+        assertEquals(List.of(best.profile(), second.profile()), result.content());
+        assertEquals(ServiceProfileSearchCursor.of(second), ServiceProfileSearchCursor.decode(result.nextCursor()));
+
+        // Verify
+        verifyNoInteractions(locationService);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank query or a city without a state before searching")
+    void searchServiceProfiles_WithInvalidInput_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidSearchQueryException.class,
+                () -> serviceProfileService.searchServiceProfiles("  ", null, null, null, null, 20));
+        assertThrows(InvalidSearchQueryException.class,
+                () -> serviceProfileService.searchServiceProfiles("encanador", null, "Campinas", null, null, 20));
+
+        // Verify
+        verifyNoInteractions(profileRepository);
+    }
+
+    private ServiceProfileResponseDTO profileDto(LocalDateTime createdAt) {
+        return new ServiceProfileResponseDTO(UUID.randomUUID(), UUID.randomUUID(), "Spec", "City", "ST",
+                null, 0, 0.0f, null, null, createdAt, createdAt);
+    }
+}
@@ -4,12 +4,15 @@ import br.com.jobinder.identityservice.domain.specialty.Specialty;
 import br.com.jobinder.identityservice.domain.specialty.SpecialtyRepository;
 import br.com.jobinder.identityservice.dto.specialty.SpecialtyDTO;
 import br.com.jobinder.identityservice.service.SpecialtyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +31,13 @@ class SpecialtyServiceTest {
     @InjectMocks
     private SpecialtyService specialtyService;
 
+    @BeforeEach
+    void setUp() {
+        // Loads the (empty) table into memory, as on startup
+        ReflectionTestUtils.setField(specialtyService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(specialtyService, "init");
+    }
+
     @Test
     @DisplayName("Should return existing specialty when name already exists")
     void findOrCreateSpecialty_WhenSpecialtyExists_ShouldReturnExisting() {
@@ -35,8 +45,8 @@ class SpecialtyServiceTest {
         String name = "Java Developer";
         Specialty existingSpecialty = new Specialty(UUID.randomUUID(), name);
 
-        // Mocking
-        when(specialtyRepository.findByNameIgnoreCase(name))
+        // Mocking (the upsert hits the conflict and returns the stored row)
+        when(specialtyRepository.insertIfAbsent(any(UUID.class), eq(name), eq("java developer")))
                 .thenReturn(Optional.of(existingSpecialty));
 
         // When
@@ -59,14 +69,8 @@ class SpecialtyServiceTest {
         String name = "DevOps Engineer";
 
         // Mocking
-        when(specialtyRepository.findByNameIgnoreCase(name))
-                .thenReturn(Optional.empty());
-
-        when(specialtyRepository.save(any(Specialty.class))).thenAnswer(invocation -> {
-            Specialty spec = invocation.getArgument(0);
-            spec.setId(UUID.randomUUID()); // Simulate ID generation
-            return spec;
-        });
+        when(specialtyRepository.insertIfAbsent(any(UUID.class), eq(name), eq("devops engineer")))
+                .thenAnswer(invocation -> Optional.of(new Specialty(invocation.getArgument(0), name)));
 
         // When
         Specialty result = specialtyService.findOrCreateSpecialty(name);
@@ -75,12 +79,33 @@ class SpecialtyServiceTest {
         assertNotNull(result);
         assertNotNull(result.getId());
         assertEquals(name, result.getName());
+        assertEquals(result, specialtyService.findByName("DEVOPS ENGINEER").orElseThrow());
 
         // Verify
-        verify(specialtyRepository)
+        verify(specialtyRepository, never())
                 .save(any(Specialty.class));
     }
 
+    @Test
+    @DisplayName("Should read the winning row when a concurrent insert committed after the upsert began")
+    void findOrCreateSpecialty_WhenConflictingRowIsNotVisible_ShouldReadItBack() {
+        // Given
+        String name = "Electrician";
+        Specialty winner = new Specialty(UUID.randomUUID(), name);
+
+        // Mocking
+        when(specialtyRepository.insertIfAbsent(any(UUID.class), eq(name), eq("electrician")))
+                .thenReturn(Optional.empty());
+        when(specialtyRepository.findByLookupKey("electrician"))
+                .thenReturn(Optional.of(winner));
+
+        // When
+        Specialty result = specialtyService.findOrCreateSpecialty(name);
+
+        // Then
+        assertEquals(winner.getId(), result.getId());
+    }
+
     @Test
     @DisplayName("Should return all specialties as DTOs")
     void findAll_ShouldReturnListDTO() {
@@ -93,6 +118,7 @@ class SpecialtyServiceTest {
                 .thenReturn(List.of(s1, s2));
 
         // When
+        specialtyService.reload();
         List<SpecialtyDTO> result = specialtyService.findAll();
 
         // Then
@@ -102,8 +128,8 @@ class SpecialtyServiceTest {
         assertEquals(s1.getName(), result.get(0).name());
         assertEquals(s2.getName(), result.get(1).name());
 
-        // Verify
-        verify(specialtyRepository)
+        // Verify (once on startup and once on reload, never per request)
+        verify(specialtyRepository, times(2))
                 .findAll();
     }
 }
\ No newline at end of file
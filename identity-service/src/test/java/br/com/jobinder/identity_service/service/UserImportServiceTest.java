@@ -0,0 +1,225 @@
+package br.com.jobinder.identity_service.service;
+
+import br.com.jobinder.identityservice.domain.user.UserRepository;
+import br.com.jobinder.identityservice.infra.exception.user.InvalidImportFileException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
+import br.com.jobinder.identityservice.service.UserImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private static final String REGISTERED_PHONE = "+5511977777777";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        PhoneNumberNormalizer phoneNumberNormalizer = new PhoneNumberNormalizer();
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "defaultRegion", "BR");
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(phoneNumberNormalizer, "init");
+
+        userImportService = new UserImportService();
+        ReflectionTestUtils.setField(userImportService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userImportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(userImportService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(userImportService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(userImportService, "phoneNumberNormalizer", phoneNumberNormalizer);
+        ReflectionTestUtils.setField(userImportService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(userImportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(userImportService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(userImportService, "batchSize", 3);
+        ReflectionTestUtils.setField(userImportService, "hashPoolSize", 2);
+        ReflectionTestUtils.invokeMethod(userImportService, "init");
+
+        // Mocking
+        when(passwordEncoder.encode(anyString()))
+                .thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        when(userRepository.findExistingPhones(any()))
+                .thenAnswer(invocation -> {
+                    Collection<String> phones = invocation.getArgument(0);
+                    return phones.contains(REGISTERED_PHONE) ? List.of(REGISTERED_PHONE) : List.of();
+                });
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<int[]>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(userImportService, "shutdown");
+    }
+
+    private List<JsonNode> runImport(String body, UserImportService.Format format) throws Exception {
+        var output = new ByteArrayOutputStream();
+        userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private static String ndjson(String nationalNumber) {
+        return "{\"countryCode\":\"BR\",\"nationalNumber\":\"" + nationalNumber + "\",\"firstName\":\"John\"," +
+                "\"lastName\":\"Doe\",\"password\":\"password123\",\"role\":\"USER\"}";
+    }
+
+    @Test
+    @DisplayName("Should report a result for every NDJSON line and insert only new users")
+    void importUsers_WithNdjson_ShouldStreamResultPerLine() throws Exception {
+        // Given
+        String body = String.join("\n",
+                ndjson("11999999999"),
+                ndjson("123"),
+                ndjson("(11) 99999-9999"),
+                "",
+                ndjson("11977777777"),
+                "{not json",
+                ndjson("11988888888"));
+
+        // Mocking
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(invocation -> {
+                    int[] counts = new int[invocation.<List<Object[]>>getArgument(1).size()];
+                    Arrays.fill(counts, 1);
+                    return counts;
+                });
+
+        // When
+        List<JsonNode> results = runImport(body, UserImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("+5511999999999", results.get(0).get("phone").asText());
+        assertNotNull(results.get(0).get("id"));
+        assertEquals("INVALID", results.get(1).get("status").asText());
+        assertEquals("DUPLICATE", results.get(2).get("status").asText());
+        assertEquals(5, results.get(3).get("line").asLong());
+        assertEquals("DUPLICATE", results.get(3).get("status").asText());
+        assertEquals("INVALID", results.get(4).get("status").asText());
+        assertEquals("CREATED", results.get(5).get("status").asText());
+        assertEquals(2.0, meterRegistry.get("identity.users.import").tag("status", "created").counter().count());
+
+        // Verify
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        Object[] firstRow = batches.getAllValues().get(0).get(0);
+        assertEquals("+5511999999999", firstRow[1]);
+        assertEquals("hashed-password123", firstRow[4]);
+        verify(passwordEncoder, times(2)).encode("password123");
+    }
+
+    @Test
+    @DisplayName("Should read CSV by header name and report rows skipped by a concurrent insert as duplicates")
+    void importUsers_WithCsv_ShouldMapColumnsAndDetectConflicts() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "role,countryCode,nationalNumber,firstName,lastName,password",
+                "USER,BR,11999999999,\"Mary, Ann\",Doe,password123",
+                "ADMIN,BR,11988888888,John,Doe,password123",
+                "OWNER,BR,11966666666,John,Doe,password123");
+
+        // Mocking
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{1, 0});
+
+        // When
+        List<JsonNode> results = runImport(body, UserImportService.Format.CSV);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals(2, results.get(0).get("line").asLong());
+        assertEquals("DUPLICATE", results.get(1).get("status").asText());
+        assertEquals("INVALID", results.get(2).get("status").asText());
+        assertEquals("Unknown role: OWNER", results.get(2).get("error").asText());
+
+        // Verify
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals("Mary, Ann", batch.getValue().get(0)[2]);
+        assertEquals("ADMIN", batch.getValue().get(1)[5]);
+    }
+
+    @Test
+    @DisplayName("Should look up rows whose batch reported no per-row count instead of assuming they were created")
+    void importUsers_WhenBatchReportsNoInfo_ShouldResolveRowsById() throws Exception {
+        // Given
+        String body = String.join("\n", ndjson("11999999999"), ndjson("11988888888"));
+
+        // Mocking (the second row lost its phone to a concurrent registration, so only the first ID was stored)
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(userRepository.findExistingIds(any()))
+                .thenAnswer(invocation -> List.of(invocation.<List<UUID>>getArgument(0).get(0)));
+
+        // When
+        List<JsonNode> results = runImport(body, UserImportService.Format.NDJSON);
+
+        // Then
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("DUPLICATE", results.get(1).get("status").asText());
+        assertEquals(1.0, meterRegistry.get("identity.users.import").tag("status", "created").counter().count());
+        assertEquals(1.0, meterRegistry.get("identity.users.import").tag("status", "duplicate").counter().count());
+
+        // Verify
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(batch.getValue().get(0)[0].toString(), results.get(0).get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV upload whose header is missing columns")
+    void importUsers_WithIncompleteCsvHeader_ShouldThrowException() {
+        // Given
+        String body = "countryCode,nationalNumber,firstName\nBR,11999999999,John";
+
+        // When & Then
+        assertThrows(InvalidImportFileException.class, () -> runImport(body, UserImportService.Format.CSV));
+
+        // Verify
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
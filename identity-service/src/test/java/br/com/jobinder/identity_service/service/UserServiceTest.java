@@ -3,7 +3,9 @@ package br.com.jobinder.identity_service.service;
 import br.com.jobinder.identityservice.domain.user.User;
 import br.com.jobinder.identityservice.domain.user.UserRepository;
 import br.com.jobinder.identityservice.domain.user.UserRole;
+import br.com.jobinder.identityservice.dto.internal.InternalPasswordHashUpdateDTO;
 import br.com.jobinder.identityservice.dto.internal.InternalUserAuthDTO;
+import br.com.jobinder.identityservice.dto.internal.UserCredentialsChangedEvent;
 import br.com.jobinder.identityservice.dto.user.UserChangePasswordDTO;
 import br.com.jobinder.identityservice.dto.user.UserCreateDTO;
 import br.com.jobinder.identityservice.dto.user.UserResponseDTO;
@@ -12,16 +14,25 @@ import br.com.jobinder.identityservice.infra.exception.user.InvalidPasswordExcep
 import br.com.jobinder.identityservice.infra.exception.user.PhoneNumberInvalidException;
 import br.com.jobinder.identityservice.infra.exception.user.UserAlreadyExistsException;
 import br.com.jobinder.identityservice.infra.exception.user.UserNotFoundException;
+import br.com.jobinder.identityservice.infra.phone.PhoneNumberNormalizer;
 import br.com.jobinder.identityservice.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,9 +47,23 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        // Use the real normalizer so phone parsing and formatting are exercised end to end
+        PhoneNumberNormalizer phoneNumberNormalizer = new PhoneNumberNormalizer();
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "defaultRegion", "BR");
+        ReflectionTestUtils.setField(phoneNumberNormalizer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(phoneNumberNormalizer, "init");
+        ReflectionTestUtils.setField(userService, "phoneNumberNormalizer", phoneNumberNormalizer);
+    }
+
     @Test
     @DisplayName("Should register user successfully when data is valid")
     void registerUser_WithValidData_ShouldSaveAndReturnDTO() {
@@ -55,11 +80,9 @@ class UserServiceTest {
         String formattedPhone = "+5511999999999";
 
         // Mocking
-        when(userRepository.existsByPhone(formattedPhone))
-                .thenReturn(false);
         when(passwordEncoder.encode(createDTO.password()))
                 .thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             user.setId(UUID.randomUUID()); // Simulate ID generation
             return user;
@@ -77,7 +100,7 @@ class UserServiceTest {
 
         // Verify
         verify(userRepository)
-                .save(any(User.class));
+                .saveAndFlush(any(User.class));
     }
 
     @Test
@@ -94,18 +117,43 @@ class UserServiceTest {
         );
         String formattedPhone = "+5511988888888";
 
-        // Mocking
-        when(userRepository.existsByPhone(formattedPhone))
-                .thenReturn(true);
+        // Mocking (the unique phone constraint rejects the insert)
+        when(passwordEncoder.encode(createDTO.password()))
+                .thenReturn("encodedPassword123");
+        when(userRepository.saveAndFlush(argThat((User user) -> formattedPhone.equals(user.getPhone()))))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new SQLException("duplicate key value violates unique constraint", "23505")));
 
         // When & Then
         assertThrows(UserAlreadyExistsException.class, () -> {
             userService.registerUser(createDTO);
         });
+    }
 
-        // Verify
-        verify(userRepository, never())
-                .save(any());
+    @Test
+    @DisplayName("Should not report other integrity violations as an existing user")
+    void registerUser_WithOtherIntegrityViolation_ShouldRethrow() {
+        // Given
+        var createDTO = new UserCreateDTO(
+                "BR",
+                "11988888888",
+                "Jane",
+                "Doe",
+                "password123",
+                UserRole.USER
+        );
+
+        // Mocking
+        when(passwordEncoder.encode(createDTO.password()))
+                .thenReturn("encodedPassword123");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("null value",
+                        new SQLException("null value in column violates not-null constraint", "23502")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            userService.registerUser(createDTO);
+        });
     }
 
     @Test
@@ -126,9 +174,8 @@ class UserServiceTest {
             userService.registerUser(createDTO);
         });
 
-        // Verify
-        verify(userRepository, never())
-                .existsByPhone(anyString());
+        // Verify (rejected before hashing or touching the database)
+        verifyNoInteractions(userRepository, passwordEncoder);
     }
 
     @Test
@@ -283,6 +330,8 @@ class UserServiceTest {
         // Verify
         verify(userRepository)
                 .save(user);
+        verify(eventPublisher)
+                .publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.PASSWORD_CHANGED));
     }
 
     @Test
@@ -316,6 +365,8 @@ class UserServiceTest {
         assertEquals(oldHashedPassword, user.getPassword());
         verify(userRepository, never())
                 .save(any());
+        verify(eventPublisher, never())
+                .publishEvent(any(UserCredentialsChangedEvent.class));
     }
 
 
@@ -350,6 +401,34 @@ class UserServiceTest {
         assertEquals("USER", result.role());
     }
 
+    @Test
+    @DisplayName("Should look up users by the E.164 form when login sends a national number")
+    void findAuthDetailsByPhone_WithNationalNumber_ShouldLookUpE164Phone() {
+        // Given
+        String phone = "+5511999999999";
+        User user = new User(
+                UUID.randomUUID(),
+                phone,
+                "John",
+                "Doe",
+                "password123",
+                UserRole.USER,
+                null,
+                null
+        );
+
+        // Mocking
+        when(userRepository.findByPhone(phone))
+                .thenReturn(Optional.of(user));
+
+        // When
+        InternalUserAuthDTO result = userService.findAuthDetailsByPhone("11999999999");
+
+        // Then
+        assertEquals(user.getId(), result.id());
+        assertEquals(phone, result.phone());
+    }
+
     @Test
     @DisplayName("Should delete user successfully when user exists")
     void deleteUser_WhenUserExists_ShouldDelete() {
@@ -365,6 +444,7 @@ class UserServiceTest {
 
         // Verify
         verify(userRepository).deleteById(userId);
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.USER_DELETED));
     }
 
     @Test
@@ -382,4 +462,83 @@ class UserServiceTest {
         // Verify
         verify(userRepository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should replace the password hash when the current hash still matches")
+    void updatePasswordHash_WhenHashUnchanged_ShouldUpdate() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        var hashUpdateDTO = new InternalPasswordHashUpdateDTO("$2a$10$oldHash", "$2a$12$newHash");
+
+        // Mocking
+        when(userRepository.updatePasswordIfUnchanged(userId, "$2a$10$oldHash", "$2a$12$newHash"))
+                .thenReturn(1);
+
+        // When
+        userService.updatePasswordHash(userId, hashUpdateDTO);
+
+        // Verify
+        verify(userRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(new UserCredentialsChangedEvent(userId, UserCredentialsChangedEvent.Reason.HASH_UPGRADED));
+    }
+
+    @Test
+    @DisplayName("Should ignore a stale password hash upgrade for an existing user")
+    void updatePasswordHash_WhenHashIsStale_ShouldIgnore() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        var hashUpdateDTO = new InternalPasswordHashUpdateDTO("$2a$10$staleHash", "$2a$12$newHash");
+
+        // Mocking
+        when(userRepository.updatePasswordIfUnchanged(userId, "$2a$10$staleHash", "$2a$12$newHash"))
+                .thenReturn(0);
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+
+        // When & Then
+        assertDoesNotThrow(() -> userService.updatePasswordHash(userId, hashUpdateDTO));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when upgrading the hash of a non-existent user")
+    void updatePasswordHash_WhenUserDoesNotExist_ShouldThrowException() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        var hashUpdateDTO = new InternalPasswordHashUpdateDTO("$2a$10$oldHash", "$2a$12$newHash");
+
+        // Mocking
+        when(userRepository.updatePasswordIfUnchanged(userId, "$2a$10$oldHash", "$2a$12$newHash"))
+                .thenReturn(0);
+        when(userRepository.existsById(userId))
+                .thenReturn(false);
+
+        // When & Then
+        assertThrows(UserNotFoundException.class, () -> userService.updatePasswordHash(userId, hashUpdateDTO));
+    }
+
+    @Test
+    @DisplayName("Should return users in request order and report missing IDs")
+    void findUsersByIds_ShouldPreserveOrderAndReportMissing() {
+        // Given
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        var first = new UserResponseDTO(firstId, "+5511999999999", "John", "Doe");
+        var second = new UserResponseDTO(secondId, "+5511988888888", "Jane", "Doe");
+
+        // Mocking (the database returns rows in any order)
+        when(userRepository.findSummariesByIdIn(Set.of(secondId, missingId, firstId)))
+                .thenReturn(List.of(first, second));
+
+        // When
+        var result = userService.findUsersByIds(List.of(secondId, missingId, firstId, secondId));
+
+        // Then
+        assertEquals(List.of(second, first), result.users());
+        assertEquals(List.of(missingId), result.missingIds());
+
+        // Verify
+        verify(userRepository, times(1))
+                .findSummariesByIdIn(anyCollection());
+    }
+}
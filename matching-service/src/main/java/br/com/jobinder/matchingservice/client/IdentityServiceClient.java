@@ -1,14 +1,31 @@
 package br.com.jobinder.matchingservice.client;
 
+import br.com.jobinder.matchingservice.dto.ProfileFeaturesDTO;
 import br.com.jobinder.matchingservice.dto.ProfileUserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "identity-service", url = "${identity-service.url}")
+@FeignClient(name = "identity-service", url = "${identity-service.url}", fallbackFactory = IdentityServiceClientFallbackFactory.class)
 public interface IdentityServiceClient {
     @GetMapping("/api/v1/service-profiles/{profileId}/user")
     ProfileUserDTO getUserIdByProfileId(@PathVariable("profileId") UUID profileId);
+
+    // Professional user IDs in ascending order after afterUserId (from the start when null); empty at the end
+    @GetMapping("/api/v1/internal/service-profiles/user-ids")
+    List<UUID> getProfessionalUserIds(@RequestParam(value = "afterUserId", required = false) UUID afterUserId,
+                                      @RequestParam("size") int size);
+
+    // Features of profiles changed after (updatedAfter, afterId), oldest change first; from the start when updatedAfter is null
+    @GetMapping("/api/v1/internal/service-profiles/features")
+    List<ProfileFeaturesDTO> getProfileFeatures(
+            @RequestParam(value = "updatedAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfter,
+            @RequestParam(value = "afterId", required = false) UUID afterId,
+            @RequestParam("size") int size);
 }
\ No newline at end of file
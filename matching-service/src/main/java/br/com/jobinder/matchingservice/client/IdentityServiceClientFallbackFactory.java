@@ -0,0 +1,49 @@
+package br.com.jobinder.matchingservice.client;
+
+import br.com.jobinder.matchingservice.dto.ProfileFeaturesDTO;
+import br.com.jobinder.matchingservice.dto.ProfileUserDTO;
+import br.com.jobinder.matchingservice.infra.exception.IdentityServiceUnavailableException;
+import feign.FeignException;
+import feign.RetryableException;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/*
+  Invoked by the circuit breaker whenever a call to identity-service fails. Answers from
+  identity-service are rethrown unchanged; an open circuit, a full bulkhead, a timeout or an
+  I/O error becomes IdentityServiceUnavailableException.
+*/
+@Component
+public class IdentityServiceClientFallbackFactory implements FallbackFactory<IdentityServiceClient> {
+
+    @Override
+    public IdentityServiceClient create(Throwable cause) {
+        return new IdentityServiceClient() {
+            @Override
+            public ProfileUserDTO getUserIdByProfileId(UUID profileId) {
+                throw propagate(cause);
+            }
+
+            @Override
+            public List<UUID> getProfessionalUserIds(UUID afterUserId, int size) {
+                throw propagate(cause);
+            }
+
+            @Override
+            public List<ProfileFeaturesDTO> getProfileFeatures(LocalDateTime updatedAfter, UUID afterId, int size) {
+                throw propagate(cause);
+            }
+        };
+    }
+
+    static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof FeignException feignException && !(cause instanceof RetryableException)) {
+            return feignException;
+        }
+        return new IdentityServiceUnavailableException("Identity service is unavailable, please try again later.", cause);
+    }
+}
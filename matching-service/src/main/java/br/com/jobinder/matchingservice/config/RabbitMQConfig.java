@@ -1,5 +1,9 @@
 package br.com.jobinder.matchingservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -14,11 +18,30 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.queues.match-created}")
     private String matchCreatedQueue;
 
+    @Value("${rabbitmq.exchanges.token-revoked}")
+    private String tokenRevokedExchange;
+
     @Bean
     public Queue matchCreatedQueue() {
         return new Queue(matchCreatedQueue, true);
     }
 
+    @Bean
+    public FanoutExchange tokenRevokedExchange() {
+        return new FanoutExchange(tokenRevokedExchange, true, false);
+    }
+
+    // Each instance keeps its own revocation list, so each one needs its own queue
+    @Bean
+    public Queue tokenRevokedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding tokenRevokedBinding(Queue tokenRevokedQueue, FanoutExchange tokenRevokedExchange) {
+        return BindingBuilder.bind(tokenRevokedQueue).to(tokenRevokedExchange);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -28,6 +51,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // Unroutable messages come back to the outbox relay instead of being dropped silently
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package br.com.jobinder.matchingservice.controller;
+
+import br.com.jobinder.matchingservice.dto.CandidateFeedDTO;
+import br.com.jobinder.matchingservice.dto.RankedCandidateDTO;
+import br.com.jobinder.matchingservice.service.CandidateFeedService;
+import br.com.jobinder.matchingservice.service.RankingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/feed")
+public class CandidateFeedController {
+
+    @Autowired
+    private CandidateFeedService candidateFeedService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Operation(summary = "Get the next professionals to swipe on",
+            description = "Returns up to 'size' (at most 50) professionals the authenticated client has not matched with " +
+                    "or swiped on yet. Each call continues where the previous one stopped; an empty list means nobody new is available.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Candidates retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CandidateFeedDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing token)",
+                    content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<CandidateFeedDTO> getFeed(@RequestParam(defaultValue = "20") int size, Authentication authentication) {
+        UUID clientUserId = UUID.fromString(authentication.getName());
+        var candidates = candidateFeedService.nextCandidates(clientUserId, size);
+        return ResponseEntity.ok(new CandidateFeedDTO(candidates));
+    }
+
+    @Operation(summary = "Get the best-ranked professionals",
+            description = "Ranks every professional the authenticated client has not matched with or swiped on yet by rating, " +
+                    "services performed, distance from the given point, fit with the given specialty and how recently the profile changed, " +
+                    "and returns the best 'size' (at most 50), best first. The point and the specialty are optional.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranked candidates retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RankedCandidateDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (only one coordinate given, or coordinates out of range)",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing token)",
+                    content = @Content)
+    })
+    @GetMapping("/ranked")
+    public ResponseEntity<List<RankedCandidateDTO>> getRankedFeed(@RequestParam(required = false) Double latitude,
+                                                                  @RequestParam(required = false) Double longitude,
+                                                                  @RequestParam(required = false) UUID specialtyId,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  Authentication authentication) {
+        UUID clientUserId = UUID.fromString(authentication.getName());
+        var candidates = rankingService.rankForClient(clientUserId, latitude, longitude, specialtyId, size);
+        return ResponseEntity.ok(candidates);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.jobinder.matchingservice.controller;
 
 import br.com.jobinder.matchingservice.domain.match.Match;
 import br.com.jobinder.matchingservice.dto.MatchCreateDTO;
+import br.com.jobinder.matchingservice.dto.MatchPageDTO;
 import br.com.jobinder.matchingservice.dto.MatchResponseDTO;
 import br.com.jobinder.matchingservice.service.MatchingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -70,40 +71,56 @@ public class MatchingController {
     }
 
     @Operation(summary = "Get matches by Client ID",
-            description = "Retrieves all matches for a specific client. " +
+            description = "Retrieves the matches of a specific client one page at a time, newest first. " +
+                    "Pass the nextCursor of a page to get the following one; it is null on the last page. " +
+                    "Set includeTotal on the first page to also get the total number of matches. " +
                     "A user can only retrieve their own matches. Admins can retrieve any.",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully",
+            @ApiResponse(responseCode = "200", description = "Page of matches retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = MatchResponseDTO.class))),
+                            schema = @Schema(implementation = MatchPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden (user trying to access another user's matches)",
                     content = @Content)
     })
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<List<MatchResponseDTO>> getMatchesByClientId(@PathVariable UUID clientId) {
-        var response = matchingService.findMatchesByClientId(clientId);
+    public ResponseEntity<MatchPageDTO> getMatchesByClientId(
+            @PathVariable UUID clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchingService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        var response = matchingService.findMatchesByClientId(clientId, cursor, size, includeTotal);
         return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "Get matches by Professional ID",
-            description = "Retrieves all matches for a specific professional. " +
+            description = "Retrieves the matches of a specific professional one page at a time, newest first. " +
+                    "Pass the nextCursor of a page to get the following one; it is null on the last page. " +
+                    "Set includeTotal on the first page to also get the total number of matches. " +
                     "A user can only retrieve their own matches. Admins can retrieve any.",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully",
+            @ApiResponse(responseCode = "200", description = "Page of matches retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = MatchResponseDTO.class))),
+                            schema = @Schema(implementation = MatchPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden (user trying to access another user's matches)",
                     content = @Content)
     })
     @GetMapping("/professional/{professionalId}")
-    public ResponseEntity<List<MatchResponseDTO>> getMatchesByProfessionalId(@PathVariable UUID professionalId) {
-        var response = matchingService.findMatchesByProfessionalId(professionalId);
+    public ResponseEntity<MatchPageDTO> getMatchesByProfessionalId(
+            @PathVariable UUID professionalId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchingService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        var response = matchingService.findMatchesByProfessionalId(professionalId, cursor, size, includeTotal);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,55 @@
+package br.com.jobinder.matchingservice.controller;
+
+import br.com.jobinder.matchingservice.dto.SwipeCreateDTO;
+import br.com.jobinder.matchingservice.dto.SwipeResultDTO;
+import br.com.jobinder.matchingservice.service.SwipeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/swipes")
+public class SwipeController {
+
+    @Autowired
+    private SwipeService swipeService;
+
+    @Operation(summary = "Swipe on a user",
+            description = "Records a like or pass from the authenticated user, acting as a client browsing professionals " +
+                    "or as a professional browsing clients. When the other user has already liked back from the opposite side, " +
+                    "the like creates a match (which enables the chat) and the response says so. " +
+                    "Only regular user accounts can swipe, and only users with a service profile can swipe as a professional.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Swipe recorded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SwipeResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request (invalid input data or swiping on yourself)",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (invalid or missing token)",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden (not a regular user, or swiping as a professional without a service profile)",
+                    content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many swipes waiting to be saved; retry shortly",
+                    content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<SwipeResultDTO> swipe(@RequestBody @Valid SwipeCreateDTO swipeCreateDTO, Authentication authentication) {
+        UUID swiperUserId = UUID.fromString(authentication.getName());
+        var result = swipeService.swipe(swiperUserId, swipeCreateDTO);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -10,6 +10,13 @@ import java.util.UUID;
 @Entity
 @Table(name = "matches", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"clientUserId", "professionalUserId"})
+}, indexes = {
+        // Serve each side's keyset-paginated listing ordered by (createdAt, id). The trailing counterpart
+        // column makes them covering, so a page is read from the index alone
+        @Index(name = "idx_matches_client_created_at_id",
+                columnList = "client_user_id, created_at DESC, id DESC, professional_user_id"),
+        @Index(name = "idx_matches_professional_created_at_id",
+                columnList = "professional_user_id, created_at DESC, id DESC, client_user_id")
 })
 @Getter
 @Setter
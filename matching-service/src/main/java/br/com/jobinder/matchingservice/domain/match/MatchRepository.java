@@ -1,15 +1,77 @@
 package br.com.jobinder.matchingservice.domain.match;
 
+import br.com.jobinder.matchingservice.dto.MatchSummaryDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MatchRepository extends JpaRepository<Match, UUID> {
     // Check if a match exists between a client and a professional
     boolean existsByClientUserIdAndProfessionalUserId(UUID clientUserId, UUID professionalUserId);
 
-    List<Match> findAllByClientUserId(UUID clientUserId);
+    /*
+      Matches of one side, newest first, keyset-paginated over (createdAt, id). Each query reads only
+      the columns of its covering index, idx_matches_client_created_at_id or
+      idx_matches_professional_created_at_id.
+    */
+    @Query("SELECT new br.com.jobinder.matchingservice.dto.MatchSummaryDTO(m.id, m.professionalUserId, m.createdAt) " +
+            "FROM Match m WHERE m.clientUserId = :clientUserId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MatchSummaryDTO> findClientFirstPage(@Param("clientUserId") UUID clientUserId, Limit limit);
 
-    List<Match> findAllByProfessionalUserId(UUID professionalUserId);
-}
\ No newline at end of file
+    @Query("SELECT new br.com.jobinder.matchingservice.dto.MatchSummaryDTO(m.id, m.professionalUserId, m.createdAt) " +
+            "FROM Match m WHERE m.clientUserId = :clientUserId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MatchSummaryDTO> findClientPageAfter(@Param("clientUserId") UUID clientUserId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") UUID id,
+                                              Limit limit);
+
+    @Query("SELECT new br.com.jobinder.matchingservice.dto.MatchSummaryDTO(m.id, m.clientUserId, m.createdAt) " +
+            "FROM Match m WHERE m.professionalUserId = :professionalUserId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MatchSummaryDTO> findProfessionalFirstPage(@Param("professionalUserId") UUID professionalUserId, Limit limit);
+
+    @Query("SELECT new br.com.jobinder.matchingservice.dto.MatchSummaryDTO(m.id, m.clientUserId, m.createdAt) " +
+            "FROM Match m WHERE m.professionalUserId = :professionalUserId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MatchSummaryDTO> findProfessionalPageAfter(@Param("professionalUserId") UUID professionalUserId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") UUID id,
+                                                    Limit limit);
+
+    // Counted from the leading column of the covering indexes, without touching the table
+    long countByClientUserId(UUID clientUserId);
+
+    long countByProfessionalUserId(UUID professionalUserId);
+
+    // Every match of a client, but only the column the candidate feed needs
+    @Query("SELECT m.professionalUserId FROM Match m WHERE m.clientUserId = :clientUserId")
+    List<UUID> findProfessionalUserIdsByClientUserId(@Param("clientUserId") UUID clientUserId);
+
+    /*
+      Creates the match unless the pair already has one; empty when it did, so callers publish at most once.
+      created_at is bound from the application clock, like @CreationTimestamp does for saved matches, so
+      both kinds of match order consistently in the keyset listings.
+    */
+    @Query(nativeQuery = true, value =
+            "WITH inserted AS (" +
+            "  INSERT INTO matches (id, client_user_id, professional_user_id, created_at) " +
+            "  VALUES (:id, :clientUserId, :professionalUserId, :createdAt) " +
+            "  ON CONFLICT (client_user_id, professional_user_id) DO NOTHING " +
+            "  RETURNING id" +
+            ") " +
+            "SELECT id FROM inserted")
+    Optional<UUID> insertIfAbsent(@Param("id") UUID id,
+                                  @Param("clientUserId") UUID clientUserId,
+                                  @Param("professionalUserId") UUID professionalUserId,
+                                  @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,44 @@
+package br.com.jobinder.matchingservice.domain.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// An event written in the same transaction as the change it describes, published later by OutboxRelayService
+@Entity
+@Table(name = "outbox_events", indexes = {
+        // Serves the relay's "oldest unsent first" scan and the lag query
+        @Index(name = "idx_outbox_events_pending", columnList = "sentAt, createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Fully qualified class of the payload, sent as the type header the JSON converter would have set
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // Publishes the broker rejected or returned; rows reaching the limit are left for inspection
+    private int attempts;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    private Instant sentAt;
+}
@@ -0,0 +1,40 @@
+package br.com.jobinder.matchingservice.domain.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // SKIP LOCKED lets several relay instances work through the backlog without waiting on each other
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE sent_at IS NULL AND attempts < :maxAttempts " +
+            "ORDER BY created_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockPending(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.sentAt IS NULL AND e.attempts < :maxAttempts")
+    Optional<Instant> findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,41 @@
+package br.com.jobinder.matchingservice.domain.swipe;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Written in batches by SwipeService; the latest decision of a swiper about a target replaces earlier ones
+@Entity
+@Table(name = "swipes", uniqueConstraints = {
+        // Conflict target of the batch upsert, and the lookup for a reverse like
+        @UniqueConstraint(name = "uk_swipes_swiper_target_role", columnNames = {"swiperUserId", "targetUserId", "swiperRole"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class Swipe {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID swiperUserId;
+
+    @Column(nullable = false)
+    private UUID targetUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SwipeRole swiperRole;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SwipeDecision decision;
+
+    @Column(nullable = false)
+    private Instant swipedAt;
+}
@@ -0,0 +1,6 @@
+package br.com.jobinder.matchingservice.domain.swipe;
+
+public enum SwipeDecision {
+    LIKE,
+    PASS
+}
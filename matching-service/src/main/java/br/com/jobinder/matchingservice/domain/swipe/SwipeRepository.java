@@ -0,0 +1,14 @@
+package br.com.jobinder.matchingservice.domain.swipe;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface SwipeRepository extends JpaRepository<Swipe, UUID> {
+    // Everyone a user has already swiped on from one side, read from the unique (swiper, target, role) index
+    @Query("SELECT s.targetUserId FROM Swipe s WHERE s.swiperUserId = :swiperUserId AND s.swiperRole = :swiperRole")
+    List<UUID> findTargetUserIds(@Param("swiperUserId") UUID swiperUserId, @Param("swiperRole") SwipeRole swiperRole);
+}
@@ -0,0 +1,7 @@
+package br.com.jobinder.matchingservice.domain.swipe;
+
+// The side the swiper acts on: a client browsing professionals, or a professional browsing clients
+public enum SwipeRole {
+    CLIENT,
+    PROFESSIONAL
+}
@@ -0,0 +1,9 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// Next professionals to show the client; an empty list means there is nobody new to show
+public record CandidateFeedDTO(
+        List<UUID> professionalUserIds
+) {}
@@ -0,0 +1,10 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page; totalCount is only filled on a first page that asked for it
+public record MatchPageDTO(
+        List<MatchSummaryDTO> content,
+        String nextCursor,
+        Long totalCount
+) {}
@@ -0,0 +1,11 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A match as listed to one of its users; counterpartUserId is the other side of the match
+public record MatchSummaryDTO(
+        UUID matchId,
+        UUID counterpartUserId,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,16 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A professional's ranking features as served by identity-service; coordinates are null when their location has none
+public record ProfileFeaturesDTO(
+        UUID profileId,
+        UUID userId,
+        UUID specialtyId,
+        Double latitude,
+        Double longitude,
+        float rating,
+        int servicesPerformed,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,9 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.util.UUID;
+
+// A professional and their score for the query; scores only compare within one response
+public record RankedCandidateDTO(
+        UUID professionalUserId,
+        float score
+) {}
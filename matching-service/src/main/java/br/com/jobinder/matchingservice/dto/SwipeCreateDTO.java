@@ -0,0 +1,16 @@
+package br.com.jobinder.matchingservice.dto;
+
+import br.com.jobinder.matchingservice.domain.swipe.SwipeDecision;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record SwipeCreateDTO(
+        @NotNull(message = "Target user ID is required")
+        UUID targetUserId,
+        @NotNull(message = "Decision is required")
+        SwipeDecision decision,
+        @NotNull(message = "Role is required")
+        SwipeRole role
+) {}
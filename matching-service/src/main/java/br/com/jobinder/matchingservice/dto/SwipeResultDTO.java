@@ -0,0 +1,9 @@
+package br.com.jobinder.matchingservice.dto;
+
+import java.util.UUID;
+
+// matchId is only set when this swipe completed a mutual like and created the match
+public record SwipeResultDTO(
+        boolean matched,
+        UUID matchId
+) {}
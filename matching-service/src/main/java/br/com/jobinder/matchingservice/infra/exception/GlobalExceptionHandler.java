@@ -27,6 +27,39 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", ex.getMessage()));
     }
 
+    // Handle swipes that can never be valid, such as swiping on yourself
+    @ExceptionHandler(InvalidSwipeException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSwipe(InvalidSwipeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // Handle ranking queries with an incomplete or out-of-range point
+    @ExceptionHandler(InvalidRankingQueryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRankingQuery(InvalidRankingQueryException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // Handle listing page cursors that were not issued by the listing
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // Handle swipes rejected because the write-behind buffer is full (the database is falling behind)
+    @ExceptionHandler(SwipeBufferFullException.class)
+    public ResponseEntity<Map<String, String>> handleSwipeBufferFull(SwipeBufferFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     // Handle 404 from Feign client (e.g., user or profile not found in identity-service)
     @ExceptionHandler(FeignException.NotFound.class)
     public ResponseEntity<Map<String, String>> handleFeignNotFound(FeignException.NotFound ex) {
@@ -36,6 +69,14 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", "Could not find the specified user or profile to create a match."));
     }
 
+    // Handle identity-service calls rejected by the circuit breaker or bulkhead, or timed out
+    @ExceptionHandler(IdentityServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleIdentityServiceUnavailable(IdentityServiceUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     // Handle other Feign exceptions
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<Map<String, String>> handleGenericFeignException(FeignException ex) {
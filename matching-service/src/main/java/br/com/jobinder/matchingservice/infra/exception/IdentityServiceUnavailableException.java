@@ -0,0 +1,7 @@
+package br.com.jobinder.matchingservice.infra.exception;
+
+public class IdentityServiceUnavailableException extends RuntimeException {
+    public IdentityServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.jobinder.matchingservice.infra.exception;
+
+public class InvalidRankingQueryException extends RuntimeException {
+    public InvalidRankingQueryException(String message) {
+        super(message);
+    }
+}
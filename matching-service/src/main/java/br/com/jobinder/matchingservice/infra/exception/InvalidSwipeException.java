@@ -0,0 +1,7 @@
+package br.com.jobinder.matchingservice.infra.exception;
+
+public class InvalidSwipeException extends RuntimeException {
+    public InvalidSwipeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.jobinder.matchingservice.infra.exception;
+
+public class SwipeBufferFullException extends RuntimeException {
+    public SwipeBufferFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.jobinder.matchingservice.infra.ranking;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+  Scores every professional in a feature snapshot against a query and keeps the best ones.
+  The snapshot is split into ranges scored in parallel on a fork/join pool; each range keeps
+  its own bounded heap and the heaps are merged pairwise on the way back, so nothing is shared
+  while scoring and nothing but the top rows is ever sorted.
+*/
+public class CandidateRanker {
+
+    // Below this many rows a task scores its range itself rather than splitting it further
+    static final int SEQUENTIAL_THRESHOLD = 1 << 15;
+
+    private final ForkJoinPool pool;
+    private final RankingWeights weights;
+
+    public CandidateRanker(ForkJoinPool pool, RankingWeights weights) {
+        this.pool = pool;
+        this.weights = weights;
+    }
+
+    public RankedRows rank(ProfileFeatureStore.Columns columns, RankingQuery query) {
+        int size = columns.size;
+        int k = Math.min(query.limit(), size);
+        if (k <= 0) {
+            return new RankedRows(new int[0], new float[0]);
+        }
+
+        Scorer scorer = new Scorer(columns, query, weights);
+        TopK top = size <= SEQUENTIAL_THRESHOLD
+                ? scorer.scan(0, size, k)
+                : pool.invoke(new RankTask(scorer, 0, size, k));
+
+        int[] rows = new int[top.size()];
+        float[] scores = new float[top.size()];
+        top.drainDescending(rows, scores);
+        return new RankedRows(rows, scores);
+    }
+
+    // Rows of the snapshot, best first, with their scores
+    public record RankedRows(int[] rows, float[] scores) {}
+
+    private static final class RankTask extends RecursiveTask<TopK> {
+
+        private final Scorer scorer;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        RankTask(Scorer scorer, int from, int to, int k) {
+            this.scorer = scorer;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return scorer.scan(from, to, k);
+            }
+            int middle = (from + to) >>> 1;
+            RankTask left = new RankTask(scorer, from, middle, k);
+            left.fork();
+            TopK right = new RankTask(scorer, middle, to, k).compute();
+            TopK merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    /*
+      The query turned into constants for the inner loop. Distance is equirectangular over
+      radians: well within a percent of the great-circle distance at the few tens of kilometres
+      that score at all, for a fraction of the trigonometry.
+    */
+    static final class Scorer {
+
+        private final ProfileFeatureStore.Columns columns;
+        private final BitSet excludedRows;
+        private final float ratingWeight;
+        private final float experienceWeight;
+        private final float distanceWeight;
+        private final float specialtyWeight;
+        private final float recencyWeight;
+        private final boolean located;
+        private final float latitude;
+        private final float longitude;
+        private final float longitudeScale;
+        private final float inverseMaxDistance;
+        private final int specialtyCode;
+        private final float nowDay;
+        private final float inverseRecencyWindow;
+
+        Scorer(ProfileFeatureStore.Columns columns, RankingQuery query, RankingWeights weights) {
+            this.columns = columns;
+            this.excludedRows = query.excludedRows();
+            this.ratingWeight = weights.rating();
+            this.experienceWeight = weights.experience();
+            this.distanceWeight = weights.distance();
+            this.specialtyWeight = weights.specialty();
+            this.recencyWeight = weights.recency();
+            this.located = query.hasLocation();
+            this.latitude = located ? (float) Math.toRadians(query.latitude()) : 0f;
+            this.longitude = located ? (float) Math.toRadians(query.longitude()) : 0f;
+            this.longitudeScale = (float) Math.cos(Math.toRadians(located ? query.latitude() : 0));
+            this.inverseMaxDistance = (float) (ProfileFeatureStore.EARTH_RADIUS_KM / weights.maxDistanceKm());
+            this.specialtyCode = query.specialtyCode();
+            this.nowDay = (float) query.nowEpochDay();
+            this.inverseRecencyWindow = (float) (1.0 / weights.recencyWindowDays());
+        }
+
+        TopK scan(int from, int to, int k) {
+            TopK top = new TopK(k);
+            // Score the runs between excluded rows, so the inner loop never checks the exclusions
+            int start = from;
+            while (start < to) {
+                int end = excludedRows == null ? to : excludedRows.nextSetBit(start);
+                if (end < 0 || end > to) {
+                    end = to;
+                }
+                scanRun(start, end, top);
+                start = end + 1;
+            }
+            return top;
+        }
+
+        private void scanRun(int from, int to, TopK top) {
+            float[] rating = columns.rating;
+            float[] experience = columns.experience;
+            float[] rowLatitude = columns.latitude;
+            float[] rowLongitude = columns.longitude;
+            int[] specialty = columns.specialty;
+            float[] updatedDay = columns.updatedDay;
+
+            for (int row = from; row < to; row++) {
+                float score = ratingWeight * rating[row] + experienceWeight * experience[row];
+
+                // located is fixed for the whole query, so this branch is always predicted; the specialty
+                // ternary and the max() clamps usually compile to conditional moves rather than jumps
+                if (located) {
+                    float dx = (rowLongitude[row] - longitude) * longitudeScale;
+                    float dy = rowLatitude[row] - latitude;
+                    float closeness = 1f - (float) Math.sqrt(dx * dx + dy * dy) * inverseMaxDistance;
+                    score += distanceWeight * Math.max(0f, closeness);
+                }
+                score += specialty[row] == specialtyCode ? specialtyWeight : 0f;
+                float freshness = 1f - Math.max(0f, nowDay - updatedDay[row]) * inverseRecencyWindow;
+                score += recencyWeight * Math.max(0f, freshness);
+                top.offer(row, score);
+            }
+        }
+    }
+}
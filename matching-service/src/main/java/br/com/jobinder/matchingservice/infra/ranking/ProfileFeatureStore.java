@@ -0,0 +1,142 @@
+package br.com.jobinder.matchingservice.infra.ranking;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Ranking features of every professional, one primitive array per feature, so a scan over a
+  million rows reads a few contiguous arrays instead of chasing a million objects. Values are
+  normalized when written, so scoring is plain arithmetic.
+
+  There is a single writer (the refresh task). A changed profile is overwritten in place; new
+  ones are appended and published together with the new row count, so readers always see whole
+  rows. A reader racing an in-place update may mix the old and new values of one row, which
+  only nudges that row's score for one query.
+*/
+public class ProfileFeatureStore {
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+    // Experience stops adding to the score past this many services performed
+    static final int EXPERIENCE_SATURATION = 500;
+    private static final double EXPERIENCE_SCALE = Math.log1p(EXPERIENCE_SATURATION);
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Stands in for missing coordinates: radians far outside the globe, so such rows are never near anything
+    static final float NO_COORDINATE = 1.0e4f;
+    // Differs from the -1 of a query without a specialty, so the two never count as a fit
+    static final int NO_SPECIALTY = -2;
+
+    private final ConcurrentHashMap<UUID, Integer> rowByUserId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> specialtyCodes = new ConcurrentHashMap<>();
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY, 0);
+
+    // Only called by the writer
+    public void upsert(UUID userId, UUID specialtyId, Double latitude, Double longitude,
+                       float rating, int servicesPerformed, long updatedAtEpochMs) {
+        Columns current = columns;
+        Integer existing = rowByUserId.get(userId);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            row = current.size;
+            if (row == current.userHigh.length) {
+                current = current.grow();
+            }
+        }
+
+        current.userHigh[row] = userId.getMostSignificantBits();
+        current.userLow[row] = userId.getLeastSignificantBits();
+        current.specialty[row] = specialtyId == null ? NO_SPECIALTY
+                : specialtyCodes.computeIfAbsent(specialtyId, id -> specialtyCodes.size());
+        boolean located = latitude != null && longitude != null;
+        current.latitude[row] = located ? (float) Math.toRadians(latitude) : NO_COORDINATE;
+        current.longitude[row] = located ? (float) Math.toRadians(longitude) : NO_COORDINATE;
+        current.rating[row] = Math.max(0f, Math.min(1f, rating / 5f));
+        current.experience[row] = (float) Math.min(1.0, Math.log1p(Math.max(0, servicesPerformed)) / EXPERIENCE_SCALE);
+        current.updatedDay[row] = (float) (updatedAtEpochMs / MILLIS_PER_DAY);
+
+        if (existing == null) {
+            // Publishing the new count after the row is written makes the whole row visible at once
+            columns = current.withSize(row + 1);
+            rowByUserId.put(userId, row);
+        }
+    }
+
+    public Columns columns() {
+        return columns;
+    }
+
+    // -1 when the user is not a known professional
+    public int rowOf(UUID userId) {
+        Integer row = rowByUserId.get(userId);
+        return row == null ? -1 : row;
+    }
+
+    // -1 when no professional has the specialty
+    public int specialtyCode(UUID specialtyId) {
+        Integer code = specialtyCodes.get(specialtyId);
+        return code == null ? -1 : code;
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    /*
+      The arrays and how many of their rows are in use. Coordinates are in radians (NO_COORDINATE
+      when the location has none), rating and experience are scaled to 0..1, specialty is a code
+      from the store's dictionary (NO_SPECIALTY for none), and updatedDay is the last change in
+      days since the epoch.
+    */
+    public static final class Columns {
+        final long[] userHigh;
+        final long[] userLow;
+        final int[] specialty;
+        final float[] latitude;
+        final float[] longitude;
+        final float[] rating;
+        final float[] experience;
+        final float[] updatedDay;
+        final int size;
+
+        private Columns(int capacity, int size) {
+            this(new long[capacity], new long[capacity], new int[capacity], new float[capacity], new float[capacity],
+                    new float[capacity], new float[capacity], new float[capacity], size);
+        }
+
+        private Columns(long[] userHigh, long[] userLow, int[] specialty, float[] latitude, float[] longitude,
+                        float[] rating, float[] experience, float[] updatedDay, int size) {
+            this.userHigh = userHigh;
+            this.userLow = userLow;
+            this.specialty = specialty;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.rating = rating;
+            this.experience = experience;
+            this.updatedDay = updatedDay;
+            this.size = size;
+        }
+
+        private Columns withSize(int newSize) {
+            return new Columns(userHigh, userLow, specialty, latitude, longitude, rating, experience, updatedDay, newSize);
+        }
+
+        private Columns grow() {
+            int capacity = userHigh.length * 2;
+            return new Columns(Arrays.copyOf(userHigh, capacity), Arrays.copyOf(userLow, capacity),
+                    Arrays.copyOf(specialty, capacity), Arrays.copyOf(latitude, capacity), Arrays.copyOf(longitude, capacity),
+                    Arrays.copyOf(rating, capacity), Arrays.copyOf(experience, capacity), Arrays.copyOf(updatedDay, capacity),
+                    size);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public UUID userId(int row) {
+            return new UUID(userHigh[row], userLow[row]);
+        }
+    }
+}
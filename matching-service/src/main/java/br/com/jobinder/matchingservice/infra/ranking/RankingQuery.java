@@ -0,0 +1,22 @@
+package br.com.jobinder.matchingservice.infra.ranking;
+
+import java.util.BitSet;
+
+/*
+  Who to rank for: a point (in degrees, or NaN for none), a specialty code from the store (or -1
+  for none), the rows to leave out, and the current day for recency. Features the query does not
+  ask about add nothing to any score.
+*/
+public record RankingQuery(
+        double latitude,
+        double longitude,
+        int specialtyCode,
+        BitSet excludedRows,
+        double nowEpochDay,
+        int limit
+) {
+
+    public boolean hasLocation() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
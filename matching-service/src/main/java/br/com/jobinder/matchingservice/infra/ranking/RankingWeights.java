@@ -0,0 +1,16 @@
+package br.com.jobinder.matchingservice.infra.ranking;
+
+/*
+  How much each feature counts towards a score. Every feature is scaled to 0..1, so a weight is
+  the most points that feature can add. Distance only counts within maxDistanceKm, and recency
+  fades linearly to nothing over recencyWindowDays.
+*/
+public record RankingWeights(
+        float rating,
+        float experience,
+        float distance,
+        float specialty,
+        float recency,
+        double maxDistanceKm,
+        double recencyWindowDays
+) {}
@@ -0,0 +1,92 @@
+package br.com.jobinder.matchingservice.infra.ranking;
+
+/*
+  The k best (row, score) pairs seen so far, kept in a min-heap over two primitive arrays: the
+  root is the weakest of the k, so a candidate that cannot beat it is dismissed with a single
+  comparison. Costs O(n log k) over n offers instead of sorting all n.
+*/
+public final class TopK {
+
+    private final int[] rows;
+    private final float[] scores;
+    private int size;
+
+    public TopK(int k) {
+        this.rows = new int[k];
+        this.scores = new float[k];
+    }
+
+    public void offer(int row, float score) {
+        if (size < rows.length) {
+            rows[size] = row;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (rows.length > 0 && score > scores[0]) {
+            rows[0] = row;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    public void addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.rows[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Empties the heap into rows and scores, best first
+    public int drainDescending(int[] rowsOut, float[] scoresOut) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            rowsOut[i] = rows[0];
+            scoresOut[i] = scores[0];
+            size--;
+            if (size > 0) {
+                rows[0] = rows[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return count;
+    }
+
+    private void siftUp(int index) {
+        int row = rows[index];
+        float score = scores[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= score) {
+                break;
+            }
+            rows[index] = rows[parent];
+            scores[index] = scores[parent];
+            index = parent;
+        }
+        rows[index] = row;
+        scores[index] = score;
+    }
+
+    private void siftDown(int index) {
+        int row = rows[index];
+        float score = scores[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && scores[child + 1] < scores[child]) {
+                child++;
+            }
+            if (score <= scores[child]) {
+                break;
+            }
+            rows[index] = rows[child];
+            scores[index] = scores[child];
+            index = child;
+        }
+        rows[index] = row;
+        scores[index] = score;
+    }
+}
@@ -39,6 +39,8 @@ public class SecurityConfig {
                         ).permitAll()
                         // Allow access to actuator endpoints without authentication
                         .requestMatchers("/actuator/**").permitAll()
+                        // Only regular user accounts swipe, going by the role claim of their token
+                        .requestMatchers("/api/v1/swipes").hasRole("USER")
                         // Need authentication for any other request
                         .anyRequest().authenticated()
                 )
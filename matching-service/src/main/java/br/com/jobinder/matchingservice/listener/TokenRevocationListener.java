@@ -0,0 +1,19 @@
+package br.com.jobinder.matchingservice.listener;
+
+import br.com.jobinder.matchingservice.dto.TokenRevokedEvent;
+import br.com.jobinder.matchingservice.infra.security.TokenRevocationList;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenRevocationListener {
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @RabbitListener(queues = "#{tokenRevokedQueue.name}")
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        tokenRevocationList.revoke(event.jti(), event.expiresAtMillis());
+    }
+}
@@ -0,0 +1,250 @@
+package br.com.jobinder.matchingservice.service;
+
+import br.com.jobinder.matchingservice.client.IdentityServiceClient;
+import br.com.jobinder.matchingservice.domain.match.MatchRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.infra.security.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+  Feed of professionals a client has not matched with or swiped on yet. Each active client has
+  a queue of candidates that is topped up in the background, so serving a page is a queue pop.
+  Candidates come from an in-memory catalog of professional user IDs, reloaded periodically
+  from identity-service, and are scanned in order past the professionals to exclude: the client's
+  matches and swipes, loaded once per feed. A Bloom filter answers most candidates, which are not
+  excluded, without touching the exact set; its positives are confirmed against that set, so a
+  false positive never hides a professional.
+
+  A feed scans one catalog snapshot per pass, so its position alone keeps it from queueing a
+  candidate twice. Once a pass ends and the catalog has been reloaded, the next pass scans the
+  new snapshot and skips everything the previous one already covered, which leaves only the
+  professionals added since.
+*/
+@Service
+public class CandidateFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateFeedService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private IdentityServiceClient identityServiceClient;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.feed.queue-size:200}")
+    private int queueSize;
+
+    @Value("${matching.feed.refill-threshold:50}")
+    private int refillThreshold;
+
+    @Value("${matching.feed.max-active-clients:20000}")
+    private long maxActiveClients;
+
+    @Value("${matching.feed.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${matching.feed.exclusion.headroom:1000}")
+    private int exclusionHeadroom;
+
+    @Value("${matching.feed.exclusion.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${matching.feed.catalog.page-size:1000}")
+    private int catalogPageSize;
+
+    // Sorted with UUID.compareTo, so a pass can binary-search the snapshot the previous one scanned
+    private volatile UUID[] catalog = new UUID[0];
+    private volatile long catalogVersion;
+    private Cache<UUID, ClientFeed> feeds;
+
+    private Counter backgroundRefillCounter;
+    private Counter inlineRefillCounter;
+
+    @PostConstruct
+    void init() {
+        this.feeds = Caffeine.newBuilder()
+                .maximumSize(maxActiveClients)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, feeds, "matching.feed.clients");
+        Gauge.builder("matching.feed.catalog.size", this, service -> service.catalog.length)
+                .description("Professionals known to the candidate feed")
+                .register(meterRegistry);
+        this.backgroundRefillCounter = Counter.builder("matching.feed.refills")
+                .description("Candidate queues topped up")
+                .tag("mode", "background")
+                .register(meterRegistry);
+        this.inlineRefillCounter = Counter.builder("matching.feed.refills")
+                .description("Candidate queues topped up")
+                .tag("mode", "inline")
+                .register(meterRegistry);
+    }
+
+    // Runs once at startup too; until the first load succeeds, feeds are simply empty
+    @Scheduled(fixedDelayString = "${matching.feed.catalog.reload-interval-ms:300000}")
+    public void reloadCatalog() {
+        List<UUID> userIds = new ArrayList<>();
+        try {
+            UUID after = null;
+            List<UUID> page;
+            do {
+                page = identityServiceClient.getProfessionalUserIds(after, catalogPageSize);
+                userIds.addAll(page);
+                after = page.isEmpty() ? after : page.get(page.size() - 1);
+            } while (page.size() == catalogPageSize);
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the professional catalog, keeping the previous one: {}", e.getMessage());
+            return;
+        }
+
+        UUID[] loaded = userIds.toArray(new UUID[0]);
+        Arrays.sort(loaded);
+        this.catalog = loaded;
+        this.catalogVersion++;
+    }
+
+    @Scheduled(fixedDelayString = "${matching.feed.refill-interval-ms:1000}")
+    public void refill() {
+        for (ClientFeed feed : feeds.asMap().values()) {
+            synchronized (feed) {
+                if (feed.queue.size() < refillThreshold && fill(feed) > 0) {
+                    backgroundRefillCounter.increment();
+                }
+            }
+        }
+    }
+
+    public List<UUID> nextCandidates(UUID clientUserId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ClientFeed feed = feeds.get(clientUserId, this::buildFeed);
+        synchronized (feed) {
+            // Only a new client or one paging faster than the background refill gets here
+            if (feed.queue.size() < pageSize && fill(feed) > 0) {
+                inlineRefillCounter.increment();
+            }
+            List<UUID> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize && !feed.queue.isEmpty()) {
+                page.add(feed.queue.poll());
+            }
+            return page;
+        }
+    }
+
+    // Whether the user had a service profile at the last catalog reload
+    public boolean isProfessional(UUID userId) {
+        return Arrays.binarySearch(catalog, userId) >= 0;
+    }
+
+    // Keeps a professional the client just swiped on or matched with out of an active feed
+    public void exclude(UUID clientUserId, UUID professionalUserId) {
+        ClientFeed feed = feeds.getIfPresent(clientUserId);
+        if (feed == null) {
+            return;
+        }
+        synchronized (feed) {
+            feed.exclude(professionalUserId);
+            feed.queue.remove(professionalUserId);
+        }
+    }
+
+    private ClientFeed buildFeed(UUID clientUserId) {
+        List<UUID> matched = matchRepository.findProfessionalUserIdsByClientUserId(clientUserId);
+        List<UUID> swiped = swipeRepository.findTargetUserIds(clientUserId, SwipeRole.CLIENT);
+
+        var feed = new ClientFeed(new BloomFilter(matched.size() + swiped.size() + exclusionHeadroom, falsePositiveRate));
+        feed.exclude(clientUserId);
+        matched.forEach(feed::exclude);
+        swiped.forEach(feed::exclude);
+        return feed;
+    }
+
+    // Scans the feed's pass from its position and returns how many candidates were queued; callers hold the feed's lock
+    private int fill(ClientFeed feed) {
+        // Version first: a reload publishes the array before bumping it, so a stale version only costs an extra pass
+        long version = catalogVersion;
+        UUID[] snapshot = catalog;
+        if (feed.passCatalog == null) {
+            feed.startPass(snapshot, version);
+        } else if (feed.position >= feed.passCatalog.length && feed.passVersion != version) {
+            // Everything the finished pass scanned was queued or excluded then; the new one only skips it
+            feed.previousCatalog = feed.passCatalog;
+            feed.startPass(snapshot, version);
+        }
+
+        UUID[] pass = feed.passCatalog;
+        int queued = 0;
+        while (feed.queue.size() < queueSize && feed.position < pass.length) {
+            UUID candidate = pass[feed.position++];
+            if (feed.previousCatalog != null && Arrays.binarySearch(feed.previousCatalog, candidate) >= 0) {
+                continue;
+            }
+            if (!feed.isExcluded(candidate)) {
+                feed.queue.add(candidate);
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    static final class ClientFeed {
+        private final BloomFilter excludedFilter;
+        private final Set<UUID> excludedIds = new HashSet<>();
+        private final ArrayDeque<UUID> queue = new ArrayDeque<>();
+        // Catalog snapshot the current pass scans, its version and the next index to scan
+        private UUID[] passCatalog;
+        private long passVersion;
+        private int position;
+        // Snapshot the previous pass scanned; null during the first pass
+        private UUID[] previousCatalog;
+
+        ClientFeed(BloomFilter excludedFilter) {
+            this.excludedFilter = excludedFilter;
+        }
+
+        private void exclude(UUID userId) {
+            excludedFilter.add(userId.toString());
+            excludedIds.add(userId);
+        }
+
+        private boolean isExcluded(UUID userId) {
+            return excludedFilter.mightContain(userId.toString()) && excludedIds.contains(userId);
+        }
+
+        private void startPass(UUID[] snapshot, long version) {
+            this.passCatalog = snapshot;
+            this.passVersion = version;
+            this.position = 0;
+        }
+    }
+}
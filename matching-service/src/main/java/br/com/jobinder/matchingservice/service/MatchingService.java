@@ -5,22 +5,29 @@ import br.com.jobinder.matchingservice.domain.match.Match;
 import br.com.jobinder.matchingservice.domain.match.MatchRepository;
 import br.com.jobinder.matchingservice.dto.MatchCreateDTO;
 import br.com.jobinder.matchingservice.dto.MatchCreatedEvent;
+import br.com.jobinder.matchingservice.dto.MatchCursor;
+import br.com.jobinder.matchingservice.dto.MatchPageDTO;
 import br.com.jobinder.matchingservice.dto.MatchResponseDTO;
+import br.com.jobinder.matchingservice.dto.MatchSummaryDTO;
 import br.com.jobinder.matchingservice.infra.exception.MatchAlreadyExistsException;
 import br.com.jobinder.matchingservice.infra.exception.MatchNotFoundException;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class MatchingService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private MatchRepository matchRepository;
 
@@ -28,7 +35,10 @@ public class MatchingService {
     private IdentityServiceClient identityServiceClient;
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private OutboxService outboxService;
+
+    @Autowired
+    private CandidateFeedService candidateFeedService;
 
     @Value("${rabbitmq.queues.match-created}")
     private String matchCreatedQueue;
@@ -45,32 +55,76 @@ public class MatchingService {
         // Create and save the match using between client and professional user IDs
         var match = new Match(null, clientUserId, professionalUserId, null);
         var savedMatch = matchRepository.save(match);
+        candidateFeedService.exclude(clientUserId, professionalUserId);
 
-        // Publish event to RabbitMQ to enable chat
+        // Record the event that enables chat; the outbox relay publishes it once this transaction commits
         var event = new MatchCreatedEvent(savedMatch.getId(), clientUserId, savedMatch.getProfessionalUserId());
-        rabbitTemplate.convertAndSend(matchCreatedQueue, event);
+        outboxService.enqueue(matchCreatedQueue, event);
 
         return new MatchResponseDTO(savedMatch.getId(), "Match created successfully and chat enabled.");
     }
 
+    /*
+      Turns a mutual like into a match. Both the swipe path and the flush-time check may detect the
+      same pair, on any instance; the conditional insert lets exactly one of them create the match
+      and record its event.
+    */
+    @Transactional
+    public Optional<UUID> promoteMutualLike(UUID clientUserId, UUID professionalUserId) {
+        var matchId = matchRepository.insertIfAbsent(UUID.randomUUID(), clientUserId, professionalUserId, LocalDateTime.now());
+        matchId.ifPresent(id -> outboxService.enqueue(matchCreatedQueue,
+                new MatchCreatedEvent(id, clientUserId, professionalUserId)));
+        return matchId;
+    }
+
     public MatchResponseDTO findMatchById(UUID matchId) {
         return matchRepository.findById(matchId)
                 .map(match -> new MatchResponseDTO(match.getId(), "Match details found."))
                 .orElseThrow(() -> new MatchNotFoundException("Match not found with ID: " + matchId));
     }
 
-    public List<MatchResponseDTO> findMatchesByClientId(UUID clientUserId) {
-        return matchRepository.findAllByClientUserId(clientUserId)
-                .stream()
-                .map(match -> new MatchResponseDTO(match.getId(), "Match with professional " + match.getProfessionalUserId()))
-                .collect(Collectors.toList());
+    public MatchPageDTO findMatchesByClientId(UUID clientUserId, String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        boolean firstPage = cursor == null || cursor.isBlank();
+        List<MatchSummaryDTO> rows;
+        if (firstPage) {
+            rows = matchRepository.findClientFirstPage(clientUserId, limit);
+        } else {
+            var position = MatchCursor.decode(cursor);
+            rows = matchRepository.findClientPageAfter(clientUserId, position.createdAt(), position.id(), limit);
+        }
+
+        // The total does not change between pages, so it is only counted for the first one
+        Long total = includeTotal && firstPage ? matchRepository.countByClientUserId(clientUserId) : null;
+        return toPage(rows, pageSize, total);
+    }
+
+    public MatchPageDTO findMatchesByProfessionalId(UUID professionalUserId, String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        boolean firstPage = cursor == null || cursor.isBlank();
+        List<MatchSummaryDTO> rows;
+        if (firstPage) {
+            rows = matchRepository.findProfessionalFirstPage(professionalUserId, limit);
+        } else {
+            var position = MatchCursor.decode(cursor);
+            rows = matchRepository.findProfessionalPageAfter(professionalUserId, position.createdAt(), position.id(), limit);
+        }
+
+        Long total = includeTotal && firstPage ? matchRepository.countByProfessionalUserId(professionalUserId) : null;
+        return toPage(rows, pageSize, total);
     }
 
-    public List<MatchResponseDTO> findMatchesByProfessionalId(UUID professionalUserId) {
-        return matchRepository.findAllByProfessionalUserId(professionalUserId)
-                .stream()
-                .map(match -> new MatchResponseDTO(match.getId(), "Match with client " + match.getClientUserId()))
-                .collect(Collectors.toList());
+    private static MatchPageDTO toPage(List<MatchSummaryDTO> rows, int pageSize, Long total) {
+        if (rows.size() <= pageSize) {
+            return new MatchPageDTO(rows, null, total);
+        }
+        var page = rows.subList(0, pageSize);
+        return new MatchPageDTO(page, MatchCursor.of(page.get(pageSize - 1)).encode(), total);
     }
 
     public List<Match> getAllMatchesDTO() {
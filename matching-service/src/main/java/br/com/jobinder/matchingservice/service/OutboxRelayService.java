@@ -0,0 +1,191 @@
+package br.com.jobinder.matchingservice.service;
+
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEvent;
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  Publishes outbox rows to RabbitMQ. Each batch is locked, sent as a whole, and then every
+  publisher confirm is awaited together, so a batch costs one round trip rather than one per
+  message. Only confirmed rows are marked as sent; anything else is retried on a later run,
+  which makes delivery at-least-once (consumers already deduplicate by match ID).
+*/
+@Service
+public class OutboxRelayService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    // Caps one run while catching up, so other scheduled tasks still get the scheduler thread
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${matching.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${matching.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${matching.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private Timer lagTimer;
+    private Counter confirmedCounter;
+    private Counter rejectedCounter;
+    private Counter unconfirmedCounter;
+
+    @PostConstruct
+    void init() {
+        this.lagTimer = Timer.builder("matching.outbox.relay.lag")
+                .description("Time from writing an outbox event to the broker confirming it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("matching.outbox.oldest-pending-age", oldestPendingAgeMs, AtomicLong::get)
+                .description("Age of the oldest outbox event still waiting to be published")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.confirmedCounter = publishCounter("confirmed");
+        this.rejectedCounter = publishCounter("rejected");
+        this.unconfirmedCounter = publishCounter("unconfirmed");
+    }
+
+    private Counter publishCounter(String result) {
+        return Counter.builder("matching.outbox.published")
+                .description("Outbox events sent to the broker, by publisher confirm result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${matching.outbox.relay-interval-ms:200}")
+    public void relay() {
+        // Keep going while batches come back full, so a backlog drains without waiting for the next tick
+        for (int batches = 0; batches < MAX_BATCHES_PER_RUN; batches++) {
+            Integer confirmed = transactionTemplate.execute(status -> relayBatch());
+            if (confirmed == null || confirmed < batchSize) {
+                break;
+            }
+        }
+        Instant oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts).orElse(null);
+        oldestPendingAgeMs.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${matching.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        outboxEventRepository.deleteSentBefore(Instant.now().minus(Duration.ofHours(retentionHours)));
+    }
+
+    // Runs inside a transaction that holds the row locks until the confirmed rows are marked
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockPending(maxAttempts, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CorrelationData correlation = new CorrelationData(event.getId().toString());
+            try {
+                rabbitTemplate.send(rabbitTemplate.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+            } catch (AmqpException e) {
+                // The broker is unreachable; the rest of the batch would fail the same way
+                log.warn("Could not publish outbox event {}, retrying later: {}", event.getId(), e.getMessage());
+                break;
+            }
+            sent.add(event);
+            correlations.add(correlation);
+        }
+
+        List<UUID> confirmedIds = new ArrayList<>(sent.size());
+        List<UUID> rejectedIds = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < sent.size(); i++) {
+            OutboxEvent event = sent.get(i);
+            CorrelationData correlation = correlations.get(i);
+            CorrelationData.Confirm confirm;
+            try {
+                confirm = correlation.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                unconfirmedCounter.increment();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // A returned message was acked but reached no queue
+            if (confirm.isAck() && correlation.getReturned() == null) {
+                confirmedIds.add(event.getId());
+                confirmedCounter.increment();
+                lagTimer.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            } else {
+                rejectedIds.add(event.getId());
+                rejectedCounter.increment();
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Outbox event {} was rejected {} times and will no longer be published: {}",
+                            event.getId(), maxAttempts, confirm.getReason());
+                }
+            }
+        }
+
+        if (!confirmedIds.isEmpty()) {
+            outboxEventRepository.markSent(confirmedIds, Instant.now());
+        }
+        if (!rejectedIds.isEmpty()) {
+            outboxEventRepository.incrementAttempts(rejectedIds);
+        }
+        return confirmedIds.size();
+    }
+
+    // The same message the JSON converter produces for the event, with the row ID for deduplication
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId(event.getId().toString());
+        properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getEventType());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
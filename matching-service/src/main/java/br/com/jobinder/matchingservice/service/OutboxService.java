@@ -0,0 +1,32 @@
+package br.com.jobinder.matchingservice.service;
+
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEvent;
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Must join the caller's transaction: the event is only published if that transaction commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String routingKey, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+        outboxEventRepository.save(new OutboxEvent(null, event.getClass().getName(), routingKey, payload, 0, null, null));
+    }
+}
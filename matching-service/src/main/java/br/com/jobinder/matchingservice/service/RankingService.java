@@ -0,0 +1,220 @@
+package br.com.jobinder.matchingservice.service;
+
+import br.com.jobinder.matchingservice.client.IdentityServiceClient;
+import br.com.jobinder.matchingservice.domain.match.MatchRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.dto.ProfileFeaturesDTO;
+import br.com.jobinder.matchingservice.dto.RankedCandidateDTO;
+import br.com.jobinder.matchingservice.infra.exception.InvalidRankingQueryException;
+import br.com.jobinder.matchingservice.infra.ranking.CandidateRanker;
+import br.com.jobinder.matchingservice.infra.ranking.ProfileFeatureStore;
+import br.com.jobinder.matchingservice.infra.ranking.RankingQuery;
+import br.com.jobinder.matchingservice.infra.ranking.RankingWeights;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+  Ranks professionals for a client by a weighted score over rating, services performed,
+  distance, specialty fit and recency, leaving out those the client already matched with or
+  swiped on. Scoring runs over an in-memory snapshot of every professional's features, kept
+  current by pulling only the profiles changed since the last refresh from identity-service;
+  a periodic full rebuild drops deleted profiles.
+*/
+@Service
+public class RankingService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    @Autowired
+    private IdentityServiceClient identityServiceClient;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SwipeRepository swipeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.ranking.weights.rating:0.30}")
+    private float ratingWeight;
+
+    @Value("${matching.ranking.weights.experience:0.20}")
+    private float experienceWeight;
+
+    @Value("${matching.ranking.weights.distance:0.25}")
+    private float distanceWeight;
+
+    @Value("${matching.ranking.weights.specialty:0.20}")
+    private float specialtyWeight;
+
+    @Value("${matching.ranking.weights.recency:0.05}")
+    private float recencyWeight;
+
+    @Value("${matching.ranking.max-distance-km:50}")
+    private double maxDistanceKm;
+
+    @Value("${matching.ranking.recency-window-days:90}")
+    private double recencyWindowDays;
+
+    // 0 uses every available processor
+    @Value("${matching.ranking.parallelism:0}")
+    private int parallelism;
+
+    @Value("${matching.ranking.page-size:5000}")
+    private int pageSize;
+
+    @Value("${matching.ranking.refresh-overlap-seconds:60}")
+    private long refreshOverlapSeconds;
+
+    private volatile ProfileFeatureStore store = new ProfileFeatureStore();
+    // The last change applied to the store; null until the first full load succeeds. Only touched under the lock
+    private LocalDateTime watermark;
+
+    private ForkJoinPool pool;
+    private CandidateRanker ranker;
+    private Timer rankTimer;
+
+    @PostConstruct
+    void init() {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.ranker = new CandidateRanker(pool, new RankingWeights(ratingWeight, experienceWeight, distanceWeight,
+                specialtyWeight, recencyWeight, maxDistanceKm, recencyWindowDays));
+        Gauge.builder("matching.ranking.snapshot.size", this, service -> service.store.size())
+                .description("Professionals in the ranking snapshot")
+                .register(meterRegistry);
+        this.rankTimer = Timer.builder("matching.ranking.query")
+                .description("Time spent scoring the snapshot and selecting the top candidates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // Runs once at startup too; the new snapshot replaces the old one only once it is complete
+    @Scheduled(fixedDelayString = "${matching.ranking.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        var fresh = new ProfileFeatureStore();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            LocalDateTime position = load(fresh, null);
+            this.store = fresh;
+            this.watermark = position != null ? position : startedAt;
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the ranking snapshot, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${matching.ranking.refresh-interval-ms:30000}",
+            initialDelayString = "${matching.ranking.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        if (watermark == null) {
+            rebuild();
+            return;
+        }
+        // Re-reading a short overlap catches changes committed late with an earlier timestamp
+        try {
+            LocalDateTime position = load(store, watermark.minusSeconds(refreshOverlapSeconds));
+            if (position != null && position.isAfter(watermark)) {
+                this.watermark = position;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the ranking snapshot, retrying on the next refresh: {}", e.getMessage());
+        }
+    }
+
+    public List<RankedCandidateDTO> rankForClient(UUID clientUserId, Double latitude, Double longitude,
+                                                  UUID specialtyId, int size) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new InvalidRankingQueryException("Latitude and longitude must be given together.");
+        }
+        if (latitude != null && (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)) {
+            throw new InvalidRankingQueryException("Latitude must be between -90 and 90 and longitude between -180 and 180.");
+        }
+
+        ProfileFeatureStore current = store;
+        ProfileFeatureStore.Columns columns = current.columns();
+        if (columns.size() == 0) {
+            return List.of();
+        }
+
+        BitSet excluded = new BitSet(columns.size());
+        exclude(current, excluded, clientUserId);
+        matchRepository.findProfessionalUserIdsByClientUserId(clientUserId).forEach(id -> exclude(current, excluded, id));
+        swipeRepository.findTargetUserIds(clientUserId, SwipeRole.CLIENT).forEach(id -> exclude(current, excluded, id));
+
+        var query = new RankingQuery(
+                latitude != null ? latitude : Double.NaN,
+                longitude != null ? longitude : Double.NaN,
+                specialtyId != null ? current.specialtyCode(specialtyId) : -1,
+                excluded,
+                System.currentTimeMillis() / MILLIS_PER_DAY,
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        CandidateRanker.RankedRows ranked = rankTimer.record(() -> ranker.rank(columns, query));
+
+        List<RankedCandidateDTO> result = new ArrayList<>(ranked.rows().length);
+        for (int i = 0; i < ranked.rows().length; i++) {
+            result.add(new RankedCandidateDTO(columns.userId(ranked.rows()[i]), ranked.scores()[i]));
+        }
+        return result;
+    }
+
+    private static void exclude(ProfileFeatureStore store, BitSet excluded, UUID userId) {
+        int row = store.rowOf(userId);
+        if (row >= 0) {
+            excluded.set(row);
+        }
+    }
+
+    // Applies every change after "from" (from the start when null); returns the position reached, or null if nothing changed
+    private LocalDateTime load(ProfileFeatureStore target, LocalDateTime from) {
+        LocalDateTime updatedAfter = from;
+        UUID afterId = null;
+        LocalDateTime position = null;
+        List<ProfileFeaturesDTO> page;
+        do {
+            page = identityServiceClient.getProfileFeatures(updatedAfter, afterId, pageSize);
+            for (ProfileFeaturesDTO features : page) {
+                target.upsert(features.userId(), features.specialtyId(), features.latitude(), features.longitude(),
+                        features.rating(), features.servicesPerformed(), toEpochMillis(features.updatedAt()));
+            }
+            if (!page.isEmpty()) {
+                ProfileFeaturesDTO last = page.get(page.size() - 1);
+                updatedAfter = last.updatedAt();
+                afterId = last.profileId();
+                position = last.updatedAt();
+            }
+        } while (page.size() == pageSize);
+        return position;
+    }
+
+    // identity-service stores local timestamps; both services run in the same zone
+    private static long toEpochMillis(LocalDateTime updatedAt) {
+        return updatedAt == null ? 0 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
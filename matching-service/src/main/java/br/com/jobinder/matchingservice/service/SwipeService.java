@@ -0,0 +1,362 @@
+package br.com.jobinder.matchingservice.service;
+
+import br.com.jobinder.matchingservice.domain.swipe.SwipeDecision;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.dto.SwipeCreateDTO;
+import br.com.jobinder.matchingservice.dto.SwipeResultDTO;
+import br.com.jobinder.matchingservice.infra.exception.InvalidSwipeException;
+import br.com.jobinder.matchingservice.infra.exception.SwipeBufferFullException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/*
+  Records swipes at a much higher rate than the database could take one row at a time. Swipes go
+  into a bounded buffer and are upserted in batches; when the buffer is full, new swipes are
+  refused with 503 rather than queueing without limit.
+
+  Mutual likes are detected in memory: an index of likes not yet answered by the other side
+  matches a like against its reverse immediately, so the swiper learns about the match in the
+  response. Likes the index cannot see (made on another instance, evicted, or before a restart)
+  are caught after each flush by one query over the batch's likes.
+
+  A batch the database keeps refusing is retried a few times and then written row by row, so one
+  bad swipe cannot hold back the buffer; only the rows that still fail are dropped.
+*/
+@Service
+public class SwipeService {
+
+    private static final Logger log = LoggerFactory.getLogger(SwipeService.class);
+
+    // Caps one run while catching up, so other scheduled tasks still get a scheduler thread
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // The latest decision of a swiper about a target wins
+    static final String UPSERT_SQL = "INSERT INTO swipes (id, swiper_user_id, target_user_id, swiper_role, decision, swiped_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (swiper_user_id, target_user_id, swiper_role) " +
+            "DO UPDATE SET decision = EXCLUDED.decision, swiped_at = EXCLUDED.swiped_at";
+
+    // The likes of a batch whose reverse like (the target liking the swiper back, from the other side) is stored
+    static final String RECIPROCATED_LIKES_SQL = "SELECT b.swiper_user_id, b.target_user_id, b.swiper_role " +
+            "FROM unnest(?, ?, ?) AS b(swiper_user_id, target_user_id, swiper_role) " +
+            "WHERE EXISTS (SELECT 1 FROM swipes r " +
+            "  WHERE r.swiper_user_id = b.target_user_id AND r.target_user_id = b.swiper_user_id " +
+            "  AND r.swiper_role <> b.swiper_role AND r.decision = 'LIKE')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private CandidateFeedService candidateFeedService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.swipes.buffer-capacity:100000}")
+    private int bufferCapacity;
+
+    @Value("${matching.swipes.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${matching.swipes.max-batch-attempts:3}")
+    private int maxBatchAttempts;
+
+    @Value("${matching.swipes.pending-likes.max-size:500000}")
+    private long pendingLikesMaxSize;
+
+    @Value("${matching.swipes.pending-likes.ttl-hours:72}")
+    private long pendingLikesTtlHours;
+
+    private ArrayBlockingQueue<PendingSwipe> buffer;
+    // Unanswered likes by pair, holding the side that liked
+    private Cache<Pair, SwipeRole> pendingLikes;
+    // A batch the database refused, written again before anything newer; only touched by flush()
+    private List<PendingSwipe> failedBatch = List.of();
+    // Failed writes of failedBatch as one batch
+    private int failedAttempts;
+
+    private final Map<SwipeDecision, Counter> decisionCounters = new EnumMap<>(SwipeDecision.class);
+    private Counter rejectedCounter;
+    private Counter memoryMatchCounter;
+    private Counter flushMatchCounter;
+    private Counter droppedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() {
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.pendingLikes = Caffeine.newBuilder()
+                .maximumSize(pendingLikesMaxSize)
+                .expireAfterWrite(Duration.ofHours(pendingLikesTtlHours))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pendingLikes, "matching.pending-likes");
+
+        for (SwipeDecision decision : SwipeDecision.values()) {
+            decisionCounters.put(decision, Counter.builder("matching.swipes")
+                    .description("Swipes accepted into the write-behind buffer")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.rejectedCounter = Counter.builder("matching.swipes.rejected")
+                .description("Swipes refused because the write-behind buffer was full")
+                .register(meterRegistry);
+        this.memoryMatchCounter = Counter.builder("matching.swipes.mutual")
+                .description("Matches created from mutual likes")
+                .tag("detected-by", "memory")
+                .register(meterRegistry);
+        this.flushMatchCounter = Counter.builder("matching.swipes.mutual")
+                .description("Matches created from mutual likes")
+                .tag("detected-by", "flush")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("matching.swipes.dropped")
+                .description("Swipes the database refused even when written one at a time")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("matching.swipes.flush")
+                .description("Time spent writing one batch of swipes")
+                .register(meterRegistry);
+        Gauge.builder("matching.swipes.buffered", buffer, Collection::size)
+                .description("Swipes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    public SwipeResultDTO swipe(UUID swiperUserId, SwipeCreateDTO swipeDto) {
+        if (swiperUserId.equals(swipeDto.targetUserId())) {
+            throw new InvalidSwipeException("You cannot swipe on yourself.");
+        }
+        // The token only says the account is a regular user; anyone may browse as a client, but only professionals as one
+        if (swipeDto.role() == SwipeRole.PROFESSIONAL && !candidateFeedService.isProfessional(swiperUserId)) {
+            throw new AccessDeniedException("Only users with a service profile can swipe as a professional.");
+        }
+
+        var swipe = new PendingSwipe(swiperUserId, swipeDto.targetUserId(), swipeDto.role(), swipeDto.decision(), Instant.now());
+        if (!buffer.offer(swipe)) {
+            rejectedCounter.increment();
+            throw new SwipeBufferFullException("Too many swipes are waiting to be saved. Please try again shortly.");
+        }
+        decisionCounters.get(swipe.decision()).increment();
+        if (swipe.role() == SwipeRole.CLIENT) {
+            candidateFeedService.exclude(swiperUserId, swipe.targetUserId());
+        }
+
+        Pair pair = swipe.pair();
+        if (swipe.decision() == SwipeDecision.PASS) {
+            // A pass withdraws an earlier like from the same side
+            pendingLikes.asMap().computeIfPresent(pair, (key, likedBy) -> likedBy == swipe.role() ? null : likedBy);
+            return new SwipeResultDTO(false, null);
+        }
+
+        // Atomic per pair, so two reverse likes racing on this instance always meet
+        boolean[] mutual = new boolean[1];
+        pendingLikes.asMap().compute(pair, (key, likedBy) -> {
+            if (likedBy != null && likedBy != swipe.role()) {
+                mutual[0] = true;
+                return null;
+            }
+            return swipe.role();
+        });
+        if (!mutual[0]) {
+            return new SwipeResultDTO(false, null);
+        }
+
+        try {
+            var matchId = matchingService.promoteMutualLike(pair.clientUserId(), pair.professionalUserId());
+            matchId.ifPresent(id -> memoryMatchCounter.increment());
+            return new SwipeResultDTO(true, matchId.orElse(null));
+        } catch (RuntimeException e) {
+            // Both likes are buffered, so the check after the next flush creates the match
+            log.warn("Could not create the match for a mutual like yet, leaving it to the next flush: {}", e.getMessage());
+            return new SwipeResultDTO(true, null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${matching.swipes.flush-interval-ms:200}")
+    public synchronized void flush() {
+        for (int batches = 0; batches < MAX_BATCHES_PER_RUN; batches++) {
+            List<PendingSwipe> drained = new ArrayList<>(failedBatch);
+            failedBatch = List.of();
+            buffer.drainTo(drained, batchSize);
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            // Rows repeating a key would make the upsert touch the same row twice in one statement
+            Map<SwipeKey, PendingSwipe> latest = new LinkedHashMap<>();
+            for (PendingSwipe swipe : drained) {
+                latest.put(swipe.key(), swipe);
+            }
+            List<PendingSwipe> batch = new ArrayList<>(latest.values());
+
+            List<PendingSwipe> written = batch;
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), SwipeService::bind)));
+                failedAttempts = 0;
+            } catch (RuntimeException e) {
+                if (++failedAttempts < maxBatchAttempts) {
+                    log.error("Could not write {} swipes, retrying on the next flush: {}", batch.size(), e.getMessage());
+                    failedBatch = batch;
+                    return;
+                }
+                log.error("Could not write {} swipes after {} attempts, writing them one at a time: {}",
+                        batch.size(), failedAttempts, e.getMessage());
+                written = writeRowByRow(batch);
+                if (!failedBatch.isEmpty()) {
+                    promoteReciprocatedLikes(written);
+                    return;
+                }
+                failedAttempts = 0;
+            }
+
+            promoteReciprocatedLikes(written);
+            if (drained.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /*
+      Returns the swipes written. A row the database refuses is dropped; when the database itself
+      is unreachable, the rows not yet written are kept in failedBatch for the next flush instead.
+    */
+    private List<PendingSwipe> writeRowByRow(List<PendingSwipe> batch) {
+        List<PendingSwipe> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingSwipe swipe = batch.get(i);
+            try {
+                jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, swipe));
+                written.add(swipe);
+            } catch (TransientDataAccessException | RecoverableDataAccessException
+                     | DataAccessResourceFailureException e) {
+                log.error("Database unavailable, keeping {} swipes for the next flush: {}", batch.size() - i, e.getMessage());
+                failedBatch = batch.subList(i, batch.size());
+                return written;
+            } catch (RuntimeException e) {
+                droppedCounter.increment();
+                log.error("Dropping the {} swipe of user {} on {}: {}",
+                        swipe.decision(), swipe.swiperUserId(), swipe.targetUserId(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private static void bind(PreparedStatement ps, PendingSwipe swipe) throws SQLException {
+        ps.setObject(1, UUID.randomUUID());
+        ps.setObject(2, swipe.swiperUserId());
+        ps.setObject(3, swipe.targetUserId());
+        ps.setString(4, swipe.role().name());
+        ps.setString(5, swipe.decision().name());
+        ps.setTimestamp(6, Timestamp.from(swipe.swipedAt()));
+    }
+
+    /*
+      Runs after the batch is committed. Of two reverse likes flushed concurrently, the one
+      committed last is bound to see the other, so no mutual like is missed; when both see each
+      other, the conditional insert in promoteMutualLike keeps a single match.
+    */
+    private void promoteReciprocatedLikes(List<PendingSwipe> batch) {
+        List<PendingSwipe> likes = batch.stream()
+                .filter(swipe -> swipe.decision() == SwipeDecision.LIKE)
+                .toList();
+        if (likes.isEmpty()) {
+            return;
+        }
+
+        List<Pair> reciprocated;
+        try {
+            reciprocated = jdbcTemplate.query(
+                    connection -> {
+                        var statement = connection.prepareStatement(RECIPROCATED_LIKES_SQL);
+                        statement.setArray(1, uuidArray(connection, likes.stream().map(PendingSwipe::swiperUserId).toArray()));
+                        statement.setArray(2, uuidArray(connection, likes.stream().map(PendingSwipe::targetUserId).toArray()));
+                        statement.setArray(3, connection.createArrayOf("varchar",
+                                likes.stream().map(swipe -> swipe.role().name()).toArray()));
+                        return statement;
+                    },
+                    (rs, rowNum) -> new PendingSwipe(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                            SwipeRole.valueOf(rs.getString(3)), SwipeDecision.LIKE, null).pair());
+        } catch (RuntimeException e) {
+            log.error("Could not check {} likes for mutual matches: {}", likes.size(), e.getMessage());
+            return;
+        }
+
+        for (Pair pair : reciprocated) {
+            pendingLikes.invalidate(pair);
+            try {
+                matchingService.promoteMutualLike(pair.clientUserId(), pair.professionalUserId())
+                        .ifPresent(id -> flushMatchCounter.increment());
+            } catch (RuntimeException e) {
+                log.error("Could not create the match between client {} and professional {}: {}",
+                        pair.clientUserId(), pair.professionalUserId(), e.getMessage());
+            }
+        }
+    }
+
+    private static Array uuidArray(Connection connection, Object[] ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids);
+    }
+
+    record Pair(UUID clientUserId, UUID professionalUserId) {}
+
+    record SwipeKey(UUID swiperUserId, UUID targetUserId, SwipeRole role) {}
+
+    record PendingSwipe(UUID swiperUserId, UUID targetUserId, SwipeRole role, SwipeDecision decision, Instant swipedAt) {
+
+        Pair pair() {
+            return role == SwipeRole.CLIENT
+                    ? new Pair(swiperUserId, targetUserId)
+                    : new Pair(targetUserId, swiperUserId);
+        }
+
+        SwipeKey key() {
+            return new SwipeKey(swiperUserId, targetUserId, role);
+        }
+    }
+}
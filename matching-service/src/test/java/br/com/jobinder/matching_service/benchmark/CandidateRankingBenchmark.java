@@ -0,0 +1,119 @@
+package br.com.jobinder.matching_service.benchmark;
+
+import br.com.jobinder.matchingservice.infra.ranking.CandidateRanker;
+import br.com.jobinder.matchingservice.infra.ranking.ProfileFeatureStore;
+import br.com.jobinder.matchingservice.infra.ranking.RankingQuery;
+import br.com.jobinder.matchingservice.infra.ranking.RankingWeights;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Latency of one ranking query against the number of professionals, on every processor and on
+  a single one. Each query excludes a few hundred scattered rows, as a client with a long swipe
+  history would, and asks for a page of 20.
+  Disabled by default; run with: mvn test -Dtest=CandidateRankingBenchmark -Dbenchmark=true
+*/
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CandidateRankingBenchmark {
+
+    @Test
+    @DisplayName("Should benchmark top-K ranking against professional count")
+    void runBenchmark() throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(CandidateRankingBenchmark.class.getName() + ".*")
+                // Surefire starts the JVM from a manifest-only jar that forked JMH workers cannot reuse
+                .forks(0)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public static class Queries {
+
+        private static final RankingWeights WEIGHTS = new RankingWeights(0.30f, 0.20f, 0.25f, 0.20f, 0.05f, 50, 90);
+        private static final int EXCLUDED_ROWS = 500;
+        private static final int RESULT_SIZE = 20;
+
+        @Param({"100000", "1000000"})
+        public int professionals;
+
+        private ProfileFeatureStore store;
+        private RankingQuery query;
+        private ForkJoinPool parallelPool;
+        private ForkJoinPool singlePool;
+        private CandidateRanker parallel;
+        private CandidateRanker single;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            long now = System.currentTimeMillis();
+            UUID[] specialties = new UUID[40];
+            for (int i = 0; i < specialties.length; i++) {
+                specialties[i] = UUID.randomUUID();
+            }
+            store = new ProfileFeatureStore();
+            for (int i = 0; i < professionals; i++) {
+                store.upsert(UUID.randomUUID(), specialties[random.nextInt(specialties.length)],
+                        -33.7 + random.nextDouble() * 39, -73.9 + random.nextDouble() * 39,
+                        random.nextFloat() * 5, random.nextInt(1000), now - (long) (random.nextDouble() * 365 * 86_400_000L));
+            }
+
+            BitSet excluded = new BitSet(professionals);
+            for (int i = 0; i < EXCLUDED_ROWS; i++) {
+                excluded.set(random.nextInt(professionals));
+            }
+            query = new RankingQuery(-23.55, -46.63, store.specialtyCode(specialties[0]), excluded,
+                    now / 86_400_000.0, RESULT_SIZE);
+
+            parallelPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            singlePool = new ForkJoinPool(1);
+            parallel = new CandidateRanker(parallelPool, WEIGHTS);
+            single = new CandidateRanker(singlePool, WEIGHTS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            parallelPool.shutdown();
+            singlePool.shutdown();
+        }
+
+        @Benchmark
+        public CandidateRanker.RankedRows rankParallel() {
+            return parallel.rank(store.columns(), query);
+        }
+
+        @Benchmark
+        public CandidateRanker.RankedRows rankSingleThread() {
+            return single.rank(store.columns(), query);
+        }
+    }
+}
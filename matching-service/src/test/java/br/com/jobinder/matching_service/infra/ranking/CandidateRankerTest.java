@@ -0,0 +1,136 @@
+package br.com.jobinder.matching_service.infra.ranking;
+
+import br.com.jobinder.matchingservice.infra.ranking.CandidateRanker;
+import br.com.jobinder.matchingservice.infra.ranking.ProfileFeatureStore;
+import br.com.jobinder.matchingservice.infra.ranking.RankingQuery;
+import br.com.jobinder.matchingservice.infra.ranking.RankingWeights;
+import br.com.jobinder.matchingservice.infra.ranking.TopK;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateRankerTest {
+
+    private static final RankingWeights WEIGHTS = new RankingWeights(0.30f, 0.20f, 0.25f, 0.20f, 0.05f, 50, 90);
+    private static final long DAY_MS = 86_400_000L;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final CandidateRanker ranker = new CandidateRanker(pool, WEIGHTS);
+    private final long now = System.currentTimeMillis();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank a close, well-rated, experienced, recently updated professional of the specialty first")
+    void rank_ShouldOrderByWeightedScore() {
+        // Given
+        var store = new ProfileFeatureStore();
+        UUID specialty = UUID.randomUUID();
+        UUID best = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+        UUID otherSpecialty = UUID.randomUUID();
+        UUID unlocated = UUID.randomUUID();
+        store.upsert(far, specialty, -22.90, -43.17, 5f, 500, now);
+        store.upsert(best, specialty, -23.55, -46.63, 5f, 500, now);
+        store.upsert(otherSpecialty, UUID.randomUUID(), -23.55, -46.63, 5f, 500, now);
+        store.upsert(unlocated, specialty, null, null, 5f, 500, now);
+
+        // When
+        var ranked = ranker.rank(store.columns(), query(-23.55, -46.63, store.specialtyCode(specialty), null, 10));
+
+        // Then
+        assertEquals(4, ranked.rows().length);
+        assertEquals(best, store.columns().userId(ranked.rows()[0]));
+        assertEquals(1.0f, ranked.scores()[0], 1e-4f);
+        assertEquals(otherSpecialty, store.columns().userId(ranked.rows()[1]));
+        // Too far to earn distance points, like the one without coordinates
+        assertEquals(ranked.scores()[2], ranked.scores()[3], 1e-6f);
+    }
+
+    @Test
+    @DisplayName("Should return the same top candidates as scoring and sorting everyone, whether split or not")
+    void rank_ShouldMatchFullSortOnSequentialAndParallelPaths() {
+        // Given
+        var store = randomStore(100_000, new Random(7));
+        BitSet excluded = new BitSet();
+        excluded.set(0, 100);
+        var query = query(-23.55, -46.63, 0, excluded, 25);
+
+        // When
+        var top = ranker.rank(store.columns(), query);
+        var everyone = ranker.rank(store.columns(), query(-23.55, -46.63, 0, excluded, store.size()));
+
+        // Then
+        assertEquals(store.size() - 100, everyone.rows().length);
+        for (int i = 0; i < 25; i++) {
+            assertEquals(everyone.scores()[i], top.scores()[i]);
+            assertTrue(top.rows()[i] >= 100);
+            if (i > 0) {
+                assertTrue(top.scores()[i] <= top.scores()[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should score only rating, experience and recency when no point or specialty is given")
+    void rank_WithoutPointOrSpecialty_ShouldIgnoreThem() {
+        // Given
+        var store = new ProfileFeatureStore();
+        UUID stale = UUID.randomUUID();
+        store.upsert(UUID.randomUUID(), UUID.randomUUID(), -23.55, -46.63, 5f, 10, now);
+        store.upsert(stale, null, null, null, 5f, 10, now - 365 * DAY_MS);
+
+        // When
+        var ranked = ranker.rank(store.columns(), query(Double.NaN, Double.NaN, -1, null, 10));
+
+        // Then
+        float staleScore = WEIGHTS.rating() + WEIGHTS.experience() * (float) (Math.log1p(10) / Math.log1p(500));
+        assertEquals(stale, store.columns().userId(ranked.rows()[1]));
+        assertEquals(staleScore, ranked.scores()[1], 1e-4f);
+    }
+
+    @Test
+    @DisplayName("Should keep the k best offers, best first")
+    void topK_ShouldKeepBestOffers() {
+        // Given
+        var top = new TopK(3);
+        float[] scores = {0.5f, 0.1f, 0.9f, 0.7f, 0.3f, 0.8f};
+
+        // When
+        for (int row = 0; row < scores.length; row++) {
+            top.offer(row, scores[row]);
+        }
+        int[] rows = new int[3];
+        float[] best = new float[3];
+        top.drainDescending(rows, best);
+
+        // Then
+        assertArrayEquals(new int[]{2, 5, 3}, rows);
+        assertArrayEquals(new float[]{0.9f, 0.8f, 0.7f}, best);
+    }
+
+    private RankingQuery query(double latitude, double longitude, int specialtyCode, BitSet excluded, int limit) {
+        return new RankingQuery(latitude, longitude, specialtyCode, excluded, now / (double) DAY_MS, limit);
+    }
+
+    private ProfileFeatureStore randomStore(int size, Random random) {
+        var store = new ProfileFeatureStore();
+        UUID[] specialties = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        for (int i = 0; i < size; i++) {
+            store.upsert(UUID.randomUUID(), specialties[random.nextInt(specialties.length)],
+                    -24 + random.nextDouble(), -47 + random.nextDouble(),
+                    random.nextFloat() * 5, random.nextInt(1000), now - (long) (random.nextDouble() * 180 * DAY_MS));
+        }
+        return store;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.jobinder.matching_service.infra.security;
+
+import br.com.jobinder.matchingservice.infra.security.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    private static final int PROBES = 1_000_000;
+
+    @Test
+    @DisplayName("Should never miss a value that was added")
+    void mightContain_WithAddedValues_ShouldReturnTrue() {
+        // Given
+        var filter = new BloomFilter(1_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String value = UUID.randomUUID().toString();
+            filter.add(value);
+            added.add(value);
+        }
+
+        // When & Then
+        added.forEach(value -> assertTrue(filter.mightContain(value)));
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured one for a small filter")
+    void mightContain_WithFewInsertionsAndLowRate_ShouldStayNearConfiguredRate() {
+        assertFalsePositiveRateNear(12, 1e-4);
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured one for a larger filter")
+    void mightContain_WithManyInsertions_ShouldStayNearConfiguredRate() {
+        assertFalsePositiveRateNear(10_000, 0.01);
+    }
+
+    private static void assertFalsePositiveRateNear(int insertions, double falsePositiveRate) {
+        // Given
+        var filter = new BloomFilter(insertions, falsePositiveRate);
+        for (int i = 0; i < insertions; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Then (the bit array is rounded up to whole words, so the measured rate is usually lower)
+        double measured = (double) falsePositives / PROBES;
+        assertTrue(measured <= falsePositiveRate * 2,
+                "Measured false-positive rate " + measured + " for a configured " + falsePositiveRate);
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.jobinder.matching_service.service;
+
+import br.com.jobinder.matchingservice.client.IdentityServiceClient;
+import br.com.jobinder.matchingservice.domain.match.MatchRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.infra.exception.IdentityServiceUnavailableException;
+import br.com.jobinder.matchingservice.service.CandidateFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CandidateFeedServiceTest {
+
+    private final IdentityServiceClient identityServiceClient = mock(IdentityServiceClient.class);
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final SwipeRepository swipeRepository = mock(SwipeRepository.class);
+
+    private final UUID clientUserId = UUID.randomUUID();
+    private final List<UUID> professionals = new ArrayList<>();
+
+    private CandidateFeedService candidateFeedService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            professionals.add(UUID.randomUUID());
+        }
+
+        candidateFeedService = new CandidateFeedService();
+        ReflectionTestUtils.setField(candidateFeedService, "identityServiceClient", identityServiceClient);
+        ReflectionTestUtils.setField(candidateFeedService, "matchRepository", matchRepository);
+        ReflectionTestUtils.setField(candidateFeedService, "swipeRepository", swipeRepository);
+        ReflectionTestUtils.setField(candidateFeedService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(candidateFeedService, "queueSize", 4);
+        ReflectionTestUtils.setField(candidateFeedService, "refillThreshold", 2);
+        ReflectionTestUtils.setField(candidateFeedService, "maxActiveClients", 100L);
+        ReflectionTestUtils.setField(candidateFeedService, "idleMinutes", 30L);
+        ReflectionTestUtils.setField(candidateFeedService, "exclusionHeadroom", 100);
+        ReflectionTestUtils.setField(candidateFeedService, "falsePositiveRate", 0.0001);
+        ReflectionTestUtils.setField(candidateFeedService, "catalogPageSize", 100);
+        ReflectionTestUtils.invokeMethod(candidateFeedService, "init");
+
+        // Mocking
+        when(identityServiceClient.getProfessionalUserIds(isNull(), anyInt())).thenReturn(professionals);
+        candidateFeedService.reloadCatalog();
+    }
+
+    @Test
+    @DisplayName("Should never offer matched, swiped or already served professionals")
+    void nextCandidates_ShouldSkipExcludedAndServedProfessionals() {
+        // Given
+        UUID matched = professionals.get(0);
+        UUID swiped = professionals.get(1);
+
+        // Mocking
+        when(matchRepository.findProfessionalUserIdsByClientUserId(clientUserId)).thenReturn(List.of(matched));
+        when(swipeRepository.findTargetUserIds(clientUserId, SwipeRole.CLIENT)).thenReturn(List.of(swiped));
+
+        // When
+        List<UUID> served = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            served.addAll(candidateFeedService.nextCandidates(clientUserId, 3));
+        }
+
+        // Then
+        assertEquals(8, served.size());
+        assertEquals(8, served.stream().distinct().count());
+        assertFalse(served.contains(matched));
+        assertFalse(served.contains(swiped));
+
+        // Verify (exclusions are loaded once per feed, not per page)
+        verify(matchRepository, times(1)).findProfessionalUserIdsByClientUserId(clientUserId);
+    }
+
+    @Test
+    @DisplayName("Should drop a professional the client swiped on from the queued candidates")
+    void exclude_WhenCandidateIsQueued_ShouldRemoveIt() {
+        // Given (the first page queues the next candidates behind it)
+        List<UUID> first = candidateFeedService.nextCandidates(clientUserId, 1);
+        UUID queued = professionals.stream().sorted().toList().get(2);
+
+        // When
+        candidateFeedService.exclude(clientUserId, queued);
+        List<UUID> rest = drain();
+
+        // Then
+        assertFalse(first.contains(queued));
+        assertFalse(rest.contains(queued));
+        assertEquals(professionals.size() - 2, rest.size());
+    }
+
+    @Test
+    @DisplayName("Should offer professionals added to the catalog after a feed reached its end")
+    void reloadCatalog_WithNewProfessionals_ShouldExtendExhaustedFeeds() {
+        // Given
+        assertEquals(professionals.size(), drain().size());
+        UUID newcomer = UUID.randomUUID();
+        List<UUID> reloaded = new ArrayList<>(professionals);
+        reloaded.add(newcomer);
+
+        // Mocking
+        when(identityServiceClient.getProfessionalUserIds(isNull(), anyInt())).thenReturn(reloaded);
+
+        // When
+        candidateFeedService.reloadCatalog();
+
+        // Then
+        assertEquals(List.of(newcomer), drain());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous catalog when identity-service cannot be reached")
+    void reloadCatalog_WhenIdentityServiceFails_ShouldKeepPreviousCatalog() {
+        // Mocking
+        when(identityServiceClient.getProfessionalUserIds(any(), anyInt()))
+                .thenThrow(new IdentityServiceUnavailableException("down", null));
+
+        // When
+        candidateFeedService.reloadCatalog();
+
+        // Then
+        assertEquals(professionals.size(), drain().size());
+
+        // Verify
+        verify(identityServiceClient, times(2)).getProfessionalUserIds(isNull(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Should serve every professional of a catalog much larger than the exclusion headroom")
+    void nextCandidates_WithCatalogLargerThanHeadroom_ShouldServeEveryone() {
+        // Given (the filter is sized for the exclusions only, far fewer than the candidates queued)
+        ReflectionTestUtils.setField(candidateFeedService, "exclusionHeadroom", 10);
+        List<UUID> large = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            large.add(UUID.randomUUID());
+        }
+        UUID swiped = large.get(0);
+
+        // Mocking
+        when(identityServiceClient.getProfessionalUserIds(isNull(), anyInt())).thenReturn(large);
+        when(swipeRepository.findTargetUserIds(clientUserId, SwipeRole.CLIENT)).thenReturn(List.of(swiped));
+        candidateFeedService.reloadCatalog();
+
+        // When
+        List<UUID> served = drain();
+
+        // Then
+        assertEquals(large.size() - 1, served.size());
+        assertEquals(served.size(), served.stream().distinct().count());
+        assertFalse(served.contains(swiped));
+    }
+
+    // Pages through the feed until it runs out
+    private List<UUID> drain() {
+        List<UUID> served = new ArrayList<>();
+        List<UUID> page;
+        do {
+            page = candidateFeedService.nextCandidates(clientUserId, 3);
+            served.addAll(page);
+        } while (!page.isEmpty());
+        return served;
+    }
+}
@@ -5,10 +5,16 @@ import br.com.jobinder.matchingservice.domain.match.Match;
 import br.com.jobinder.matchingservice.domain.match.MatchRepository;
 import br.com.jobinder.matchingservice.dto.MatchCreateDTO;
 import br.com.jobinder.matchingservice.dto.MatchCreatedEvent;
+import br.com.jobinder.matchingservice.dto.MatchCursor;
+import br.com.jobinder.matchingservice.dto.MatchPageDTO;
 import br.com.jobinder.matchingservice.dto.MatchResponseDTO;
+import br.com.jobinder.matchingservice.dto.MatchSummaryDTO;
+import br.com.jobinder.matchingservice.infra.exception.InvalidCursorException;
 import br.com.jobinder.matchingservice.infra.exception.MatchAlreadyExistsException;
 import br.com.jobinder.matchingservice.infra.exception.MatchNotFoundException;
+import br.com.jobinder.matchingservice.service.CandidateFeedService;
 import br.com.jobinder.matchingservice.service.MatchingService;
+import br.com.jobinder.matchingservice.service.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,9 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,7 +44,10 @@ class MatchingServiceTest {
     private IdentityServiceClient identityServiceClient;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxService outboxService;
+
+    @Mock
+    private CandidateFeedService candidateFeedService;
 
     @InjectMocks
     private MatchingService matchingService;
@@ -48,8 +58,8 @@ class MatchingServiceTest {
     }
 
     @Test
-    @DisplayName("Should create match and publish event when match does not exist")
-    void createMatch_WhenMatchDoesNotExist_ShouldSaveAndPublishEvent() {
+    @DisplayName("Should create match and record its event in the outbox when match does not exist")
+    void createMatch_WhenMatchDoesNotExist_ShouldSaveAndEnqueueEvent() {
         // Given
         UUID clientUserId = UUID.randomUUID();
         UUID professionalUserId = UUID.randomUUID();
@@ -74,7 +84,8 @@ class MatchingServiceTest {
 
         // Verify
         verify(matchRepository).save(any(Match.class));
-        verify(rabbitTemplate).convertAndSend(
+        verify(candidateFeedService).exclude(clientUserId, professionalUserId);
+        verify(outboxService).enqueue(
                 eq("q.match-created"),
                 any(MatchCreatedEvent.class)
         );
@@ -99,7 +110,35 @@ class MatchingServiceTest {
 
         // Verify
         verify(matchRepository, never()).save(any(Match.class));
-        verify(rabbitTemplate, never()).convertAndSend(anyString(), any(MatchCreatedEvent.class));
+        verify(outboxService, never()).enqueue(anyString(), any(MatchCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should create the match of a mutual like once and record its event only when it is new")
+    void promoteMutualLike_ShouldEnqueueEventOnlyForNewMatch() {
+        // Given
+        UUID clientUserId = UUID.randomUUID();
+        UUID professionalUserId = UUID.randomUUID();
+        UUID matchId = UUID.randomUUID();
+
+        // Mocking
+        when(matchRepository.insertIfAbsent(any(UUID.class), eq(clientUserId), eq(professionalUserId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(matchId))
+                .thenReturn(Optional.empty());
+
+        // When
+        Optional<UUID> created = matchingService.promoteMutualLike(clientUserId, professionalUserId);
+        Optional<UUID> existing = matchingService.promoteMutualLike(clientUserId, professionalUserId);
+
+        // Then
+        assertEquals(Optional.of(matchId), created);
+        assertTrue(existing.isEmpty());
+
+        // Verify
+        verify(outboxService, times(1)).enqueue(
+                eq("q.match-created"),
+                eq(new MatchCreatedEvent(matchId, clientUserId, professionalUserId))
+        );
     }
 
     @Test
@@ -135,57 +174,64 @@ class MatchingServiceTest {
     }
 
     @Test
-    @DisplayName("Should return list of matches for client ID")
-    void findMatchesByClientId_ShouldReturnList() {
+    @DisplayName("Should return the first page of a client's matches with a cursor and the requested total")
+    void findMatchesByClientId_WithoutCursor_ShouldReturnFirstPageCursorAndTotal() {
         // Given
         UUID clientId = UUID.randomUUID();
-        Match match1 = new Match(
-                UUID.randomUUID(),
-                clientId,
-                UUID.randomUUID(),
-                null
-        );
-        Match match2 = new Match(
-                UUID.randomUUID(),
-                clientId,
-                UUID.randomUUID(),
-                null
-        );
+        LocalDateTime now = LocalDateTime.now();
+        var newest = new MatchSummaryDTO(UUID.randomUUID(), UUID.randomUUID(), now);
+        var middle = new MatchSummaryDTO(UUID.randomUUID(), UUID.randomUUID(), now.minusMinutes(1));
+        var oldest = new MatchSummaryDTO(UUID.randomUUID(), UUID.randomUUID(), now.minusMinutes(2));
 
-        // Mocking
-        when(matchRepository.findAllByClientUserId(clientId))
-                .thenReturn(List.of(match1, match2));
+        // Mocking (one row more than the page size is fetched)
+        when(matchRepository.findClientFirstPage(clientId, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(matchRepository.countByClientUserId(clientId))
+                .thenReturn(3L);
 
         // When
-        List<MatchResponseDTO> result = matchingService.findMatchesByClientId(clientId);
+        MatchPageDTO result = matchingService.findMatchesByClientId(clientId, null, 2, true);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(List.of(newest, middle), result.content());
+        assertEquals(MatchCursor.of(middle), MatchCursor.decode(result.nextCursor()));
+        assertEquals(3L, result.totalCount());
     }
 
     @Test
-    @DisplayName("Should return list of matches for professional ID")
-    void findMatchesByProfessionalId_ShouldReturnList() {
+    @DisplayName("Should continue a professional's matches after the cursor without counting them again")
+    void findMatchesByProfessionalId_WithCursor_ShouldSeekAfterIt() {
         // Given
         UUID professionalId = UUID.randomUUID();
-        Match match1 = new Match(
-                UUID.randomUUID(),
-                UUID.randomUUID(),
-                professionalId,
-                null
-        );
+        var last = new MatchSummaryDTO(UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusMinutes(2));
+        var cursor = new MatchCursor(LocalDateTime.now().minusMinutes(1), UUID.randomUUID());
 
         // Mocking
-        when(matchRepository.findAllByProfessionalUserId(professionalId))
-                .thenReturn(List.of(match1));
+        when(matchRepository.findProfessionalPageAfter(professionalId, cursor.createdAt(), cursor.id(), Limit.of(3)))
+                .thenReturn(List.of(last));
 
         // When
-        List<MatchResponseDTO> result = matchingService.findMatchesByProfessionalId(professionalId);
+        MatchPageDTO result = matchingService.findMatchesByProfessionalId(professionalId, cursor.encode(), 2, true);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(List.of(last), result.content());
+        assertNull(result.nextCursor());
+        assertNull(result.totalCount());
+
+        // Verify
+        verify(matchRepository, never()).countByProfessionalUserId(professionalId);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the listing")
+    void findMatchesByClientId_WithInvalidCursor_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> {
+            matchingService.findMatchesByClientId(UUID.randomUUID(), "not-a-cursor", 20, false);
+        });
+
+        // Verify
+        verifyNoInteractions(matchRepository);
     }
 
     @Test
@@ -0,0 +1,157 @@
+package br.com.jobinder.matching_service.service;
+
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEvent;
+import br.com.jobinder.matchingservice.domain.outbox.OutboxEventRepository;
+import br.com.jobinder.matchingservice.service.OutboxRelayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private OutboxRelayService outboxRelayService;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelayService = new OutboxRelayService();
+        ReflectionTestUtils.setField(outboxRelayService, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(outboxRelayService, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(outboxRelayService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelayService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(outboxRelayService, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelayService, "confirmTimeoutMs", 100L);
+        ReflectionTestUtils.setField(outboxRelayService, "maxAttempts", 3);
+        ReflectionTestUtils.invokeMethod(outboxRelayService, "init");
+
+        // Mocking
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(outboxEventRepository.findOldestPendingCreatedAt(3))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Should mark acknowledged events as sent and count rejected ones as failed attempts")
+    void relay_WithAckAndNack_ShouldMarkOnlyConfirmedAsSent() {
+        // Given
+        OutboxEvent acked = event();
+        OutboxEvent nacked = event();
+
+        // Mocking
+        when(outboxEventRepository.lockPending(3, 10))
+                .thenReturn(List.of(acked, nacked));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = correlation.getId().equals(acked.getId().toString());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nacked"));
+            return null;
+        }).when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        outboxRelayService.relay();
+
+        // Then
+        verify(outboxEventRepository).markSent(eq(List.of(acked.getId())), any(Instant.class));
+        verify(outboxEventRepository).incrementAttempts(List.of(nacked.getId()));
+        assertEquals(1.0, meterRegistry.get("matching.outbox.published").tag("result", "confirmed").counter().count());
+        assertEquals(1, meterRegistry.get("matching.outbox.relay.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should send the stored payload as JSON with the event type header and the row ID")
+    void relay_ShouldPublishStoredPayload() {
+        // Given
+        OutboxEvent event = event();
+
+        // Mocking
+        when(outboxEventRepository.lockPending(3, 10))
+                .thenReturn(List.of(event));
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(any(), eq("q.match-created"), message.capture(), any(CorrelationData.class));
+
+        // When
+        outboxRelayService.relay();
+
+        // Then
+        assertEquals(event.getPayload(), new String(message.getValue().getBody(), StandardCharsets.UTF_8));
+        assertEquals("application/json", message.getValue().getMessageProperties().getContentType());
+        assertEquals(event.getId().toString(), message.getValue().getMessageProperties().getMessageId());
+        assertEquals(event.getEventType(), message.getValue().getMessageProperties().getHeader("__TypeId__"));
+    }
+
+    @Test
+    @DisplayName("Should leave events pending without counting an attempt when the broker is unreachable")
+    void relay_WhenBrokerIsDown_ShouldLeaveEventsPending() {
+        // Mocking
+        when(outboxEventRepository.lockPending(3, 10))
+                .thenReturn(List.of(event(), event()));
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        outboxRelayService.relay();
+
+        // Then
+        verify(rabbitTemplate, times(1)).send(any(), any(), any(Message.class), any(CorrelationData.class));
+        verify(outboxEventRepository, never()).markSent(any(), any());
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+    }
+
+    @Test
+    @DisplayName("Should keep relaying while batches come back full")
+    void relay_WithBacklog_ShouldDrainSeveralBatches() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelayService, "batchSize", 1);
+
+        // Mocking
+        when(outboxEventRepository.lockPending(eq(3), anyInt()))
+                .thenReturn(List.of(event()), List.of(event()), List.of());
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(any(), any(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        outboxRelayService.relay();
+
+        // Then
+        verify(outboxEventRepository, times(3)).lockPending(eq(3), anyInt());
+        verify(outboxEventRepository, times(2)).markSent(any(), any(Instant.class));
+    }
+
+    private static OutboxEvent event() {
+        UUID id = UUID.randomUUID();
+        return new OutboxEvent(id, "br.com.jobinder.matchingservice.dto.MatchCreatedEvent", "q.match-created",
+                "{\"matchId\":\"" + id + "\"}", 0, Instant.now().minusMillis(50), null);
+    }
+}
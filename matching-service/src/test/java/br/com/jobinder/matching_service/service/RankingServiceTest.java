@@ -0,0 +1,138 @@
+package br.com.jobinder.matching_service.service;
+
+import br.com.jobinder.matchingservice.client.IdentityServiceClient;
+import br.com.jobinder.matchingservice.domain.match.MatchRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRepository;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.dto.ProfileFeaturesDTO;
+import br.com.jobinder.matchingservice.dto.RankedCandidateDTO;
+import br.com.jobinder.matchingservice.infra.exception.InvalidRankingQueryException;
+import br.com.jobinder.matchingservice.service.RankingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class RankingServiceTest {
+
+    private final IdentityServiceClient identityServiceClient = mock(IdentityServiceClient.class);
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final SwipeRepository swipeRepository = mock(SwipeRepository.class);
+
+    private final UUID clientUserId = UUID.randomUUID();
+    private final UUID specialtyId = UUID.randomUUID();
+    private final LocalDateTime start = LocalDateTime.now().minusHours(1);
+    private final ProfileFeaturesDTO first = features(UUID.randomUUID(), 5f, start);
+    private final ProfileFeaturesDTO second = features(UUID.randomUUID(), 4f, start.plusMinutes(1));
+    private final ProfileFeaturesDTO third = features(UUID.randomUUID(), 3f, start.plusMinutes(2));
+
+    private RankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new RankingService();
+        ReflectionTestUtils.setField(rankingService, "identityServiceClient", identityServiceClient);
+        ReflectionTestUtils.setField(rankingService, "matchRepository", matchRepository);
+        ReflectionTestUtils.setField(rankingService, "swipeRepository", swipeRepository);
+        ReflectionTestUtils.setField(rankingService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rankingService, "ratingWeight", 0.30f);
+        ReflectionTestUtils.setField(rankingService, "experienceWeight", 0.20f);
+        ReflectionTestUtils.setField(rankingService, "distanceWeight", 0.25f);
+        ReflectionTestUtils.setField(rankingService, "specialtyWeight", 0.20f);
+        ReflectionTestUtils.setField(rankingService, "recencyWeight", 0.05f);
+        ReflectionTestUtils.setField(rankingService, "maxDistanceKm", 50.0);
+        ReflectionTestUtils.setField(rankingService, "recencyWindowDays", 90.0);
+        ReflectionTestUtils.setField(rankingService, "parallelism", 2);
+        ReflectionTestUtils.setField(rankingService, "pageSize", 2);
+        ReflectionTestUtils.setField(rankingService, "refreshOverlapSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(rankingService, "init");
+
+        // Mocking
+        when(identityServiceClient.getProfileFeatures(isNull(), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(identityServiceClient.getProfileFeatures(second.updatedAt(), second.profileId(), 2)).thenReturn(List.of(third));
+        rankingService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(rankingService, "shutdown");
+    }
+
+    @Test
+    @DisplayName("Should rank every loaded professional by score, best first")
+    void rankForClient_ShouldOrderLoadedProfessionalsByScore() {
+        // When
+        List<RankedCandidateDTO> ranked = rankingService.rankForClient(clientUserId, -23.55, -46.63, specialtyId, 10);
+
+        // Then
+        assertEquals(List.of(first.userId(), second.userId(), third.userId()),
+                ranked.stream().map(RankedCandidateDTO::professionalUserId).toList());
+        assertTrue(ranked.get(0).score() > ranked.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should leave out professionals the client matched with or swiped on")
+    void rankForClient_ShouldExcludeMatchedAndSwipedProfessionals() {
+        // Mocking
+        when(matchRepository.findProfessionalUserIdsByClientUserId(clientUserId)).thenReturn(List.of(first.userId()));
+        when(swipeRepository.findTargetUserIds(clientUserId, SwipeRole.CLIENT)).thenReturn(List.of(second.userId()));
+
+        // When
+        List<RankedCandidateDTO> ranked = rankingService.rankForClient(clientUserId, null, null, null, 10);
+
+        // Then
+        assertEquals(1, ranked.size());
+        assertEquals(third.userId(), ranked.get(0).professionalUserId());
+    }
+
+    @Test
+    @DisplayName("Should apply changes read back from the last change minus the overlap")
+    void refresh_ShouldApplyChangesSinceWatermarkMinusOverlap() {
+        // Given
+        var demoted = new ProfileFeaturesDTO(first.profileId(), first.userId(), specialtyId, -23.55, -46.63,
+                1f, 0, start.plusMinutes(3));
+        var newcomer = features(UUID.randomUUID(), 5f, start.plusMinutes(4));
+
+        // Mocking
+        when(identityServiceClient.getProfileFeatures(third.updatedAt().minusSeconds(60), null, 2))
+                .thenReturn(List.of(demoted, newcomer));
+        when(identityServiceClient.getProfileFeatures(newcomer.updatedAt(), newcomer.profileId(), 2))
+                .thenReturn(List.of());
+
+        // When
+        rankingService.refresh();
+        List<RankedCandidateDTO> ranked = rankingService.rankForClient(clientUserId, -23.55, -46.63, specialtyId, 10);
+
+        // Then
+        assertEquals(4, ranked.size());
+        assertEquals(newcomer.userId(), ranked.get(0).professionalUserId());
+        assertEquals(first.userId(), ranked.get(3).professionalUserId());
+    }
+
+    @Test
+    @DisplayName("Should reject a point with only one of latitude and longitude")
+    void rankForClient_WithHalfAPoint_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidRankingQueryException.class, () -> {
+            rankingService.rankForClient(clientUserId, -23.55, null, null, 10);
+        });
+
+        // Verify
+        verify(matchRepository, never()).findProfessionalUserIdsByClientUserId(clientUserId);
+    }
+
+    private ProfileFeaturesDTO features(UUID userId, float rating, LocalDateTime updatedAt) {
+        return new ProfileFeaturesDTO(UUID.randomUUID(), userId, specialtyId, -23.55, -46.63, rating, 100, updatedAt);
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.jobinder.matching_service.service;
+
+import br.com.jobinder.matchingservice.domain.swipe.SwipeDecision;
+import br.com.jobinder.matchingservice.domain.swipe.SwipeRole;
+import br.com.jobinder.matchingservice.dto.SwipeCreateDTO;
+import br.com.jobinder.matchingservice.dto.SwipeResultDTO;
+import br.com.jobinder.matchingservice.infra.exception.InvalidSwipeException;
+import br.com.jobinder.matchingservice.infra.exception.SwipeBufferFullException;
+import br.com.jobinder.matchingservice.service.CandidateFeedService;
+import br.com.jobinder.matchingservice.service.MatchingService;
+import br.com.jobinder.matchingservice.service.SwipeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SwipeServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final MatchingService matchingService = mock(MatchingService.class);
+    private final CandidateFeedService candidateFeedService = mock(CandidateFeedService.class);
+
+    private final UUID clientUserId = UUID.randomUUID();
+    private final UUID professionalUserId = UUID.randomUUID();
+
+    private SwipeService swipeService;
+
+    @BeforeEach
+    void setUp() {
+        swipeService = new SwipeService();
+        ReflectionTestUtils.setField(swipeService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(swipeService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(swipeService, "matchingService", matchingService);
+        ReflectionTestUtils.setField(swipeService, "candidateFeedService", candidateFeedService);
+        ReflectionTestUtils.setField(swipeService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(swipeService, "bufferCapacity", 3);
+        ReflectionTestUtils.setField(swipeService, "batchSize", 10);
+        ReflectionTestUtils.setField(swipeService, "maxBatchAttempts", 3);
+        ReflectionTestUtils.setField(swipeService, "pendingLikesMaxSize", 100L);
+        ReflectionTestUtils.setField(swipeService, "pendingLikesTtlHours", 1L);
+        ReflectionTestUtils.invokeMethod(swipeService, "init");
+
+        // Mocking
+        when(candidateFeedService.isProfessional(professionalUserId)).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should create a match when a like meets the reverse like from the other side")
+    void swipe_WhenReverseLikeIsPending_ShouldPromoteToMatch() {
+        // Given
+        UUID matchId = UUID.randomUUID();
+
+        // Mocking
+        when(matchingService.promoteMutualLike(clientUserId, professionalUserId))
+                .thenReturn(Optional.of(matchId));
+
+        // When
+        SwipeResultDTO first = swipeService.swipe(clientUserId,
+                new SwipeCreateDTO(professionalUserId, SwipeDecision.LIKE, SwipeRole.CLIENT));
+        SwipeResultDTO second = swipeService.swipe(professionalUserId,
+                new SwipeCreateDTO(clientUserId, SwipeDecision.LIKE, SwipeRole.PROFESSIONAL));
+
+        // Then
+        assertFalse(first.matched());
+        assertTrue(second.matched());
+        assertEquals(matchId, second.matchId());
+
+        // Verify
+        verify(matchingService, times(1)).promoteMutualLike(clientUserId, professionalUserId);
+        verify(candidateFeedService).exclude(clientUserId, professionalUserId);
+        verify(candidateFeedService, never()).exclude(eq(professionalUserId), any());
+    }
+
+    @Test
+    @DisplayName("Should not match likes from the same side or a like withdrawn by a pass")
+    void swipe_WithoutMutualLike_ShouldNotPromote() {
+        // Given
+        UUID otherClientUserId = UUID.randomUUID();
+
+        // When
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.LIKE, SwipeRole.CLIENT));
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+        SwipeResultDTO result = swipeService.swipe(professionalUserId,
+                new SwipeCreateDTO(clientUserId, SwipeDecision.LIKE, SwipeRole.PROFESSIONAL));
+
+        // Then
+        assertFalse(result.matched());
+
+        // Verify
+        verify(matchingService, never()).promoteMutualLike(any(), any());
+        assertThrows(InvalidSwipeException.class, () -> swipeService.swipe(otherClientUserId,
+                new SwipeCreateDTO(otherClientUserId, SwipeDecision.LIKE, SwipeRole.CLIENT)));
+    }
+
+    @Test
+    @DisplayName("Should refuse a professional-side swipe from a user without a service profile")
+    void swipe_AsProfessionalWithoutServiceProfile_ShouldThrowAccessDenied() {
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> swipeService.swipe(clientUserId,
+                new SwipeCreateDTO(professionalUserId, SwipeDecision.LIKE, SwipeRole.PROFESSIONAL)));
+
+        // Verify
+        assertEquals(0.0, meterRegistry.get("matching.swipes").tag("decision", "like").counter().count());
+        verify(candidateFeedService, never()).exclude(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse swipes once the buffer is full")
+    void swipe_WhenBufferIsFull_ShouldThrowException() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            swipeService.swipe(clientUserId, new SwipeCreateDTO(UUID.randomUUID(), SwipeDecision.PASS, SwipeRole.CLIENT));
+        }
+
+        // When & Then
+        assertThrows(SwipeBufferFullException.class, () -> swipeService.swipe(clientUserId,
+                new SwipeCreateDTO(UUID.randomUUID(), SwipeDecision.PASS, SwipeRole.CLIENT)));
+        assertEquals(1.0, meterRegistry.get("matching.swipes.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write one row per swiper and target with the latest decision")
+    @SuppressWarnings("unchecked")
+    void flush_WithRepeatedDecisions_ShouldUpsertLatestOnly() {
+        // Given
+        UUID otherProfessionalUserId = UUID.randomUUID();
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.LIKE, SwipeRole.CLIENT));
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(otherProfessionalUserId, SwipeDecision.LIKE, SwipeRole.CLIENT));
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+
+        // Mocking
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        when(jdbcTemplate.batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 1}});
+
+        // When
+        swipeService.flush();
+
+        // Then
+        assertEquals(2, batch.getValue().size());
+        assertTrue(batch.getValue().stream().anyMatch(swipe -> swipe.toString().contains("decision=PASS")
+                && swipe.toString().contains(professionalUserId.toString())));
+        assertEquals(0.0, meterRegistry.get("matching.swipes.buffered").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should create matches for reverse likes found in the database after a flush")
+    @SuppressWarnings("unchecked")
+    void flush_WhenReverseLikeIsStored_ShouldPromoteToMatch() {
+        // Given (the reverse like was made on another instance)
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.LIKE, SwipeRole.CLIENT));
+
+        // Mocking
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    var resultSet = mock(java.sql.ResultSet.class);
+                    when(resultSet.getObject(1, UUID.class)).thenReturn(clientUserId);
+                    when(resultSet.getObject(2, UUID.class)).thenReturn(professionalUserId);
+                    when(resultSet.getString(3)).thenReturn("CLIENT");
+                    return List.of(mapper.mapRow(resultSet, 0));
+                });
+        when(matchingService.promoteMutualLike(clientUserId, professionalUserId))
+                .thenReturn(Optional.of(UUID.randomUUID()));
+
+        // When
+        swipeService.flush();
+
+        // Then
+        verify(matchingService, times(1)).promoteMutualLike(clientUserId, professionalUserId);
+        assertEquals(1.0, meterRegistry.get("matching.swipes.mutual").tag("detected-by", "flush").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep a batch the database refused and write it before newer swipes")
+    @SuppressWarnings("unchecked")
+    void flush_WhenWriteFails_ShouldRetryBatch() {
+        // Given
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+
+        // Mocking
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        when(jdbcTemplate.batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][]{{1, 1}});
+
+        // When
+        swipeService.flush();
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(UUID.randomUUID(), SwipeDecision.PASS, SwipeRole.CLIENT));
+        swipeService.flush();
+
+        // Then
+        assertEquals(2, batch.getAllValues().get(1).size());
+    }
+
+    @Test
+    @DisplayName("Should write a batch the database keeps refusing row by row and drop only the failing rows")
+    @SuppressWarnings("unchecked")
+    void flush_WhenBatchKeepsFailing_ShouldDropOnlyFailingRows() {
+        // Given
+        UUID rejectedTargetUserId = UUID.randomUUID();
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(rejectedTargetUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+
+        // Mocking
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("rejected"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    var statement = mock(PreparedStatement.class);
+                    doThrow(new DataIntegrityViolationException("rejected"))
+                            .when(statement).setObject(3, rejectedTargetUserId);
+                    invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+                    return 1;
+                });
+
+        // When
+        swipeService.flush();
+        swipeService.flush();
+        swipeService.flush();
+        swipeService.flush();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("matching.swipes.dropped").counter().count());
+
+        // Verify
+        verify(jdbcTemplate, times(3))
+                .batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the rows of a refused batch for later while the database is unreachable")
+    @SuppressWarnings("unchecked")
+    void flush_WhenDatabaseIsUnavailable_ShouldKeepBatch() {
+        // Given
+        swipeService.swipe(clientUserId, new SwipeCreateDTO(professionalUserId, SwipeDecision.PASS, SwipeRole.CLIENT));
+
+        // Mocking
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        when(jdbcTemplate.batchUpdate(anyString(), batch.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][]{{1}});
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        swipeService.flush();
+        swipeService.flush();
+        swipeService.flush();
+        swipeService.flush();
+
+        // Then
+        assertEquals(1, batch.getAllValues().get(3).size());
+        assertEquals(0.0, meterRegistry.get("matching.swipes.dropped").counter().count());
+    }
+}